@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = { "com.arogith.api", "com.hsptl" })
 @EntityScan(basePackages = { "com.arogith.api.model", "com.hsptl.model" })
 @EnableJpaRepositories(basePackages = { "com.arogith.api.repository", "com.hsptl.repository" })
+@EnableScheduling
 public class ArogithApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,31 @@
+package com.arogith.api.cache;
+
+import com.arogith.api.dto.CacheStatsDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the application's {@link TtlCache}s and keeps them by name so their
+ * statistics can be reported in one place.
+ */
+@Component
+public class CacheRegistry {
+
+    private final Map<String, TtlCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public <K, V> TtlCache<K, V> create(String name, int maxSize, long ttlMillis) {
+        TtlCache<K, V> cache = new TtlCache<>(name, maxSize, ttlMillis);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already registered: " + name);
+        }
+        return cache;
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        return caches.values().stream().map(TtlCache::getStats).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,213 @@
+package com.arogith.api.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Conditional GET and compression for /api reads.
+ *
+ * /api responses default to Cache-Control: no-store, successful GETs to private, no-cache.
+ * A successful GET keeps the ETag its controller set from {@link ResourceVersion} (those
+ * endpoints answer 304 before building anything); any other GET gets a strong ETag over its
+ * body, so an unchanged response still costs the client a 304 rather than the payload.
+ *
+ * Large JSON and text bodies are gzipped here rather than by Tomcat, because Tomcat's
+ * compression skips responses carrying a strong ETag. The gzipped variant gets its own
+ * tag ("...-gzip") as a strong ETag must identify the exact bytes; the suffix is stripped
+ * from If-None-Match before the controllers compare it. Server-sent event streams are
+ * passed through untouched.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+    private static final String GZIP_SUFFIX = "-" + GZIP + "\"";
+    private static final String NO_STORE = "no-store";
+
+    private final boolean compressionEnabled;
+    private final long minCompressSize;
+    private final List<String> compressibleTypes;
+
+    public ConditionalGetFilter(@Value("${server.compression.enabled:false}") boolean compressionEnabled,
+                                @Value("${server.compression.min-response-size:2KB}") DataSize minCompressSize,
+                                @Value("${server.compression.mime-types:application/json,text/plain}") List<String> mimeTypes) {
+        this.compressionEnabled = compressionEnabled;
+        this.minCompressSize = minCompressSize.toBytes();
+        this.compressibleTypes = mimeTypes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!"GET".equals(request.getMethod()) || isEventStream(request)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, NO_STORE);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        VariantAwareRequest variantRequest = new VariantAwareRequest(request);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(variantRequest, wrapper);
+
+        if (response.isCommitted() || request.isAsyncStarted()) {
+            // Flushed or streamed by the handler itself; nothing can be changed any more
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        int status = wrapper.getStatus();
+        boolean cacheable = status == HttpServletResponse.SC_NOT_MODIFIED || (status >= 200 && status < 300
+                && status != HttpServletResponse.SC_NO_CONTENT && status != HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (wrapper.getHeader(HttpHeaders.CACHE_CONTROL) == null) {
+            wrapper.setHeader(HttpHeaders.CACHE_CONTROL,
+                    cacheable ? ResourceVersion.CACHE_CONTROL.getHeaderValue() : NO_STORE);
+        }
+        if (status == HttpServletResponse.SC_NOT_MODIFIED) {
+            // Answered by the controller's version check; echo the tag in the form the client holds
+            String etag = wrapper.getHeader(HttpHeaders.ETAG);
+            if (etag != null && variantRequest.askedForGzip) {
+                wrapper.setHeader(HttpHeaders.ETAG, gzipVariant(etag));
+            }
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        if (!cacheable) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        String etag = wrapper.getHeader(HttpHeaders.ETAG);
+        if (etag == null) {
+            etag = "\"" + DigestUtils.md5DigestAsHex(wrapper.getContentAsByteArray()) + "\"";
+            wrapper.setHeader(HttpHeaders.ETAG, etag);
+        }
+
+        if (new ServletWebRequest(variantRequest, wrapper).checkNotModified(etag)) {
+            if (variantRequest.askedForGzip) {
+                wrapper.setHeader(HttpHeaders.ETAG, gzipVariant(etag));
+            }
+            wrapper.resetBuffer();
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        if (shouldCompress(request, wrapper)) {
+            byte[] compressed = gzip(wrapper.getContentAsByteArray());
+            wrapper.resetBuffer();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            response.setHeader(HttpHeaders.ETAG, gzipVariant(etag));
+            response.setContentLength(compressed.length);
+            response.getOutputStream().write(compressed);
+            return;
+        }
+        if (compressionEnabled) {
+            // The response still depends on Accept-Encoding even when this one went out as is
+            wrapper.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private boolean shouldCompress(HttpServletRequest request, ContentCachingResponseWrapper wrapper) {
+        if (!compressionEnabled || wrapper.getContentSize() < minCompressSize
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        String contentType = wrapper.getContentType();
+        if (contentType == null || compressibleTypes.stream().noneMatch(contentType::startsWith)) {
+            return false;
+        }
+        Enumeration<String> accepted = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (accepted.hasMoreElements()) {
+            for (String coding : accepted.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase(GZIP) && !(parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String path = request.getRequestURI();
+        return (accept != null && accept.contains("text/event-stream"))
+                || path.endsWith("/stream") || path.contains("/api/notifications/");
+    }
+
+    private static String gzipVariant(String etag) {
+        return etag.endsWith("\"") ? etag.substring(0, etag.length() - 1) + GZIP_SUFFIX : etag;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    // Presents If-None-Match tags of gzipped variants as the identity tags the controllers compute
+    private static final class VariantAwareRequest extends HttpServletRequestWrapper {
+        private final List<String> ifNoneMatch;
+        private boolean askedForGzip;
+
+        VariantAwareRequest(HttpServletRequest request) {
+            super(request);
+            List<String> values = new ArrayList<>();
+            Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+            while (headers != null && headers.hasMoreElements()) {
+                String value = headers.nextElement();
+                String stripped = value.replace(GZIP_SUFFIX, "\"");
+                askedForGzip |= !stripped.equals(value);
+                values.add(stripped);
+            }
+            this.ifNoneMatch = values;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return ifNoneMatch.isEmpty() ? null : String.join(", ", ifNoneMatch);
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return Collections.enumeration(ifNoneMatch);
+            }
+            return super.getHeaders(name);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.arogith.api.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable cached list plus an ETag derived from its content, computed once per load
+ * so conditional requests can be answered without serializing the list.
+ */
+public final class DirectoryListing<T> {
+
+    private final List<T> items;
+    private final long totalElements;
+    private final String etag;
+
+    private DirectoryListing(List<T> items, long totalElements, String etag) {
+        this.items = items;
+        this.totalElements = totalElements;
+        this.etag = etag;
+    }
+
+    // fingerprint must cover every field that is serialized to clients
+    public static <T> DirectoryListing<T> of(List<T> items, Function<T, String> fingerprint) {
+        return of(items, items.size(), fingerprint);
+    }
+
+    // One page of a larger result; the total is part of the ETag
+    public static <T> DirectoryListing<T> of(List<T> items, long totalElements, Function<T, String> fingerprint) {
+        StringBuilder content = new StringBuilder().append(totalElements).append('\n');
+        for (T item : items) {
+            content.append(fingerprint.apply(item)).append('\n');
+        }
+        String hash = DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+        return new DirectoryListing<>(List.copyOf(items), totalElements, "\"" + hash + "\"");
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
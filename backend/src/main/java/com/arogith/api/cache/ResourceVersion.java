@@ -0,0 +1,55 @@
+package com.arogith.api.cache;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version of a served resource, taken from the row_version / updated_at columns of
+ * every row its representation is built from. Controllers look it up before loading
+ * anything else so a matching If-None-Match or If-Modified-Since is answered with 304
+ * without building the DTO.
+ */
+public final class ResourceVersion {
+
+    // Browsers may keep a copy but must revalidate it; shared caches must not store patient data
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final String etag;
+    private final LocalDateTime lastModified;
+
+    // fingerprint: an opaque digest of the (id, row_version) pairs behind the resource
+    public ResourceVersion(String fingerprint, LocalDateTime lastModified) {
+        this.etag = "\"" + fingerprint + "\"";
+        this.lastModified = lastModified;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    // True when the client's copy is current; the 304 status and headers are then already set
+    public boolean isNotModified(WebRequest request) {
+        return request.checkNotModified(etag, lastModifiedMillis());
+    }
+
+    public <T> ResponseEntity<T> ok(T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CACHE_CONTROL).eTag(etag);
+        long millis = lastModifiedMillis();
+        if (millis > 0) {
+            builder.lastModified(millis);
+        }
+        return builder.body(body);
+    }
+
+    private long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,78 @@
+package com.arogith.api.cache;
+
+import com.arogith.api.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate's second-level cache (regions configured in application.conf).
+ *
+ * Writes made through Hibernate keep their region current on their own (READ_WRITE).
+ * Changes made behind Hibernate's back - trigger updates such as total_visits, JDBC
+ * updates - have to be evicted explicitly with {@link #evictAfterCommit}.
+ */
+@Component
+public class SecondLevelCache {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    @Autowired
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    // Evicting before the transaction ends would let a concurrent read cache the old row again
+    public void evictAfterCommit(Class<?> entityClass, Object id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sessionFactory.getCache().evictEntityData(entityClass, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                sessionFactory.getCache().evictEntityData(entityClass, id);
+            }
+        });
+    }
+
+    // One entry per region, in the same shape as the TtlCache statistics
+    @SuppressWarnings("unchecked")
+    public List<CacheStatsDTO> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        if (!(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory)) {
+            return stats;
+        }
+        CacheManager cacheManager = ((JCacheRegionFactory) sessionFactory.getCache().getRegionFactory())
+                .getCacheManager();
+        for (String region : sessionFactory.getCache().getCacheRegionNames()) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache == null) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine =
+                    cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            Policy<Object, Object> policy = caffeine.policy();
+            CacheStats counters = caffeine.stats();
+            stats.add(new CacheStatsDTO("hibernate:" + region,
+                    (int) Math.min(Integer.MAX_VALUE, caffeine.estimatedSize()),
+                    policy.eviction().map(e -> (int) Math.min(Integer.MAX_VALUE, e.getMaximum())).orElse(-1),
+                    policy.expireAfterWrite().map(e -> e.getExpiresAfter(TimeUnit.MILLISECONDS)).orElse(-1L),
+                    counters.hitCount(), counters.missCount(), counters.evictionCount(),
+                    counters.requestCount() == 0 ? 0.0 : counters.hitRate()));
+        }
+        return stats;
+    }
+}
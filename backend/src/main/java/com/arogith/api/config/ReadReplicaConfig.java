@@ -0,0 +1,84 @@
+package com.arogith.api.config;
+
+import com.arogith.api.datasource.ReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Primary and read replica pools behind one routing DataSource, active once
+ * datasource.replica.url is set. Without it Boot's single Hikari pool is used as before.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouting replicaRouting(DataSourceProperties properties, Environment environment,
+                                         ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                         @Value("${datasource.replica.url}") String url,
+                                         @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                         @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+                                         @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+                                         @Value("${datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                         @Value("${datasource.replica.max-lag-ms:2000}") long maxLagMs,
+                                         @Value("${datasource.replica.lag-check-interval-ms:1000}") long lagCheckIntervalMs,
+                                         @Value("${datasource.replica.sticky-window-ms:5000}") long stickyWindowMs,
+                                         @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        // Same tuning as the primary pool, apart from size and a short timeout before falling back
+        HikariDataSource replica = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setMinimumIdle(Math.min(replica.getMinimumIdle(), maximumPoolSize));
+        replica.setConnectionTimeout(connectionTimeoutMs);
+        replica.setReadOnly(true);
+
+        // A write is visible on the replica at most max-lag-ms plus one probe interval later
+        long window = Math.max(stickyWindowMs, maxLagMs + lagCheckIntervalMs);
+        return new ReplicaRouting(primary, replica, entityManagerFactory,
+                maxLagMs, lagCheckIntervalMs, window, trustForwardedFor);
+    }
+
+    // Hibernate takes its connection when the transaction begins, before Spring marks it read-only;
+    // the lazy proxy defers the pool choice to the first statement
+    @Bean
+    public DataSource dataSource(ReplicaRouting replicaRouting) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(replicaRouting.getDataSource());
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    // Return the connection after every transaction instead of holding it for the whole
+    // open-in-view request, so each transaction is routed on its own
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -1,11 +1,20 @@
 package com.arogith.api.config;
 
+import com.arogith.api.security.RateLimitFilter;
+import com.arogith.api.security.RateLimiter;
+import com.arogith.api.security.TokenAuthenticationFilter;
+import com.arogith.api.security.TokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -15,15 +24,37 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Off until every client sends bearer tokens; tokens are verified either way
+    @Value("${security.token.required:false}")
+    private boolean tokenRequired;
+
+    // Only enable behind a proxy that overwrites X-Forwarded-For
+    @Value("${rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService, RateLimiter rateLimiter)
+            throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf().disable()
-            .authorizeHttpRequests(auth -> auth
-                .requestMatchers(HttpMethod.OPTIONS, "/api/**").permitAll()
-                .anyRequest().permitAll()
-            );
+            // ConditionalGetFilter sets Cache-Control for /api responses
+            .headers(headers -> headers.cacheControl(cache -> cache.disable()))
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new RateLimitFilter(rateLimiter, trustForwardedFor), TokenAuthenticationFilter.class)
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .authorizeHttpRequests(auth -> {
+                auth.requestMatchers(HttpMethod.OPTIONS, "/api/**").permitAll();
+                if (tokenRequired) {
+                    auth.requestMatchers("/api/auth/login", "/api/auth/nurse/login", "/api/auth/refresh", "/api/health",
+                                     "/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .anyRequest().authenticated();
+                } else {
+                    auth.anyRequest().permitAll();
+                }
+            });
 
         return http.build();
     }
@@ -36,7 +67,7 @@ public class SecurityConfig {
             "http://localhost:3000",
             "http://localhost:4173"
         ));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
 
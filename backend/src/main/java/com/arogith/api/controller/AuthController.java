@@ -1,32 +1,116 @@
 package com.arogith.api.controller;
 
 import com.arogith.api.dto.DoctorLoginDTO;
+import com.arogith.api.dto.TokenResponseDTO;
+import com.arogith.api.security.AuthenticatedUser;
+import com.arogith.api.security.RateLimitFilter;
+import com.arogith.api.security.RateLimiter;
+import com.arogith.api.security.TokenService;
+import com.arogith.api.service.DoctorPresenceService;
 import com.arogith.api.service.DoctorService;
+import com.hsptl.dto.NurseLoginDTO;
+import com.hsptl.model.Nurse;
+import com.hsptl.service.NurseService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final DoctorService doctorService;
+    private final NurseService nurseService;
+    private final TokenService tokenService;
+    private final DoctorPresenceService presenceService;
+    private final RateLimiter rateLimiter;
+    private final boolean trustForwardedFor;
 
     @Autowired
-    public AuthController(DoctorService doctorService) {
+    public AuthController(DoctorService doctorService, NurseService nurseService, TokenService tokenService,
+                          DoctorPresenceService presenceService, RateLimiter rateLimiter,
+                          @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
         this.doctorService = doctorService;
+        this.nurseService = nurseService;
+        this.tokenService = tokenService;
+        this.presenceService = presenceService;
+        this.rateLimiter = rateLimiter;
+        this.trustForwardedFor = trustForwardedFor;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<DoctorLoginDTO> login(@RequestBody DoctorLoginDTO loginRequest) {
+    public ResponseEntity<DoctorLoginDTO> login(@RequestBody DoctorLoginDTO loginRequest, HttpServletRequest request) {
+        // Per-account failure limit, checked before the account lookup and charged only on failure
+        String ip = RateLimitFilter.clientIp(request, trustForwardedFor);
+        long retryAfterMs = rateLimiter.checkLoginAsUser(loginRequest.getDoctorId(), ip);
+        if (retryAfterMs > 0) {
+            DoctorLoginDTO throttled = new DoctorLoginDTO(loginRequest.getDoctorId(), null, null, null, null, null,
+                    false, "Too many login attempts, please retry later");
+            return tooManyRequests(retryAfterMs, throttled);
+        }
         DoctorLoginDTO response = doctorService.authenticateDoctor(loginRequest);
         if (response.isAuthenticated()) {
             return ResponseEntity.ok(response);
         } else {
+            rateLimiter.recordFailedLogin(loginRequest.getDoctorId(), ip);
+            return ResponseEntity.status(401).body(response);
+        }
+    }
+
+    @PostMapping("/nurse/login")
+    public ResponseEntity<NurseLoginDTO> nurseLogin(@RequestBody NurseLoginDTO loginRequest, HttpServletRequest request) {
+        String ip = RateLimitFilter.clientIp(request, trustForwardedFor);
+        long retryAfterMs = rateLimiter.checkLoginAsUser(loginRequest.getNurseId(), ip);
+        if (retryAfterMs > 0) {
+            NurseLoginDTO throttled = new NurseLoginDTO(loginRequest.getNurseId(), null, null, null, null,
+                    false, "Too many login attempts, please retry later");
+            return tooManyRequests(retryAfterMs, throttled);
+        }
+        NurseLoginDTO response = nurseService.authenticateNurse(loginRequest);
+        if (response.isAuthenticated()) {
+            return ResponseEntity.ok(response);
+        } else {
+            rateLimiter.recordFailedLogin(loginRequest.getNurseId(), ip);
             return ResponseEntity.status(401).body(response);
         }
     }
 
+    // Exchanges a refresh token for a new token pair; the account is re-read so removed
+    // staff cannot keep refreshing and role/department changes reach the new tokens
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        Optional<AuthenticatedUser> verified = tokenService.verify(request.get("refreshToken"), TokenService.TYPE_REFRESH);
+        if (verified.isEmpty()) {
+            return ResponseEntity.status(401).body("Invalid or expired refresh token");
+        }
+
+        AuthenticatedUser current = reloadAccount(verified.get());
+        if (current == null) {
+            return ResponseEntity.status(401).body("Account not found");
+        }
+        return ResponseEntity.ok(new TokenResponseDTO(
+                tokenService.issueAccessToken(current),
+                tokenService.issueRefreshToken(current),
+                tokenService.getAccessTtlSeconds()));
+    }
+
+    // Answered from the verified token alone
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@AuthenticationPrincipal Object principal) {
+        if (!(principal instanceof AuthenticatedUser)) {
+            return ResponseEntity.status(401).body("Not authenticated");
+        }
+        return ResponseEntity.ok(principal);
+    }
+
     @GetMapping("/doctor/{doctorId}")
     public ResponseEntity<DoctorLoginDTO> getDoctorProfile(@PathVariable String doctorId) {
         DoctorLoginDTO response = doctorService.getDoctorById(doctorId);
@@ -37,14 +121,37 @@ public class AuthController {
         }
     }
 
+    // Goes through the presence registry; the doctor row is updated in the background
     @PutMapping("/doctor/{doctorId}/status")
     public ResponseEntity<String> updateDoctorStatus(@PathVariable String doctorId, @RequestParam String status) {
-        System.out.println("Received status update for doctorId=" + doctorId + ", status=" + status);
-        boolean updated = doctorService.updateDoctorStatus(doctorId, status);
+        boolean updated = presenceService.updateStatus(doctorId, status);
         if (updated) {
             return ResponseEntity.ok("Status updated successfully");
         } else {
             return ResponseEntity.status(404).body("Doctor not found");
         }
     }
-} 
\ No newline at end of file
+
+    private static <T> ResponseEntity<T> tooManyRequests(long retryAfterMs, T body) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(retryAfterMs)))
+                .body(body);
+    }
+
+    private AuthenticatedUser reloadAccount(AuthenticatedUser user) {
+        if (AuthenticatedUser.KIND_NURSE.equals(user.getKind())) {
+            Optional<Nurse> nurse = nurseService.getNurseById(user.getId());
+            if (nurse.isEmpty()) {
+                return null;
+            }
+            Nurse n = nurse.get();
+            return new AuthenticatedUser(n.getNurseId(), AuthenticatedUser.KIND_NURSE, n.getRole(), n.getName(), null);
+        }
+        DoctorLoginDTO doctor = doctorService.getDoctorById(user.getId());
+        if (!doctor.isAuthenticated()) {
+            return null;
+        }
+        return new AuthenticatedUser(doctor.getDoctorId(), AuthenticatedUser.KIND_DOCTOR, doctor.getRole(),
+                doctor.getName(), doctor.getDepartment());
+    }
+}
@@ -0,0 +1,35 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.cache.CacheRegistry;
+import com.arogith.api.cache.SecondLevelCache;
+import com.arogith.api.dto.CacheStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheRegistry cacheRegistry;
+    private final SecondLevelCache secondLevelCache;
+
+    @Autowired
+    public CacheController(CacheRegistry cacheRegistry, SecondLevelCache secondLevelCache) {
+        this.cacheRegistry = cacheRegistry;
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    // Application caches followed by the Hibernate second-level cache regions ("hibernate:<region>")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>(cacheRegistry.getStats());
+        stats.addAll(secondLevelCache.getStats());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,50 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.dto.ChangeEventPageDTO;
+import com.arogith.api.dto.OutboxSinkDTO;
+import com.arogith.api.outbox.OutboxRelay;
+import com.arogith.api.service.ChangeEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class ChangeEventController {
+
+    private final ChangeEventService changeEventService;
+    private final OutboxRelay outboxRelay;
+
+    @Autowired
+    public ChangeEventController(ChangeEventService changeEventService, OutboxRelay outboxRelay) {
+        this.changeEventService = changeEventService;
+        this.outboxRelay = outboxRelay;
+    }
+
+    // Pull consumers: read on from the last nextCursor; after=0 replays everything retained
+    @GetMapping("/events")
+    public ResponseEntity<ChangeEventPageDTO> getEvents(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeEventService.getEvents(after, limit));
+    }
+
+    @GetMapping("/sinks")
+    public ResponseEntity<List<OutboxSinkDTO>> getSinks() {
+        return ResponseEntity.ok(outboxRelay.getSinks());
+    }
+
+    // Replays the stream to a sink from just after the given position
+    @PutMapping("/sinks/{name}/cursor")
+    public ResponseEntity<OutboxSinkDTO> moveCursor(@PathVariable String name, @RequestParam long position) {
+        return outboxRelay.moveCursor(name, position)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
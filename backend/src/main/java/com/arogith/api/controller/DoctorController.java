@@ -1,9 +1,11 @@
 package com.arogith.api.controller;
 
+import com.arogith.api.cache.DirectoryListing;
 import com.arogith.api.dto.DoctorSummaryDTO;
 import com.arogith.api.dto.DoctorCreateDTO;
 import com.arogith.api.service.DoctorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,9 +26,14 @@ public class DoctorController {
         this.doctorService = doctorService;
     }
 
+    // A matching If-None-Match is answered with 304 by Spring from the ETag below
     @GetMapping
     public ResponseEntity<List<DoctorSummaryDTO>> listDoctors() {
-        return ResponseEntity.ok(doctorService.findAllDoctors());
+        DirectoryListing<DoctorSummaryDTO> directory = doctorService.getDoctorDirectory();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(directory.getEtag())
+                .body(directory.getItems());
     }
 
     @PostMapping
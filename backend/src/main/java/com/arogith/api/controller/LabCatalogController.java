@@ -0,0 +1,62 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.dto.LabCatalogEntryDTO;
+import com.arogith.api.service.LabTestCatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/lab-catalog")
+@CrossOrigin(origins = "*")
+public class LabCatalogController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LabCatalogController.class);
+    private static final int MAX_AUTOCOMPLETE_RESULTS = 50;
+    private final LabTestCatalogService labTestCatalogService;
+
+    @Autowired
+    public LabCatalogController(LabTestCatalogService labTestCatalogService) {
+        this.labTestCatalogService = labTestCatalogService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LabCatalogEntryDTO>> getCatalog() {
+        return ResponseEntity.ok(labTestCatalogService.getAllEntries());
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<LabCatalogEntryDTO>> autocomplete(@RequestParam(defaultValue = "") String prefix,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_RESULTS));
+        return ResponseEntity.ok(labTestCatalogService.autocomplete(prefix, boundedLimit));
+    }
+
+    @GetMapping("/panels")
+    public ResponseEntity<Map<String, List<LabCatalogEntryDTO>>> getPanels() {
+        return ResponseEntity.ok(labTestCatalogService.getPanels());
+    }
+
+    @GetMapping("/resolve")
+    public ResponseEntity<LabCatalogEntryDTO> resolve(@RequestParam String name) {
+        return labTestCatalogService.resolve(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reload() {
+        logger.info("Request received: POST /api/lab-catalog/reload");
+        int loaded = labTestCatalogService.reload();
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "SUCCESS");
+        response.put("entries", loaded);
+        return ResponseEntity.ok(response);
+    }
+}
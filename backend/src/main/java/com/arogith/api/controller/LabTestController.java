@@ -1,7 +1,12 @@
 package com.arogith.api.controller;
 
+import com.arogith.api.cache.ResourceVersion;
+import com.arogith.api.dto.LabResultUpdateDTO;
+import com.arogith.api.dto.LabResultUpdateOutcomeDTO;
 import com.arogith.api.dto.LabTestDTO;
+import com.arogith.api.dto.LabWorklistDTO;
 import com.arogith.api.service.LabTestService;
+import com.arogith.api.service.ResourceVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -9,15 +14,19 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -29,11 +38,13 @@ public class LabTestController {
 
     private static final Logger logger = LoggerFactory.getLogger(LabTestController.class);
     private final LabTestService labTestService;
+    private final ResourceVersionService versionService;
     private final ObjectMapper objectMapper;
 
     @Autowired
-    public LabTestController(LabTestService labTestService) {
+    public LabTestController(LabTestService labTestService, ResourceVersionService versionService) {
         this.labTestService = labTestService;
+        this.versionService = versionService;
         
         // Configure JSON serialization for dates
         this.objectMapper = new ObjectMapper();
@@ -89,13 +100,65 @@ public class LabTestController {
         }
     }
 
+    @GetMapping("/worklist")
+    public ResponseEntity<?> getPendingWorklist(
+            @RequestParam(required = false) String testName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            logger.info("Request received: GET /api/labtests/worklist");
+            LabWorklistDTO worklist = labTestService.getPendingWorklist(testName, from, to, cursor, limit);
+            return ResponseEntity.ok(worklist);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error getting lab worklist: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting lab worklist: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/abnormal")
+    public ResponseEntity<?> getAbnormalResultsByDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        try {
+            logger.info("Request received: GET /api/labtests/abnormal?date={}", day);
+            List<LabTestDTO> labTests = labTestService.getAbnormalResultsByDay(day);
+            return ResponseEntity.ok(labTests);
+        } catch (Exception e) {
+            logger.error("Error getting abnormal lab results for {}: {}", day, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting abnormal lab results: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/abnormal/patient/{patientId}")
+    public ResponseEntity<?> getAbnormalResultsByPatientId(@PathVariable String patientId) {
+        try {
+            logger.info("Request received: GET /api/labtests/abnormal/patient/{}", patientId);
+            List<LabTestDTO> labTests = labTestService.getAbnormalResultsByPatientId(patientId);
+            return ResponseEntity.ok(labTests);
+        } catch (Exception e) {
+            logger.error("Error getting abnormal lab results for patient ID {}: {}", patientId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting abnormal lab results: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{testId}")
-    public ResponseEntity<?> getLabTestById(@PathVariable Long testId) {
+    public ResponseEntity<?> getLabTestById(@PathVariable Long testId, WebRequest request) {
         try {
             logger.info("Request received: GET /api/labtests/{}", testId);
+            Optional<ResourceVersion> version = versionService.getLabTestVersion(testId);
+            if (version.isPresent() && version.get().isNotModified(request)) {
+                return null;
+            }
             LabTestDTO labTest = labTestService.getLabTestById(testId);
             logger.info("Returning lab test with ID: {}", testId);
-            return ResponseEntity.ok(labTest);
+            return version.<ResponseEntity<?>>map(v -> v.ok(labTest)).orElseGet(() -> ResponseEntity.ok(labTest));
         } catch (Exception e) {
             logger.error("Error getting lab test by ID {}: {}", testId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -104,9 +167,13 @@ public class LabTestController {
     }
 
     @GetMapping("/visit/{visitId}")
-    public ResponseEntity<?> getLabTestsByVisitId(@PathVariable Long visitId) {
+    public ResponseEntity<?> getLabTestsByVisitId(@PathVariable Long visitId, WebRequest request) {
         try {
             logger.info("Request received: GET /api/labtests/visit/{}", visitId);
+            ResourceVersion version = versionService.getLabTestsByVisitVersion(visitId);
+            if (version.isNotModified(request)) {
+                return null;
+            }
             List<LabTestDTO> labTests = labTestService.getLabTestsByVisitId(visitId);
             
             // Process date fields for each test
@@ -115,7 +182,7 @@ public class LabTestController {
             }
             
             logger.info("Returning {} lab tests for visit ID: {}", labTests.size(), visitId);
-            return ResponseEntity.ok(labTests);
+            return version.ok(labTests);
         } catch (Exception e) {
             logger.error("Error getting lab tests for visit ID {}: {}", visitId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -256,6 +323,41 @@ public class LabTestController {
         }
     }
 
+    @PatchMapping("/results")
+    public ResponseEntity<?> updateLabResults(@RequestBody List<LabResultUpdateDTO> updates) {
+        try {
+            logger.info("Request received: PATCH /api/labtests/results");
+            logger.info("Received {} result updates", updates.size());
+            
+            List<LabResultUpdateOutcomeDTO> outcomes = labTestService.updateLabResults(updates);
+            
+            long updated = outcomes.stream().filter(o -> LabResultUpdateOutcomeDTO.UPDATED.equals(o.getOutcome())).count();
+            long unchanged = outcomes.stream().filter(o -> LabResultUpdateOutcomeDTO.UNCHANGED.equals(o.getOutcome())).count();
+            long failed = outcomes.size() - updated - unchanged;
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", outcomes);
+            response.put("totalRequested", updates.size());
+            response.put("totalUpdated", updated);
+            response.put("totalUnchanged", unchanged);
+            response.put("totalFailed", failed);
+            
+            if (failed > 0) {
+                response.put("status", "PARTIAL_SUCCESS");
+                return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(response);
+            }
+            
+            response.put("status", "SUCCESS");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error bulk updating lab results: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error updating lab results: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{testId}")
     public ResponseEntity<?> deleteLabTest(@PathVariable Long testId) {
         try {
@@ -0,0 +1,35 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.service.LabResultNotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
+    private final LabResultNotificationService labResultNotificationService;
+
+    @Autowired
+    public NotificationController(LabResultNotificationService labResultNotificationService) {
+        this.labResultNotificationService = labResultNotificationService;
+    }
+
+    // Replaces polling /api/labtests/visit/{visitId}: one stream per open chart or per doctor
+    @GetMapping(value = "/lab-results", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    // Returned bare so the emitter handler picks it up; a missing doctorId and visitId is a 400
+    public SseEmitter subscribeToLabResults(
+            @RequestParam(required = false) String doctorId,
+            @RequestParam(required = false) Set<Long> visitId) {
+        logger.info("Request received: GET /api/notifications/lab-results?doctorId={}&visitId={}", doctorId, visitId);
+        return labResultNotificationService.subscribe(doctorId, visitId);
+    }
+}
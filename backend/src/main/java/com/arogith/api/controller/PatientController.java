@@ -1,9 +1,13 @@
 package com.arogith.api.controller;
 
+import com.arogith.api.cache.ResourceVersion;
+import com.arogith.api.dto.LabSeriesDTO;
 import com.arogith.api.dto.PatientDTO;
 import com.arogith.api.dto.PatientRegistrationDTO;
 import com.arogith.api.dto.PatientResponseDTO;
+import com.arogith.api.service.LabTestService;
 import com.arogith.api.service.PatientService;
+import com.arogith.api.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,9 +15,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/patients")
@@ -22,10 +28,15 @@ public class PatientController {
 
     private static final Logger logger = LoggerFactory.getLogger(PatientController.class);
     private final PatientService patientService;
+    private final LabTestService labTestService;
+    private final ResourceVersionService versionService;
 
     @Autowired
-    public PatientController(PatientService patientService) {
+    public PatientController(PatientService patientService, LabTestService labTestService,
+                             ResourceVersionService versionService) {
         this.patientService = patientService;
+        this.labTestService = labTestService;
+        this.versionService = versionService;
     }
 
     @GetMapping
@@ -37,11 +48,15 @@ public class PatientController {
     }
 
     @GetMapping("/{patientId}")
-    public ResponseEntity<PatientDTO> getPatientById(@PathVariable String patientId) {
+    public ResponseEntity<PatientDTO> getPatientById(@PathVariable String patientId, WebRequest request) {
         logger.info("Request received: GET /api/patients/{}", patientId);
+        Optional<ResourceVersion> version = versionService.getPatientVersion(patientId);
+        if (version.isPresent() && version.get().isNotModified(request)) {
+            return null;
+        }
         PatientDTO patient = patientService.getPatientById(patientId);
         logger.info("Returning patient with ID: {}", patientId);
-        return ResponseEntity.ok(patient);
+        return version.map(v -> v.ok(patient)).orElseGet(() -> ResponseEntity.ok(patient));
     }
 
     @GetMapping("/{patientId}/refresh")
@@ -105,4 +120,14 @@ public class PatientController {
         logger.info("Returning {} search results for query: {}", results.size(), query);
         return ResponseEntity.ok(results);
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/{patientId}/labs/{testName}/series")
+    public ResponseEntity<LabSeriesDTO> getLabSeries(@PathVariable String patientId,
+                                                     @PathVariable String testName,
+                                                     @RequestParam(required = false) Integer maxPoints) {
+        logger.info("Request received: GET /api/patients/{}/labs/{}/series?maxPoints={}", patientId, testName, maxPoints);
+        LabSeriesDTO series = labTestService.getLabSeries(patientId, testName, maxPoints);
+        logger.info("Returning {} points for {} / patient ID: {}", series.getPoints().size(), testName, patientId);
+        return ResponseEntity.ok(series);
+    }
+}
@@ -0,0 +1,58 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.dto.DoctorPresenceDTO;
+import com.arogith.api.dto.DoctorQueueDTO;
+import com.arogith.api.service.DoctorAssignmentService;
+import com.arogith.api.service.DoctorPresenceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/presence")
+@CrossOrigin(origins = "*")
+public class PresenceController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceController.class);
+    private final DoctorPresenceService presenceService;
+    private final DoctorAssignmentService assignmentService;
+
+    @Autowired
+    public PresenceController(DoctorPresenceService presenceService, DoctorAssignmentService assignmentService) {
+        this.presenceService = presenceService;
+        this.assignmentService = assignmentService;
+    }
+
+    // Availability board served from memory; use /stream instead of polling
+    @GetMapping("/doctors")
+    public ResponseEntity<List<DoctorPresenceDTO>> getBoard(@RequestParam(required = false) String department) {
+        return ResponseEntity.ok(presenceService.getBoard(department));
+    }
+
+    // Live queue lengths used for automatic visit assignment
+    @GetMapping("/queues")
+    public ResponseEntity<List<DoctorQueueDTO>> getQueues(@RequestParam(required = false) String department) {
+        return ResponseEntity.ok(assignmentService.getQueues(department));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) String department) {
+        logger.info("Request received: GET /api/presence/stream?department={}", department);
+        return presenceService.subscribe(department);
+    }
+
+    @PostMapping("/doctors/{doctorId}/heartbeat")
+    public ResponseEntity<Void> heartbeat(@PathVariable String doctorId,
+                                          @RequestParam(required = false) String currentPatientId) {
+        if (presenceService.heartbeat(doctorId, currentPatientId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.dto.VisitWorkloadDTO;
+import com.arogith.api.dto.WorkloadSummaryDTO;
+import com.arogith.api.service.VisitWorkloadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workload reports served from the visit_workload_daily rollup. Date ranges are
+ * inclusive and default to today.
+ */
+@RestController
+@RequestMapping("/api/reports/workload")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+    private final VisitWorkloadService workloadService;
+
+    @Autowired
+    public ReportController(VisitWorkloadService workloadService) {
+        this.workloadService = workloadService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getWorkloadRows(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String doctorId,
+            @RequestParam(required = false) String department) {
+        try {
+            logger.info("Request received: GET /api/reports/workload?from={}&to={}", from, to);
+            List<VisitWorkloadDTO> rows = workloadService.getWorkloadRows(
+                    orToday(from), orToday(to), doctorId, department);
+            return ResponseEntity.ok(rows);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error getting workload rows: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting workload report: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/doctors")
+    public ResponseEntity<?> getDoctorDailySummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department) {
+        try {
+            logger.info("Request received: GET /api/reports/workload/doctors?from={}&to={}", from, to);
+            List<WorkloadSummaryDTO> summary = workloadService.getDoctorDailySummary(
+                    orToday(from), orToday(to), department);
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error getting doctor workload summary: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting workload report: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/departments")
+    public ResponseEntity<?> getDepartmentSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            logger.info("Request received: GET /api/reports/workload/departments?from={}&to={}", from, to);
+            List<WorkloadSummaryDTO> summary = workloadService.getDepartmentSummary(orToday(from), orToday(to));
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error getting department workload summary: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting workload report: " + e.getMessage());
+        }
+    }
+
+    // Repairs the rollup for a range, e.g. after visits were edited directly in the database
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            logger.info("Request received: POST /api/reports/workload/rebuild?from={}&to={}", from, to);
+            int rows = workloadService.rebuild(from, to);
+            return ResponseEntity.ok(Map.of("rows", rows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error rebuilding workload rollup: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error rebuilding workload rollup: " + e.getMessage());
+        }
+    }
+
+    private static LocalDate orToday(LocalDate date) {
+        return date != null ? date : LocalDate.now();
+    }
+}
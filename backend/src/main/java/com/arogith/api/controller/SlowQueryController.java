@@ -0,0 +1,47 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.dto.SlowQueryDTO;
+import com.arogith.api.metrics.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+public class SlowQueryController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final SlowQueryLog slowQueryLog;
+
+    @Autowired
+    public SlowQueryController(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    // kind=slow (over the threshold) or kind=sampled (random sample of the rest); newest first
+    @GetMapping
+    public ResponseEntity<List<SlowQueryDTO>> getQueries(@RequestParam(defaultValue = "slow") String kind,
+                                                         @RequestParam(defaultValue = "50") int limit) {
+        int capped = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if ("slow".equalsIgnoreCase(kind)) {
+            return ResponseEntity.ok(slowQueryLog.getSlow(capped));
+        }
+        if ("sampled".equalsIgnoreCase(kind)) {
+            return ResponseEntity.ok(slowQueryLog.getSampled(capped));
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
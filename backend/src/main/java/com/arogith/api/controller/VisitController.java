@@ -1,6 +1,8 @@
 package com.arogith.api.controller;
 
+import com.arogith.api.cache.ResourceVersion;
 import com.arogith.api.dto.VisitDTO;
+import com.arogith.api.service.ResourceVersionService;
 import com.arogith.api.service.VisitService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -9,8 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/visits")
@@ -19,10 +23,12 @@ public class VisitController {
 
     private static final Logger logger = LoggerFactory.getLogger(VisitController.class);
     private final VisitService visitService;
+    private final ResourceVersionService versionService;
 
     @Autowired
-    public VisitController(VisitService visitService) {
+    public VisitController(VisitService visitService, ResourceVersionService versionService) {
         this.visitService = visitService;
+        this.versionService = versionService;
     }
 
     @GetMapping
@@ -34,20 +40,28 @@ public class VisitController {
     }
 
     @GetMapping("/{visitId}")
-    public ResponseEntity<VisitDTO> getVisitById(@PathVariable Long visitId) {
+    public ResponseEntity<VisitDTO> getVisitById(@PathVariable Long visitId, WebRequest request) {
         logger.info("Request received: GET /api/visits/{}", visitId);
+        Optional<ResourceVersion> version = versionService.getVisitVersion(visitId);
+        if (version.isPresent() && version.get().isNotModified(request)) {
+            return null;
+        }
         VisitDTO visit = visitService.getVisitById(visitId);
         logger.info("Returning visit with ID: {}", visitId);
-        return ResponseEntity.ok(visit);
+        return version.map(v -> v.ok(visit)).orElseGet(() -> ResponseEntity.ok(visit));
     }
 
     @GetMapping("/patient/{patientId}")
-    public ResponseEntity<?> getVisitsByPatientId(@PathVariable String patientId) {
+    public ResponseEntity<?> getVisitsByPatientId(@PathVariable String patientId, WebRequest request) {
         try {
             logger.info("Request received: GET /api/visits/patient/{}", patientId);
+            ResourceVersion version = versionService.getVisitsByPatientVersion(patientId);
+            if (version.isNotModified(request)) {
+                return null;
+            }
             List<VisitDTO> visits = visitService.getVisitsByPatientId(patientId);
             logger.info("Returning {} visits for patient ID: {}", visits.size(), patientId);
-            return ResponseEntity.ok(visits);
+            return version.ok(visits);
         } catch (Exception e) {
             logger.error("Error getting visits for patient ID {}: {}", patientId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -56,19 +70,27 @@ public class VisitController {
     }
 
     @GetMapping("/today")
-    public ResponseEntity<List<VisitDTO>> getTodayVisits() {
+    public ResponseEntity<List<VisitDTO>> getTodayVisits(WebRequest request) {
         logger.info("Request received: GET /api/visits/today");
+        ResourceVersion version = versionService.getTodayVisitsVersion();
+        if (version.isNotModified(request)) {
+            return null;
+        }
         List<VisitDTO> visits = visitService.getTodayVisits();
         logger.info("Returning {} visits for today", visits.size());
-        return ResponseEntity.ok(visits);
+        return version.ok(visits);
     }
 
     @GetMapping("/yesterday")
-    public ResponseEntity<List<VisitDTO>> getYesterdayVisits() {
+    public ResponseEntity<List<VisitDTO>> getYesterdayVisits(WebRequest request) {
         logger.info("Request received: GET /api/visits/yesterday");
+        ResourceVersion version = versionService.getYesterdayVisitsVersion();
+        if (version.isNotModified(request)) {
+            return null;
+        }
         List<VisitDTO> visits = visitService.getYesterdayVisits();
         logger.info("Returning {} visits for yesterday", visits.size());
-        return ResponseEntity.ok(visits);
+        return version.ok(visits);
     }
 
     @PostMapping
@@ -0,0 +1,315 @@
+package com.arogith.api.datasource;
+
+import com.arogith.api.security.AuthenticatedUser;
+import com.arogith.api.security.RateLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to a streaming replica and everything else to the primary.
+ *
+ * The pool is chosen when a read-only transaction begins (this is registered with the
+ * transaction manager as a listener) and used once its first statement needs a connection.
+ * A read-only transaction still goes to the primary when
+ * - the client committed a write within the sticky window, so it reads its own writes
+ *   (clients are told apart by token subject, else by IP);
+ * - the replica's last probe is older than three check intervals, failed, found a server
+ *   that is not in recovery, or measured more than max-lag-ms of replay lag;
+ * - the replica pool could not hand out a connection within its connection-timeout.
+ *
+ * Rows read on the replica can be older than what the primary just committed, so replica
+ * transactions read the second-level cache but never put entries into it: a lagging row
+ * would overwrite the entry a write just stored there.
+ */
+public class ReplicaRouting implements MeterBinder, TransactionExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouting.class);
+    private static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+    // Replay lag in ms; 0 while the standby has replayed everything it received, which keeps
+    // an idle primary from looking like a growing lag
+    private static final String LAG_QUERY = "SELECT pg_is_in_recovery(), "
+            + "CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    enum Route {
+        REPLICA("replica", "read-only"),
+        PRIMARY("primary", "read-write"),
+        STICKY("primary", "read-your-writes"),
+        LAGGING("primary", "replica-lagging"),
+        UNAVAILABLE("primary", "replica-unavailable");
+
+        final String pool;
+        final String reason;
+
+        Route(String pool, String reason) {
+            this.pool = pool;
+            this.reason = reason;
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final long maxLagMs;
+    private final long probeValidNanos;
+    private final long stickyWindowNanos;
+    private final boolean trustForwardedFor;
+    private final DataSource dataSource = new RoutingDataSource();
+    // Client key -> System.nanoTime() until which its reads stay on the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final Map<Route, LongAdder> routed = new EnumMap<>(Route.class);
+    private volatile double lagMs = Double.NaN;
+    private volatile boolean inRecovery;
+    // System.nanoTime() of the last successful probe; 0 until the first one and after a failure
+    private volatile long probedAt;
+    private volatile String lastState = "starting";
+
+    public ReplicaRouting(HikariDataSource primary, HikariDataSource replica,
+                          ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                          long maxLagMs, long lagCheckIntervalMs, long stickyWindowMs, boolean trustForwardedFor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxLagMs = maxLagMs;
+        this.probeValidNanos = TimeUnit.MILLISECONDS.toNanos(3 * lagCheckIntervalMs);
+        this.stickyWindowNanos = TimeUnit.MILLISECONDS.toNanos(stickyWindowMs);
+        this.trustForwardedFor = trustForwardedFor;
+        for (Route route : Route.values()) {
+            routed.put(route, new LongAdder());
+        }
+    }
+
+    // Both pools behind one DataSource. Wrap it in a LazyConnectionDataSourceProxy: Hibernate asks
+    // for its connection inside doBegin, before the transaction is marked read-only
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void probe() {
+        String failure = null;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            inRecovery = rs.getBoolean(1);
+            lagMs = rs.getDouble(2);
+            probedAt = System.nanoTime();
+        } catch (SQLException e) {
+            failure = e.getMessage();
+            markUnavailable();
+        }
+
+        String state = failure != null ? "unreachable"
+                : !inRecovery ? "not a standby"
+                : lagMs > maxLagMs ? "lagging" : "in rotation";
+        if (!state.equals(lastState)) {
+            if ("in rotation".equals(state)) {
+                logger.info("Read replica in rotation (replay lag {} ms)", Math.round(lagMs));
+            } else {
+                logger.warn("Read replica out of rotation: {}{}", state,
+                        failure != null ? " (" + failure + ")"
+                                : "lagging".equals(state) ? " (" + Math.round(lagMs) + " ms > " + maxLagMs + " ms)" : "");
+            }
+            lastState = state;
+        }
+
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Route route = readRoute();
+        // A read-only REQUIRES_NEW transaction may start inside another one
+        Object outerRoute = TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        TransactionSynchronizationManager.bindResource(this, route);
+        // As an EntityManager property: find() re-derives its cache mode from it on every call
+        EntityManager entityManager = route == Route.REPLICA ? currentEntityManager() : null;
+        Object previousStoreMode = entityManager != null ? entityManager.getProperties().get(CACHE_STORE_MODE) : null;
+        if (entityManager != null) {
+            entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRouting.this);
+                if (outerRoute != null) {
+                    TransactionSynchronizationManager.bindResource(ReplicaRouting.this, outerRoute);
+                }
+                if (entityManager != null && entityManager.isOpen()) {
+                    entityManager.setProperty(CACHE_STORE_MODE,
+                            previousStoreMode != null ? previousStoreMode : CacheStoreMode.USE);
+                }
+            }
+        });
+    }
+
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Boot only finds the primary pool behind the routing DataSource; both report as hikaricp.*{pool}
+        for (HikariDataSource pool : new HikariDataSource[] {primary, replica}) {
+            if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        }
+        for (Route route : Route.values()) {
+            FunctionCounter.builder("app.datasource.routed", routed.get(route), LongAdder::sum)
+                    .description("Connections handed out, by pool and routing reason")
+                    .tag("pool", route.pool)
+                    .tag("reason", route.reason)
+                    .register(registry);
+        }
+        Gauge.builder("app.datasource.replica.lag", () -> lagMs)
+                .description("Replay lag of the read replica at the last probe (NaN when unreachable)")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("app.datasource.replica.in-rotation", () -> replicaRoute() == Route.REPLICA ? 1 : 0)
+                .description("1 while read-only transactions may use the replica")
+                .register(registry);
+        Gauge.builder("app.datasource.sticky-clients", stickyUntil, Map::size)
+                .description("Clients whose reads stay on the primary after a recent write")
+                .register(registry);
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        Route route = (Route) TransactionSynchronizationManager.getResource(this);
+        return route != null ? route : readRoute();
+    }
+
+    private Route readRoute() {
+        String client = clientKey();
+        if (client != null) {
+            Long until = stickyUntil.get(client);
+            if (until != null && until - System.nanoTime() > 0) {
+                return Route.STICKY;
+            }
+        }
+        return replicaRoute();
+    }
+
+    private Route replicaRoute() {
+        long probed = probedAt;
+        if (probed == 0 || System.nanoTime() - probed > probeValidNanos || !inRecovery) {
+            return Route.UNAVAILABLE;
+        }
+        return lagMs > maxLagMs ? Route.LAGGING : Route.REPLICA;
+    }
+
+    private void markUnavailable() {
+        probedAt = 0;
+        lagMs = Double.NaN;
+    }
+
+    // Token subject when the request carries one, else the client IP; null outside a request
+    private String clientKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser) {
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            return user.getKind() + ":" + user.getId();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return "ip:" + RateLimitFilter.clientIp(((ServletRequestAttributes) attributes).getRequest(), trustForwardedFor);
+        }
+        return null;
+    }
+
+    private void stickAfterCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String client = clientKey();
+        if (client == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUntil.put(client, System.nanoTime() + stickyWindowNanos);
+            }
+        });
+    }
+
+    private EntityManager currentEntityManager() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        EntityManagerHolder holder = factory != null
+                ? (EntityManagerHolder) TransactionSynchronizationManager.getResource(factory) : null;
+        return holder != null ? holder.getEntityManager() : null;
+    }
+
+    // Extends DelegatingDataSource so Boot still finds the primary Hikari pool behind it
+    private final class RoutingDataSource extends DelegatingDataSource {
+
+        RoutingDataSource() {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Route route = route();
+            if (route == Route.REPLICA) {
+                try {
+                    Connection connection = replica.getConnection();
+                    routed.get(route).increment();
+                    return connection;
+                } catch (SQLException e) {
+                    logger.warn("Read replica connection failed, reading from the primary: {}", e.getMessage());
+                    markUnavailable();
+                    route = Route.UNAVAILABLE;
+                }
+            }
+            routed.get(route).increment();
+            if (route == Route.PRIMARY) {
+                stickAfterCommit();
+            }
+            return primary.getConnection();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.arogith.api.dto;
+
+public class CacheStatsDTO {
+    private final String name;
+    private final int size;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final double hitRatio;
+
+    public CacheStatsDTO(String name, int size, int maxSize, long ttlMillis, long hits, long misses,
+                         long evictions, double hitRatio) {
+        this.name = name;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.hitRatio = hitRatio;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+}
@@ -0,0 +1,60 @@
+package com.arogith.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change event from the outbox. position is the stream cursor (gap-free, commit order);
+ * eventId identifies the event for de-duplication, since delivery is at-least-once.
+ */
+public class ChangeEventDTO {
+    private final long position;
+    private final long eventId;
+    private final String type;
+    private final String aggregateType;
+    private final String aggregateId;
+    private final LocalDateTime occurredAt;
+    private final String data;
+
+    public ChangeEventDTO(long position, long eventId, String type, String aggregateType, String aggregateId,
+                          LocalDateTime occurredAt, String data) {
+        this.position = position;
+        this.eventId = eventId;
+        this.type = type;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.occurredAt = occurredAt;
+        this.data = data;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    // Stored as JSON; written out as-is
+    @JsonRawValue
+    public String getData() {
+        return data;
+    }
+}
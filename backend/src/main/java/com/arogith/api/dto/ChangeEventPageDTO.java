@@ -0,0 +1,31 @@
+package com.arogith.api.dto;
+
+import java.util.List;
+
+/**
+ * Change events after a stream position, oldest first. Pass {@code nextCursor} back as
+ * {@code after} to read on; it stays put when there is nothing new yet.
+ */
+public class ChangeEventPageDTO {
+    private final List<ChangeEventDTO> events;
+    private final long nextCursor;
+    private final boolean hasMore;
+
+    public ChangeEventPageDTO(List<ChangeEventDTO> events, long nextCursor, boolean hasMore) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChangeEventDTO> getEvents() {
+        return events;
+    }
+
+    public long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
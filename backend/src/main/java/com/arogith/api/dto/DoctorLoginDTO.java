@@ -13,6 +13,11 @@ public class DoctorLoginDTO {
     private String department;
     private boolean authenticated;
     private String message;
+    
+    // Issued on successful login
+    private String accessToken;
+    private String refreshToken;
+    private Long expiresIn;
 
     // Default constructor
     public DoctorLoginDTO() {
@@ -108,4 +113,28 @@ public class DoctorLoginDTO {
     public void setMessage(String message) {
         this.message = message;
     }
-} 
\ No newline at end of file
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
@@ -0,0 +1,23 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the doctor availability board, also the payload of "presence" events.
+ * Registry entries are replaced, never modified, once published.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorPresenceDTO {
+    private String doctorId;
+    private String name;
+    private String department;
+    private String status;
+    private String currentPatientId;
+    private LocalDateTime lastHeartbeat;
+    private boolean online;
+}
@@ -0,0 +1,19 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live queue length of one doctor as tracked by the assignment engine.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorQueueDTO {
+    private String doctorId;
+    private String name;
+    private String department;
+    private boolean available;
+    private int openVisits;
+}
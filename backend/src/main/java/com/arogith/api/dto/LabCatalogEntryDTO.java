@@ -0,0 +1,75 @@
+package com.arogith.api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Immutable catalog entry held in the in-memory lab test catalog snapshot.
+ */
+public final class LabCatalogEntryDTO {
+    private final String code;
+    private final String name;
+    private final String panel;
+    private final List<String> aliases;
+    private final String unit;
+    private final BigDecimal referenceLow;
+    private final BigDecimal referenceHigh;
+    private final BigDecimal criticalLow;
+    private final BigDecimal criticalHigh;
+    private final String referenceRange; // e.g. "70-100 mg/dL", "<200 mg/dL"
+
+    public LabCatalogEntryDTO(String code, String name, String panel, List<String> aliases, String unit,
+            BigDecimal referenceLow, BigDecimal referenceHigh, BigDecimal criticalLow, BigDecimal criticalHigh,
+            String referenceRange) {
+        this.code = code;
+        this.name = name;
+        this.panel = panel;
+        this.aliases = List.copyOf(aliases);
+        this.unit = unit;
+        this.referenceLow = referenceLow;
+        this.referenceHigh = referenceHigh;
+        this.criticalLow = criticalLow;
+        this.criticalHigh = criticalHigh;
+        this.referenceRange = referenceRange;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPanel() {
+        return panel;
+    }
+
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public BigDecimal getReferenceLow() {
+        return referenceLow;
+    }
+
+    public BigDecimal getReferenceHigh() {
+        return referenceHigh;
+    }
+
+    public BigDecimal getCriticalLow() {
+        return criticalLow;
+    }
+
+    public BigDecimal getCriticalHigh() {
+        return criticalHigh;
+    }
+
+    public String getReferenceRange() {
+        return referenceRange;
+    }
+}
@@ -0,0 +1,23 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Server-sent "lab-results" event payload. Bursts of results for the same visit
+ * are coalesced into a single notification listing every test that changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabResultNotificationDTO {
+    private Long visitId;
+    private String patientId;
+    private String doctorId;
+    private List<Long> testIds;
+    private List<String> testNames;
+    private LocalDateTime latestResultAt;
+}
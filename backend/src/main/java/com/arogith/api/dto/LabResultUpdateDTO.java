@@ -0,0 +1,18 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a bulk result update (PATCH /api/labtests/results).
+ * Null fields are left unchanged.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabResultUpdateDTO {
+    private Long testId;
+    private String result;
+    private String status;
+}
@@ -0,0 +1,21 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabResultUpdateOutcomeDTO {
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID = "INVALID";
+
+    private Long testId;
+    private String outcome;
+    private boolean resultChanged;
+    private String abnormalFlag;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Time series of one analyte for one patient, oldest first.
+ * When {@code downsampled} is true, {@code points} is an LTTB selection of {@code totalPoints}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabSeriesDTO {
+    private String patientId;
+    private String testName;
+    private String unit;
+    private BigDecimal referenceLow;
+    private BigDecimal referenceHigh;
+    private int totalPoints;
+    private boolean downsampled;
+    private List<LabSeriesPointDTO> points;
+}
@@ -0,0 +1,18 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabSeriesPointDTO {
+    private Long testId;
+    private Long visitId;
+    private LocalDateTime takenAt;
+    private BigDecimal value;
+    private String abnormalFlag;
+}
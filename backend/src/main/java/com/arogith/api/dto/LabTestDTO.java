@@ -3,6 +3,7 @@ package com.arogith.api.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -19,6 +20,13 @@ public class LabTestDTO {
     private LocalDateTime testGivenAt;
     private LocalDateTime resultUpdatedAt;
     
+    // Structured result fields (read-only, computed by the server)
+    private BigDecimal resultValue;
+    private String resultUnit;
+    private BigDecimal referenceLow;
+    private BigDecimal referenceHigh;
+    private String abnormalFlag;
+    
     // Additional fields for frontend display
     private String formattedTestDate;
     private String formattedResultDate;
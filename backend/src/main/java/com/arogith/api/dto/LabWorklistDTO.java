@@ -0,0 +1,22 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of the lab bench worklist (pending / in-progress tests, oldest first).
+ * Pass {@code nextCursor} back as {@code cursor} to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabWorklistDTO {
+    private List<LabTestDTO> items;
+    private String nextCursor; // null when there are no more pages
+    private boolean hasMore;
+    private Map<String, Long> countsByTestName;
+    private long totalPending;
+}
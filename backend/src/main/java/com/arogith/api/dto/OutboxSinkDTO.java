@@ -0,0 +1,52 @@
+package com.arogith.api.dto;
+
+import java.time.LocalDateTime;
+
+public class OutboxSinkDTO {
+    private final String name;
+    private final long position;
+    private final long lag;
+    private final long delivered;
+    private final long failures;
+    private final LocalDateTime lastDeliveredAt;
+    private final String lastError;
+
+    public OutboxSinkDTO(String name, long position, long lag, long delivered, long failures,
+                         LocalDateTime lastDeliveredAt, String lastError) {
+        this.name = name;
+        this.position = position;
+        this.lag = lag;
+        this.delivered = delivered;
+        this.failures = failures;
+        this.lastDeliveredAt = lastDeliveredAt;
+        this.lastError = lastError;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getLag() {
+        return lag;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public LocalDateTime getLastDeliveredAt() {
+        return lastDeliveredAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
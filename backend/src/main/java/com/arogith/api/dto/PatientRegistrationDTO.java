@@ -48,4 +48,9 @@ public class PatientRegistrationDTO {
     private String symptoms;
     private String complaint;
     private String status;
+    
+    // Doctor assignment: an explicit doctorId wins; otherwise the least-loaded
+    // available doctor in department (any department when blank) is assigned
+    private String doctorId;
+    private String department;
 } 
\ No newline at end of file
@@ -11,12 +11,14 @@ public class PatientResponseDTO {
     private PatientDTO patient;
     private boolean isNewPatient;
     private String message;
+    private String assignedDoctorId;
     
     public static PatientResponseDTO forNewPatient(PatientDTO patient) {
         return new PatientResponseDTO(
             patient,
             true,
-            "New patient created successfully with ID: " + patient.getPatientId()
+            "New patient created successfully with ID: " + patient.getPatientId(),
+            null
         );
     }
     
@@ -24,7 +26,8 @@ public class PatientResponseDTO {
         return new PatientResponseDTO(
             patient,
             false,
-            "Added new visit for existing patient with ID: " + patient.getPatientId()
+            "Added new visit for existing patient with ID: " + patient.getPatientId(),
+            null
         );
     }
 } 
\ No newline at end of file
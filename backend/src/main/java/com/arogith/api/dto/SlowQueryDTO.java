@@ -0,0 +1,59 @@
+package com.arogith.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SlowQueryDTO {
+    private final long sequence;
+    private final LocalDateTime executedAt;
+    private final double durationMs;
+    private final long updateCount;
+    private final int batchSize;
+    private final String sql;
+    private final List<String> parameters;
+    private final String source;
+
+    public SlowQueryDTO(long sequence, LocalDateTime executedAt, double durationMs, long updateCount, int batchSize,
+                        String sql, List<String> parameters, String source) {
+        this.sequence = sequence;
+        this.executedAt = executedAt;
+        this.durationMs = durationMs;
+        this.updateCount = updateCount;
+        this.batchSize = batchSize;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.source = source;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public LocalDateTime getExecutedAt() {
+        return executedAt;
+    }
+
+    public double getDurationMs() {
+        return durationMs;
+    }
+
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
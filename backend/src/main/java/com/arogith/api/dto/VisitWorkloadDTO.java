@@ -0,0 +1,22 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * One pre-aggregated row of visit_workload_daily. Empty doctorId / department /
+ * status mean the visit had none.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitWorkloadDTO {
+    private LocalDate day;
+    private String doctorId;
+    private String department;
+    private String status;
+    private int visitCount;
+    private int pendingPrescriptions;
+}
@@ -0,0 +1,23 @@
+package com.arogith.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Workload totals for a department, or for one doctor on one day (day, doctorId and
+ * doctorName are null in the per-department summary).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadSummaryDTO {
+    private LocalDate day;
+    private String doctorId;
+    private String doctorName;
+    private String department;
+    private long visits;
+    private long criticalVisits;
+    private long pendingPrescriptions;
+}
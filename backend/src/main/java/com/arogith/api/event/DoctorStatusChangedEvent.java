@@ -0,0 +1,28 @@
+package com.arogith.api.event;
+
+/**
+ * Published by the presence registry whenever a doctor's status is updated.
+ */
+public class DoctorStatusChangedEvent {
+    private final String doctorId;
+    private final String department;
+    private final String status;
+
+    public DoctorStatusChangedEvent(String doctorId, String department, String status) {
+        this.doctorId = doctorId;
+        this.department = department;
+        this.status = status;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,56 @@
+package com.arogith.api.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the writing transaction when a lab test result is recorded.
+ * Listeners that push to clients must only act after commit.
+ */
+public class LabResultReadyEvent {
+    private final Long testId;
+    private final Long visitId;
+    private final String patientId;
+    private final String doctorId;
+    private final String testName;
+    private final String status;
+    private final LocalDateTime resultUpdatedAt;
+
+    public LabResultReadyEvent(Long testId, Long visitId, String patientId, String doctorId,
+            String testName, String status, LocalDateTime resultUpdatedAt) {
+        this.testId = testId;
+        this.visitId = visitId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.testName = testName;
+        this.status = status;
+        this.resultUpdatedAt = resultUpdatedAt;
+    }
+
+    public Long getTestId() {
+        return testId;
+    }
+
+    public Long getVisitId() {
+        return visitId;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getResultUpdatedAt() {
+        return resultUpdatedAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.arogith.api.event;
+
+import com.arogith.api.repository.VisitWorkloadRepository.Contribution;
+
+/**
+ * Published inside the writing transaction when a visit's workload contribution
+ * changes. before is null for a new visit; listeners must only act after commit.
+ */
+public class VisitWorkloadChangedEvent {
+    private final Contribution before;
+    private final Contribution after;
+
+    public VisitWorkloadChangedEvent(Contribution before, Contribution after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public Contribution getBefore() {
+        return before;
+    }
+
+    public Contribution getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,142 @@
+package com.arogith.api.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of /api requests executing at once.
+ *
+ * With platform threads Tomcat's worker pool is an implicit limit. With virtual threads
+ * every accepted connection gets a thread immediately, so a burst turns into thousands of
+ * requests queued inside Hikari, each holding memory until connection-timeout (20s) fails
+ * it. This filter keeps the queue in front of the application instead: at most
+ * max-concurrent requests run (default twice the Hikari pool, since open-in-view holds a
+ * connection for most of a request), up to max-queue more wait in FIFO order for at most
+ * max-wait-ms, and the rest get 503 with Retry-After straight away.
+ *
+ * execution.admission.enabled=auto turns it on only when virtual threads are active.
+ * Health and actuator endpoints are never queued. Async dispatches (SSE) release their
+ * permit when the initial request thread returns.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public AdmissionControlFilter(ExecutionModeReporter executionMode, MeterRegistry meterRegistry,
+                                  @Value("${execution.admission.enabled:auto}") String enabled,
+                                  @Value("${execution.admission.max-concurrent:0}") int maxConcurrent,
+                                  @Value("${execution.admission.max-queue:1000}") int maxQueue,
+                                  @Value("${execution.admission.max-wait-ms:2000}") long maxWaitMs,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.enabled = "auto".equalsIgnoreCase(enabled.trim())
+                ? executionMode.isVirtualThreads()
+                : Boolean.parseBoolean(enabled.trim());
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : 2 * poolSize;
+        this.maxQueue = maxQueue;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(this.maxConcurrent, true);
+
+        Gauge.builder("app.admission.in-flight", () -> this.maxConcurrent - permits.availablePermits())
+                .description("Admitted /api requests currently executing")
+                .register(meterRegistry);
+        Gauge.builder("app.admission.waiting", waiting, AtomicInteger::get)
+                .description("/api requests waiting for admission")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("app.admission.wait")
+                .description("Time admitted requests spent waiting for a permit")
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("app.admission.rejected")
+                .description("Requests answered 503 by admission control")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("app.admission.rejected")
+                .description("Requests answered 503 by admission control")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+
+        if (this.enabled) {
+            logger.info("Admission control: {} concurrent /api requests, {} queued, {} ms max wait",
+                    this.maxConcurrent, maxQueue, maxWaitMs);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || path.equals("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!permits.tryAcquire()) {
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                rejectedQueueFull.increment();
+                reject(response);
+                return;
+            }
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!acquired) {
+                rejectedTimeout.increment();
+                reject(response);
+                return;
+            }
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        response.setContentType("text/plain");
+        response.getWriter().write("Server busy, please retry later");
+    }
+}
@@ -0,0 +1,62 @@
+package com.arogith.api.execution;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports which execution model is in effect. Spring Boot only switches Tomcat, the
+ * application task executor and the scheduler to virtual threads when
+ * spring.threads.virtual.enabled is set AND the JVM is 21 or newer; on older JVMs the
+ * property is silently ignored, so that case is logged as a WARN here. The active mode
+ * is exported as the app.execution.virtual-threads gauge (1 = virtual, 0 = platform)
+ * so load runs can confirm what they measured.
+ */
+@Component
+public class ExecutionModeReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeReporter.class);
+
+    private final boolean requested;
+    private final boolean active;
+    private final int tomcatMaxThreads;
+    private final int poolSize;
+
+    public ExecutionModeReporter(Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean requested,
+                                 @Value("${server.tomcat.threads.max:200}") int tomcatMaxThreads,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.requested = requested;
+        this.active = Threading.VIRTUAL.isActive(environment);
+        this.tomcatMaxThreads = tomcatMaxThreads;
+        this.poolSize = poolSize;
+        Gauge.builder("app.execution.virtual-threads", () -> active ? 1 : 0)
+                .description("1 when requests, @Async tasks and @Scheduled jobs run on virtual threads")
+                .register(meterRegistry);
+    }
+
+    public boolean isVirtualThreads() {
+        return active;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        if (active) {
+            logger.info("Execution mode: virtual threads (JDK {}), database pool of {} connections",
+                    Runtime.version().feature(), poolSize);
+        } else if (requested) {
+            logger.warn("spring.threads.virtual.enabled is set but JDK {} has no virtual threads (21+ required) - "
+                    + "running on platform threads", Runtime.version().feature());
+        } else {
+            logger.info("Execution mode: platform threads (up to {} Tomcat workers), database pool of {} connections",
+                    tomcatMaxThreads, poolSize);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.arogith.api.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+
+/**
+ * Generates unique, roughly time-ordered staff IDs without a database round trip.
+ *
+ * Snowflake layout in a positive long: 41 bits of milliseconds since 2024-01-01 UTC,
+ * 10 bits of node ID and 12 bits of per-millisecond sequence, i.e. up to 4096 IDs per
+ * millisecond per node for ~69 years. IDs keep the existing prefix format, e.g.
+ * "D" + number for doctors and "N" + number for nurses.
+ *
+ * Every instance must run with a distinct {@code staff-id.node-id}. When unset, the
+ * node ID is derived from the host name, which is good enough for a single node.
+ * If the clock moves backwards the generator keeps counting from the last timestamp
+ * instead of failing, so IDs stay unique.
+ */
+@Component
+public class StaffIdGenerator {
+
+    public static final String DOCTOR_PREFIX = "D";
+    public static final String NURSE_PREFIX = "N";
+
+    private static final Logger logger = LoggerFactory.getLogger(StaffIdGenerator.class);
+    private static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    public StaffIdGenerator(@Value("${staff-id.node-id:-1}") long configuredNodeId) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("staff-id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = configuredNodeId >= 0 ? configuredNodeId : deriveNodeId();
+        logger.info("Staff ID generator using node ID {}", nodeId);
+    }
+
+    public String nextDoctorId() {
+        return DOCTOR_PREFIX + nextId();
+    }
+
+    public String nextNurseId() {
+        return NURSE_PREFIX + nextId();
+    }
+
+    public synchronized long nextId() {
+        long timestamp = Math.max(System.currentTimeMillis() - EPOCH_MS, lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // Sequence exhausted for this millisecond - borrow the next one
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private static long deriveNodeId() {
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            return (host.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+        } catch (Exception e) {
+            logger.warn("Could not derive node ID from host name, using 0: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.arogith.api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service beans as "app.service.calls", tagged with
+ * the service class, method and outcome (success or the exception's simple name).
+ * Percentiles are configured under management.metrics.distribution in
+ * application.properties.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    static final String METRIC_NAME = "app.service.calls";
+    private static final String SUCCESS = "success";
+
+    private final MeterRegistry meterRegistry;
+    // Avoids a registry lookup (and tag allocation) per call
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * *(..)) && (within(com.arogith.api.service.impl..*) || within(com.hsptl.service..*))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> service = joinPoint.getTarget() != null ? joinPoint.getTarget().getClass() : method.getDeclaringClass();
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            timer(service, method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Class<?> service, Method method, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(service, method.getName(), outcome), key ->
+                Timer.builder(METRIC_NAME)
+                        .description("Service method latency")
+                        .tag("service", key.service.getSimpleName())
+                        .tag("method", key.method)
+                        .tag("outcome", key.outcome)
+                        .register(meterRegistry));
+    }
+
+    private static final class TimerKey {
+        final Class<?> service;
+        final String method;
+        final String outcome;
+
+        TimerKey(Class<?> service, String method, String outcome) {
+            this.service = service;
+            this.method = method;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TimerKey)) {
+                return false;
+            }
+            TimerKey other = (TimerKey) o;
+            return service == other.service && method.equals(other.method) && outcome.equals(other.outcome);
+        }
+
+        @Override
+        public int hashCode() {
+            return (service.hashCode() * 31 + method.hashCode()) * 31 + outcome.hashCode();
+        }
+    }
+}
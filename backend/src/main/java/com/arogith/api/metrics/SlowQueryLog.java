@@ -0,0 +1,209 @@
+package com.arogith.api.metrics;
+
+import com.arogith.api.dto.SlowQueryDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps recent slow statements, and a random sample of the fast ones, in two fixed-size
+ * in-memory ring buffers (GET /api/admin/slow-queries). {@link TrackingDataSource}
+ * reports every execute call with its bound parameters; nothing is formatted unless the
+ * statement is kept, so the cost for ordinary statements is a comparison and, at most,
+ * one random draw.
+ *
+ * Parameters are masked by default: strings, dates and binary values are replaced by
+ * their type and length so names, Aadhaar and phone numbers, dates of birth and photos
+ * never reach the buffer or the log. Numbers and booleans are kept. Inline literals in
+ * the SQL text are replaced with ?.
+ */
+@Component
+public class SlowQueryLog implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final int MAX_SQL_LENGTH = 4000;
+    private static final int MAX_PARAMETERS = 100;
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean maskParameters;
+    private final Ring slow;
+    private final Ring sampled;
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder sampledCount = new LongAdder();
+
+    public SlowQueryLog(@Value("${sql.slow-log.enabled:true}") boolean enabled,
+                        @Value("${sql.slow-log.threshold-ms:200}") long thresholdMs,
+                        @Value("${sql.slow-log.sample-rate:0.001}") double sampleRate,
+                        @Value("${sql.slow-log.capacity:256}") int capacity,
+                        @Value("${sql.slow-log.mask-parameters:true}") boolean maskParameters) {
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sampleRate = sampleRate;
+        this.maskParameters = maskParameters;
+        this.slow = new Ring(capacity);
+        this.sampled = new Ring(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // updateCount is 0 for queries (rows are only known once the result set has been read);
+    // parameters[i] is the value bound to placeholder i + 1 (null entries were never bound or bound to NULL)
+    void record(String sql, long nanos, long updateCount, int batchSize, Object[] parameters, int parameterCount) {
+        if (!enabled || sql == null) {
+            return;
+        }
+        boolean isSlow = nanos >= thresholdNanos;
+        if (!isSlow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        String text = SqlStats.maskLiterals(sql);
+        if (text.length() > MAX_SQL_LENGTH) {
+            text = text.substring(0, MAX_SQL_LENGTH) + "...";
+        }
+        List<String> values = formatParameters(parameters, parameterCount);
+        double durationMs = nanos / 1_000_000.0;
+        Ring ring = isSlow ? slow : sampled;
+        long sequence = ring.next.getAndIncrement();
+        ring.set(sequence, new SlowQueryDTO(sequence, LocalDateTime.now(), durationMs, updateCount, batchSize, text,
+                values, source()));
+        if (isSlow) {
+            slowCount.increment();
+            logger.warn("Slow SQL ({} ms{}{}): {} {}", String.format("%.1f", durationMs),
+                    updateCount > 0 ? ", " + updateCount + " rows updated" : "",
+                    batchSize > 1 ? ", batch of " + batchSize : "", text, values);
+        } else {
+            sampledCount.increment();
+        }
+    }
+
+    // Newest first
+    public List<SlowQueryDTO> getSlow(int limit) {
+        return slow.snapshot(limit);
+    }
+
+    public List<SlowQueryDTO> getSampled(int limit) {
+        return sampled.snapshot(limit);
+    }
+
+    public void clear() {
+        slow.clear();
+        sampled.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("app.sql.slow", slowCount, LongAdder::sum)
+                .description("Statements slower than sql.slow-log.threshold-ms")
+                .register(registry);
+        FunctionCounter.builder("app.sql.sampled", sampledCount, LongAdder::sum)
+                .description("Fast statements captured by sql.slow-log.sample-rate")
+                .register(registry);
+    }
+
+    private List<String> formatParameters(Object[] parameters, int parameterCount) {
+        if (parameters == null || parameterCount == 0) {
+            return Collections.emptyList();
+        }
+        int count = Math.min(parameterCount, MAX_PARAMETERS);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(format(parameters[i]));
+        }
+        if (parameterCount > count) {
+            values.add("... " + (parameterCount - count) + " more");
+        }
+        return values;
+    }
+
+    private String format(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof byte[]) {
+            return "<bytes(" + ((byte[]) value).length + ")>";
+        }
+        if (!maskParameters) {
+            return value instanceof String ? "'" + value + "'" : String.valueOf(value);
+        }
+        if (value instanceof String) {
+            return "<string(" + ((String) value).length() + ")>";
+        }
+        if (value instanceof Date || value instanceof TemporalAccessor) {
+            return "<date>";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    // The request's handler pattern (never the raw URI, which can carry identifiers), else the thread
+    private static String source() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            Object pattern = ((ServletRequestAttributes) attributes).getRequest()
+                    .getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String method = ((ServletRequestAttributes) attributes).getRequest().getMethod();
+            return method + " " + (pattern != null ? pattern : "UNKNOWN");
+        }
+        return Thread.currentThread().getName();
+    }
+
+    // Writers claim a sequence number and overwrite slot sequence % capacity; readers skip
+    // slots whose entry does not carry the sequence they expect (not yet written, or lapped)
+    private static final class Ring {
+        final AtomicLong next = new AtomicLong();
+        final AtomicReferenceArray<SlowQueryDTO> slots;
+
+        Ring(int capacity) {
+            this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+        }
+
+        void set(long sequence, SlowQueryDTO entry) {
+            slots.set((int) (sequence % slots.length()), entry);
+        }
+
+        List<SlowQueryDTO> snapshot(int limit) {
+            long end = next.get();
+            long start = Math.max(0, end - slots.length());
+            List<SlowQueryDTO> entries = new ArrayList<>();
+            for (long sequence = end - 1; sequence >= start && entries.size() < limit; sequence--) {
+                SlowQueryDTO entry = slots.get((int) (sequence % slots.length()));
+                if (entry != null && entry.getSequence() == sequence) {
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        }
+
+        void clear() {
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.arogith.api.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Thread-bound scopes that {@link TrackingDataSource} reports JDBC activity to.
+ * Scopes nest: every open scope on the thread sees every statement. One scope is
+ * opened per HTTP request by {@link SqlStatsFilter}; tests open their own with
+ * {@link #capture()}.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Deque<SqlStats>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatementTracker() {
+    }
+
+    public static SqlStats capture() {
+        SqlStats stats = new SqlStats();
+        SCOPES.get().push(stats);
+        return stats;
+    }
+
+    // Outermost open scope on this thread (the request's, when called from request code), or null
+    public static SqlStats current() {
+        Deque<SqlStats> scopes = SCOPES.get();
+        return scopes.isEmpty() ? null : scopes.peekLast();
+    }
+
+    static void end(SqlStats stats) {
+        Deque<SqlStats> scopes = SCOPES.get();
+        scopes.remove(stats);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void recordStatement(String sql, long nanos, long affectedRows) {
+        Deque<SqlStats> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            return;
+        }
+        for (SqlStats stats : scopes) {
+            stats.recordStatement(sql, nanos, affectedRows);
+        }
+    }
+
+    static void recordRow() {
+        Deque<SqlStats> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            return;
+        }
+        for (SqlStats stats : scopes) {
+            stats.recordRow();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.arogith.api.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC activity recorded while a {@link SqlStatementTracker} scope is open: statement
+ * count, rows read or affected, time spent executing, and how often each statement
+ * shape (SQL with literals and IN-lists collapsed) was executed.
+ *
+ * Also the test-side assertion API for pinning an endpoint's query budget:
+ * <pre>
+ * try (SqlStats sql = SqlStatementTracker.capture()) {
+ *     mockMvc.perform(get("/api/patients"));
+ *     sql.assertStatementsAtMost(3);
+ *     sql.assertNoShapeRepeatedMoreThan(1);
+ * }
+ * </pre>
+ * Over HTTP the same numbers are returned in the X-SQL-* response headers when those are
+ * enabled (sql.tracking.response-headers, on in the dev profile).
+ */
+public final class SqlStats implements AutoCloseable {
+
+    // Bounds memory for long-running scopes such as bulk jobs
+    private static final int MAX_TRACKED_SHAPES = 500;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long dbNanos;
+
+    SqlStats() {
+    }
+
+    void recordStatement(String sql, long nanos, long affectedRows) {
+        statements++;
+        dbNanos += nanos;
+        rows += Math.max(0, affectedRows);
+        if (sql != null) {
+            String shape = shapeOf(sql);
+            if (shapes.containsKey(shape) || shapes.size() < MAX_TRACKED_SHAPES) {
+                shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbTimeMillis() {
+        return dbNanos / 1_000_000L;
+    }
+
+    // Statement shapes executed more than threshold times, most frequent first
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(e -> e.getValue() > threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return Collections.unmodifiableMap(repeated);
+    }
+
+    public void assertStatementsAtMost(int budget) {
+        if (statements > budget) {
+            throw new AssertionError("Expected at most " + budget + " SQL statements but " + statements
+                    + " were executed: " + getRepeatedShapes(0));
+        }
+    }
+
+    public void assertNoShapeRepeatedMoreThan(int times) {
+        Map<String, Integer> repeated = getRepeatedShapes(times);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Possible N+1: statements repeated more than " + times + " times: " + repeated);
+        }
+    }
+
+    @Override
+    public void close() {
+        SqlStatementTracker.end(this);
+    }
+
+    static String shapeOf(String sql) {
+        return IN_LIST.matcher(maskLiterals(sql)).replaceAll("(?)");
+    }
+
+    // Inline string and number literals replaced with ?, whitespace collapsed
+    static String maskLiterals(String sql) {
+        String masked = STRING_LITERAL.matcher(sql).replaceAll("?");
+        masked = NUMBER_LITERAL.matcher(masked).replaceAll("?");
+        return WHITESPACE.matcher(masked).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,121 @@
+package com.arogith.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link SqlStats} scope per HTTP request. At the end of the request the totals
+ * are recorded as app.request.sql.statements / .rows / .time (tagged with the matched
+ * URI pattern and method) and any statement shape executed more than
+ * sql.tracking.n-plus-one-threshold times is logged as a likely N+1. The totals are
+ * also returned as X-SQL-Statements, X-SQL-Rows and X-SQL-Time-Ms response headers
+ * when sql.tracking.response-headers is set, as in the dev profile (see {@link SqlStatsResponseAdvice}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    static final String HEADER_STATEMENTS = "X-SQL-Statements";
+    static final String HEADER_ROWS = "X-SQL-Rows";
+    static final String HEADER_TIME = "X-SQL-Time-Ms";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int repeatThreshold;
+    private final boolean exposeHeaders;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry,
+                          @Value("${sql.tracking.enabled:true}") boolean enabled,
+                          @Value("${sql.tracking.n-plus-one-threshold:10}") int repeatThreshold,
+                          @Value("${sql.tracking.response-headers:false}") boolean exposeHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.repeatThreshold = repeatThreshold;
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    boolean isExposeHeaders() {
+        return exposeHeaders;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStats stats = SqlStatementTracker.capture()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                // Handlers with no body never reach SqlStatsResponseAdvice
+                if (exposeHeaders && !response.isCommitted()) {
+                    writeHeaders(response, stats);
+                }
+                record(request, stats);
+            }
+        }
+    }
+
+    static void writeHeaders(HttpServletResponse response, SqlStats stats) {
+        response.setHeader(HEADER_STATEMENTS, String.valueOf(stats.getStatements()));
+        response.setHeader(HEADER_ROWS, String.valueOf(stats.getRows()));
+        response.setHeader(HEADER_TIME, String.valueOf(stats.getDbTimeMillis()));
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        String method = request.getMethod();
+
+        DistributionSummary.builder("app.request.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("app.request.sql.rows")
+                .description("Rows read or affected per HTTP request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("app.request.sql.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getDbTimeMillis(), TimeUnit.MILLISECONDS);
+
+        Map<String, Integer> repeated = stats.getRepeatedShapes(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("app.request.sql.repeated")
+                    .description("Requests that repeated one statement shape above the N+1 threshold")
+                    .tags("uri", uri, "method", method)
+                    .register(meterRegistry)
+                    .increment();
+            repeated.forEach((shape, count) ->
+                    logger.warn("Possible N+1 in {} {}: statement executed {} times: {}", method, uri, count, shape));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.arogith.api.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link TrackingDataSource} unless both
+ * sql.tracking.enabled and sql.slow-log.enabled are false.
+ */
+@Component
+public class SqlTrackingPostProcessor implements BeanPostProcessor {
+
+    private final boolean enabled;
+    // Looked up lazily: resolving beans while post-processors are being created would opt them out of post-processing
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public SqlTrackingPostProcessor(@Value("${sql.tracking.enabled:true}") boolean enabled,
+                                    ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.enabled = enabled;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof TrackingDataSource)) {
+            SlowQueryLog log = slowQueryLog.getIfAvailable();
+            if (enabled || (log != null && log.isEnabled())) {
+                return new TrackingDataSource((DataSource) bean, log);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,206 @@
+package com.arogith.api.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Wraps the pool so every statement executed through it - Hibernate, Spring Data and
+ * JdbcTemplate alike - is reported to {@link SqlStatementTracker}: execution time and
+ * affected rows per execute call, plus one row per ResultSet.next(). When a
+ * {@link SlowQueryLog} is given, bound parameters are captured and every execute call
+ * is offered to it as well. Extends DelegatingDataSource so Boot still finds the Hikari
+ * pool behind it for metrics.
+ */
+public class TrackingDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader LOADER = TrackingDataSource.class.getClassLoader();
+
+    private final SlowQueryLog slowQueryLog;
+
+    public TrackingDataSource(DataSource target) {
+        this(target, null);
+    }
+
+    public TrackingDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog != null && slowQueryLog.isEnabled() ? slowQueryLog : null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection target = super.getConnection();
+        return wrap(Connection.class, target, new ConnectionHandler(target, slowQueryLog));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection target = super.getConnection(username, password);
+        return wrap(Connection.class, target, new ConnectionHandler(target, slowQueryLog));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        if (target == null) {
+            return null;
+        }
+        return (T) Proxy.newProxyInstance(LOADER, new Class<?>[] {type}, handler);
+    }
+
+    // Proxies are compared by identity: Hibernate keys statements and result sets in hash maps
+    private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final SlowQueryLog slowQueryLog;
+
+        ConnectionHandler(Connection target, SlowQueryLog slowQueryLog) {
+            this.target = target;
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TrackingDataSource.invoke(target, proxy, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return wrap(PreparedStatement.class, (PreparedStatement) result,
+                            new StatementHandler(result, (String) args[0], slowQueryLog));
+                case "prepareCall":
+                    return wrap(CallableStatement.class, (CallableStatement) result,
+                            new StatementHandler(result, (String) args[0], slowQueryLog));
+                case "createStatement":
+                    return wrap(Statement.class, (Statement) result, new StatementHandler(result, null, slowQueryLog));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Object target;
+        private final String preparedSql;
+        private final SlowQueryLog slowQueryLog;
+        // Values of the current parameter set by placeholder index - 1 (kept only for the slow-query log)
+        private Object[] parameters;
+        private int parameterCount;
+        private int batchSize;
+
+        StatementHandler(Object target, String preparedSql, SlowQueryLog slowQueryLog) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = TrackingDataSource.invoke(target, proxy, method, args);
+                if (slowQueryLog != null) {
+                    trackParameters(name, args);
+                }
+                return "getResultSet".equals(name) ? wrapResultSet((ResultSet) result) : result;
+            }
+            // execute(String) on a plain Statement carries its own SQL and no bound parameters
+            boolean direct = args != null && args.length > 0 && args[0] instanceof String;
+            String sql = direct ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = TrackingDataSource.invoke(target, proxy, method, args);
+                return result instanceof ResultSet ? wrapResultSet((ResultSet) result) : result;
+            } finally {
+                long nanos = System.nanoTime() - start;
+                long rows = affectedRows(result);
+                SqlStatementTracker.recordStatement(sql, nanos, rows);
+                if (slowQueryLog != null) {
+                    boolean batch = "executeBatch".equals(name) || "executeLargeBatch".equals(name);
+                    slowQueryLog.record(sql, nanos, rows, batch ? batchSize : 1,
+                            direct ? null : parameters, direct ? 0 : parameterCount);
+                    if (batch) {
+                        batchSize = 0;
+                    }
+                }
+            }
+        }
+
+        // setXxx(int index, value, ...) records the value; the last row of a batch stands for the batch
+        private void trackParameters(String name, Object[] args) {
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                int index = (Integer) args[0] - 1;
+                if (index < 0) {
+                    return;
+                }
+                if (parameters == null || index >= parameters.length) {
+                    Object[] grown = new Object[Math.max(index + 1, parameters == null ? 8 : parameters.length * 2)];
+                    if (parameters != null) {
+                        System.arraycopy(parameters, 0, grown, 0, parameterCount);
+                    }
+                    parameters = grown;
+                }
+                parameters[index] = name.equals("setNull") ? null : args[1];
+                parameterCount = Math.max(parameterCount, index + 1);
+            } else if ("clearParameters".equals(name)) {
+                if (parameters != null) {
+                    Arrays.fill(parameters, 0, parameterCount, null);
+                }
+                parameterCount = 0;
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+            } else if ("clearBatch".equals(name)) {
+                batchSize = 0;
+            }
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return ((Number) result).longValue();
+            }
+            long total = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    total += Math.max(0, count);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    total += Math.max(0, count);
+                }
+            }
+            return total;
+        }
+
+        private static ResultSet wrapResultSet(ResultSet target) {
+            return wrap(ResultSet.class, target, (proxy, method, args) -> {
+                Object result = TrackingDataSource.invoke(target, proxy, method, args);
+                if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                    SqlStatementTracker.recordRow();
+                }
+                return result;
+            });
+        }
+    }
+}
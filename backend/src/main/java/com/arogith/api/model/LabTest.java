@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -49,4 +50,20 @@ public class LabTest {
     
     @Column(name = "result_updated_at")
     private LocalDateTime resultUpdatedAt;
+    
+    // Structured result, derived from result / reference_range on every write
+    @Column(name = "result_value")
+    private BigDecimal resultValue;
+    
+    @Column(name = "result_unit", length = 20)
+    private String resultUnit;
+    
+    @Column(name = "ref_low")
+    private BigDecimal refLow;
+    
+    @Column(name = "ref_high")
+    private BigDecimal refHigh;
+    
+    @Column(name = "abnormal_flag", length = 2)
+    private String abnormalFlag;
 } 
\ No newline at end of file
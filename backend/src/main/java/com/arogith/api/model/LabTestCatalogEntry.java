@@ -0,0 +1,51 @@
+package com.arogith.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "lab_test_catalog")
+public class LabTestCatalogEntry {
+    
+    @Id
+    @Column(name = "code", length = 30)
+    private String code;
+    
+    @Column(name = "name", nullable = false, unique = true, length = 100)
+    private String name;
+    
+    @Column(name = "panel", length = 100)
+    private String panel;
+    
+    // Comma separated alternative names used to resolve free-text orders
+    @Column(name = "aliases", length = 255)
+    private String aliases;
+    
+    @Column(name = "unit", length = 20)
+    private String unit;
+    
+    @Column(name = "ref_low")
+    private BigDecimal refLow;
+    
+    @Column(name = "ref_high")
+    private BigDecimal refHigh;
+    
+    @Column(name = "critical_low")
+    private BigDecimal criticalLow;
+    
+    @Column(name = "critical_high")
+    private BigDecimal criticalHigh;
+    
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -4,13 +4,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 
+// The photo column is mapped by PatientPhoto so the cached entry stays small
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "patients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patient")
 public class Patient {
     
     @Id
@@ -22,10 +27,6 @@ public class Patient {
     @Column(name = "patient_id")
     private String patientId;
     
-    @Lob
-    @Column(columnDefinition = "bytea")
-    private byte[] photo;
-    
     @Column(nullable = false, length = 50)
     private String surname;
     
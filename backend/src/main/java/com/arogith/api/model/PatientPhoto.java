@@ -0,0 +1,35 @@
+package com.arogith.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLInsert;
+
+/**
+ * The photo column of a patients row, mapped apart from Patient so photos get their own,
+ * smaller cache region. The row always exists already (the Patient insert creates it),
+ * so persisting a photo updates it and deleting one clears it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "patients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patient-photo")
+@SQLInsert(sql = "UPDATE patients SET photo = ? WHERE patient_id = ?")
+@SQLDelete(sql = "UPDATE patients SET photo = NULL WHERE patient_id = ?")
+public class PatientPhoto {
+
+    @Id
+    @Column(name = "patient_id")
+    private String patientId;
+
+    // Plain bytea; @Lob would bind it as a large object OID
+    @Column(name = "photo", columnDefinition = "bytea")
+    private byte[] photo;
+}
@@ -67,6 +67,10 @@ public class Visit {
     @Column(name = "visit_date")
     private LocalDateTime visitDate;
     
+    // Department the visit is counted under in the workload rollup; see VisitWorkloadService
+    @Column(name = "workload_department", length = 100)
+    private String workloadDepartment;
+    
     @OneToMany(mappedBy = "visit", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<LabTest> labTests = new ArrayList<>();
 } 
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.arogith.api.outbox;
+
+import com.arogith.api.dto.ChangeEventDTO;
+import com.arogith.api.dto.OutboxSinkDTO;
+import com.arogith.api.repository.OutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves committed change events from the outbox to every {@link OutboxSink}.
+ *
+ * Each run first sequences newly committed events: they get the next stream positions in
+ * event_id order under an advisory lock, so only one instance sequences at a time and a
+ * position is never handed out below one a reader has already seen. Each sink then reads on
+ * from its own cursor in batches; the cursor moves in the same transaction that locked it,
+ * and only after the sink accepted the batch. A failed batch is retried with backoff from
+ * the same cursor, which keeps per-aggregate order and gives at-least-once delivery.
+ * Rewinding a cursor replays the stream to that sink.
+ */
+@Component
+public class OutboxRelay implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, SinkState> sinks = new LinkedHashMap<>();
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long retryBackoffMs;
+    private final int retentionDays;
+    private final LongAdder sequenced = new LongAdder();
+    private volatile long headPosition;
+    private volatile boolean cursorsCreated;
+
+    public OutboxRelay(OutboxRepository outboxRepository, PlatformTransactionManager transactionManager,
+                       ObjectProvider<OutboxSink> sinks,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:10}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.retry-backoff-ms:1000}") long retryBackoffMs,
+                       @Value("${outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        sinks.orderedStream().forEach(sink -> this.sinks.put(sink.getName(), new SinkState(sink)));
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+        this.retentionDays = retentionDays;
+        logger.info("Outbox relay {} with sinks {}", enabled ? "enabled" : "disabled", this.sinks.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!cursorsCreated) {
+                sinks.keySet().forEach(outboxRepository::createCursor);
+                cursorsCreated = true;
+            }
+            sequence();
+            for (SinkState state : sinks.values()) {
+                deliver(state);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Outbox relay run failed: {}", e.getMessage());
+        }
+    }
+
+    // Delivered events older than outbox.retention-days; the rest stay available for replay
+    @Scheduled(initialDelayString = "${outbox.retention.sweep-interval-ms:3600000}",
+               fixedDelayString = "${outbox.retention.sweep-interval-ms:3600000}")
+    public void purge() {
+        if (!enabled || retentionDays <= 0) {
+            return;
+        }
+        try {
+            Map<String, Long> cursors = outboxRepository.findCursors();
+            // Only sinks configured now hold events back; without sinks the age limit alone applies
+            long delivered = sinks.keySet().stream()
+                    .mapToLong(name -> cursors.getOrDefault(name, 0L))
+                    .min()
+                    .orElse(Long.MAX_VALUE);
+            int deleted = outboxRepository.deleteDelivered(delivered, LocalDateTime.now().minusDays(retentionDays));
+            if (deleted > 0) {
+                logger.info("Purged {} delivered outbox events older than {} days", deleted, retentionDays);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    public List<OutboxSinkDTO> getSinks() {
+        Map<String, Long> cursors = outboxRepository.findCursors();
+        long head = outboxRepository.findHeadPosition();
+        List<OutboxSinkDTO> result = new ArrayList<>();
+        for (SinkState state : sinks.values()) {
+            result.add(state.toDTO(cursors.getOrDefault(state.name, 0L), head));
+        }
+        return result;
+    }
+
+    // Moves a sink's cursor back (or forward) so delivery resumes after the given position
+    public Optional<OutboxSinkDTO> moveCursor(String name, long position) {
+        SinkState state = sinks.get(name);
+        if (state == null) {
+            return Optional.empty();
+        }
+        long head = outboxRepository.findHeadPosition();
+        if (position < 0 || position > head) {
+            throw new IllegalArgumentException("position must be between 0 and " + head);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.createCursor(name);
+            // Waits for a delivery in progress, which holds the row, so that one cannot overwrite it
+            outboxRepository.saveCursor(name, position);
+        });
+        state.position = position;
+        state.retryAt = 0;
+        logger.info("Outbox sink {} cursor moved to {}", name, position);
+        return Optional.of(state.toDTO(position, head));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("app.outbox.sequenced", sequenced, LongAdder::sum)
+                .description("Committed change events given a stream position")
+                .register(registry);
+        for (SinkState state : sinks.values()) {
+            FunctionCounter.builder("app.outbox.delivered", state.delivered, LongAdder::sum)
+                    .description("Change events accepted by the sink")
+                    .tag("sink", state.name)
+                    .register(registry);
+            FunctionCounter.builder("app.outbox.delivery.failures", state.failures, LongAdder::sum)
+                    .description("Batches the sink failed to accept")
+                    .tag("sink", state.name)
+                    .register(registry);
+            Gauge.builder("app.outbox.sink.lag", state, s -> Math.max(0, headPosition - s.position))
+                    .description("Sequenced change events the sink has not accepted yet")
+                    .tag("sink", state.name)
+                    .register(registry);
+        }
+    }
+
+    private void sequence() {
+        long total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer count = transactionTemplate.execute(status -> outboxRepository.sequence(batchSize));
+            total += count != null ? count : 0;
+            if (count == null || count < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            sequenced.add(total);
+        }
+        headPosition = outboxRepository.findHeadPosition();
+    }
+
+    private void deliver(SinkState state) {
+        if (System.currentTimeMillis() < state.retryAt) {
+            return;
+        }
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer count = transactionTemplate.execute(status -> deliverBatch(state));
+            if (count == null || count < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // The cursor row stays locked while the batch is sent, so another instance skips this sink
+    private int deliverBatch(SinkState state) {
+        Optional<Long> cursor = outboxRepository.lockCursor(state.name);
+        if (cursor.isEmpty()) {
+            return 0;
+        }
+        state.position = cursor.get();
+        List<ChangeEventDTO> events = outboxRepository.findAfter(cursor.get(), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            state.sink.publish(events);
+        } catch (IOException | RuntimeException e) {
+            state.failed(e, retryBackoffMs);
+            return 0;
+        }
+        long last = events.get(events.size() - 1).getPosition();
+        outboxRepository.saveCursor(state.name, last);
+        state.delivered(events.size(), last);
+        return events.size();
+    }
+
+    private static class SinkState {
+        private final String name;
+        private final OutboxSink sink;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private volatile long position;
+        private volatile long retryAt;
+        private volatile int consecutiveFailures;
+        private volatile LocalDateTime lastDeliveredAt;
+        private volatile String lastError;
+
+        SinkState(OutboxSink sink) {
+            this.name = sink.getName();
+            this.sink = sink;
+        }
+
+        void delivered(int count, long position) {
+            if (consecutiveFailures > 0) {
+                logger.info("Outbox sink {} recovered after {} failed attempts", name, consecutiveFailures);
+            }
+            delivered.add(count);
+            this.position = position;
+            consecutiveFailures = 0;
+            lastDeliveredAt = LocalDateTime.now();
+            lastError = null;
+        }
+
+        // Doubles the wait after every consecutive failure, up to a minute
+        void failed(Exception e, long backoffMs) {
+            failures.increment();
+            int attempts = ++consecutiveFailures;
+            long wait = Math.min(MAX_BACKOFF_MS, backoffMs << Math.min(attempts - 1, 16));
+            retryAt = System.currentTimeMillis() + wait;
+            lastError = e.getMessage();
+            logger.warn("Outbox sink {} failed to accept events after position {} (attempt {}, retrying in {} ms): {}",
+                    name, position, attempts, wait, e.getMessage());
+        }
+
+        OutboxSinkDTO toDTO(long cursor, long head) {
+            return new OutboxSinkDTO(name, cursor, Math.max(0, head - cursor), delivered.sum(), failures.sum(),
+                    lastDeliveredAt, lastError);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.arogith.api.outbox;
+
+import com.arogith.api.dto.ChangeEventDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A destination for the change event stream. Every sink bean is picked up by OutboxRelay
+ * and gets its own cursor, so a slow or failing sink never holds up the others.
+ */
+public interface OutboxSink {
+
+    // Stable name; keys the sink's cursor row, so renaming a sink replays the stream to it
+    String getName();
+
+    // Deliver a batch in stream order. Return only once the whole batch is accepted; on an
+    // exception the same batch is offered again later, so receivers must de-duplicate by eventId
+    void publish(List<ChangeEventDTO> events) throws IOException;
+}
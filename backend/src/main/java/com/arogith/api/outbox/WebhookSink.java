@@ -0,0 +1,65 @@
+package com.arogith.api.outbox;
+
+import com.arogith.api.dto.ChangeEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to outbox.sink.webhook.url. Any 2xx answer acknowledges
+ * the batch; anything else, or a timeout, has it sent again. The first and last stream
+ * positions travel in headers so a receiver can spot replays without parsing the body.
+ */
+@Component
+@ConditionalOnExpression("!'${outbox.sink.webhook.url:}'.isBlank()")
+public class WebhookSink implements OutboxSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+
+    public WebhookSink(@Value("${outbox.sink.webhook.url}") String url,
+                       @Value("${outbox.sink.webhook.timeout-ms:5000}") long timeoutMs,
+                       ObjectMapper objectMapper) {
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("X-Outbox-First-Position", String.valueOf(events.get(0).getPosition()))
+                .header("X-Outbox-Last-Position", String.valueOf(events.get(events.size() - 1).getPosition()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(events)))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while posting to " + url, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(url + " answered " + response.statusCode());
+        }
+    }
+}
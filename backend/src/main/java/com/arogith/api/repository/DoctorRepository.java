@@ -8,6 +8,8 @@ import java.util.Optional;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, String> {
+    // Same row as findById, but as a query it always goes to the database; findById is
+    // served from the second-level cache
     Optional<Doctor> findByDoctorId(String doctorId);
     Optional<Doctor> findByEmail(String email);
     boolean existsByDoctorId(String doctorId);
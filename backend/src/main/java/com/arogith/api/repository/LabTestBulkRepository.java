@@ -0,0 +1,40 @@
+package com.arogith.api.repository;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based lab result writes that bypass per-entity load / save.
+ * Implemented with plain JDBC in {@link LabTestBulkRepositoryImpl}.
+ */
+public interface LabTestBulkRepository {
+    
+    // Lock the rows (SELECT ... FOR UPDATE) and return their current values keyed by test ID
+    Map<Long, ResultRow> lockForResultUpdate(Collection<Long> testIds);
+    
+    // Apply all rows with UPDATE ... FROM (VALUES ...); returns the number of rows updated
+    int applyResultUpdates(List<ResultRow> rows, LocalDateTime changedAt);
+    
+    @Data
+    class ResultRow {
+        private Long testId;
+        private Long visitId;
+        private String patientId;
+        private String doctorId;
+        private String testName;
+        private String result;
+        private String referenceRange;
+        private String status;
+        private BigDecimal resultValue;
+        private String resultUnit;
+        private BigDecimal refLow;
+        private BigDecimal refHigh;
+        private String abnormalFlag;
+        private LocalDateTime resultUpdatedAt;
+        private boolean resultChanged;
+    }
+}
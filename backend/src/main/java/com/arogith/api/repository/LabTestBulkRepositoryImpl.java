@@ -0,0 +1,111 @@
+package com.arogith.api.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link LabTestBulkRepository}, picked up by Spring Data as a
+ * fragment of {@link LabTestRepository}. Runs inside the caller's transaction.
+ */
+public class LabTestBulkRepositoryImpl implements LabTestBulkRepository {
+
+    // 10 bind parameters per row keeps a chunk well below PostgreSQL's 65535 parameter limit
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public LabTestBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<Long, ResultRow> lockForResultUpdate(Collection<Long> testIds) {
+        Map<Long, ResultRow> rows = new HashMap<>();
+        if (testIds.isEmpty()) {
+            return rows;
+        }
+        String sql =
+            "SELECT t.test_id, t.visit_id, t.patient_id, v.doctor_id, t.test_name, t.result, " +
+            "t.reference_range, t.status, t.result_updated_at " +
+            "FROM labtests t LEFT JOIN visits v ON v.visit_id = t.visit_id " +
+            "WHERE t.test_id = ANY(?) " +
+            "FOR UPDATE OF t";
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            Array ids = con.createArrayOf("bigint", testIds.toArray());
+            ps.setArray(1, ids);
+            return ps;
+        }, rs -> {
+            ResultRow row = new ResultRow();
+            row.setTestId(rs.getLong("test_id"));
+            long visitId = rs.getLong("visit_id");
+            row.setVisitId(rs.wasNull() ? null : visitId);
+            row.setPatientId(rs.getString("patient_id"));
+            row.setDoctorId(rs.getString("doctor_id"));
+            row.setTestName(rs.getString("test_name"));
+            row.setResult(rs.getString("result"));
+            row.setReferenceRange(rs.getString("reference_range"));
+            row.setStatus(rs.getString("status"));
+            Timestamp resultUpdatedAt = rs.getTimestamp("result_updated_at");
+            row.setResultUpdatedAt(resultUpdatedAt != null ? resultUpdatedAt.toLocalDateTime() : null);
+            rows.put(row.getTestId(), row);
+        });
+        return rows;
+    }
+
+    @Override
+    public int applyResultUpdates(List<ResultRow> rows, LocalDateTime changedAt) {
+        int updated = 0;
+        Timestamp changedAtTs = Timestamp.valueOf(changedAt);
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<ResultRow> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            StringBuilder sql = new StringBuilder(
+                "UPDATE labtests AS t SET " +
+                "result = v.result, " +
+                "status = v.status, " +
+                "result_value = v.result_value, " +
+                "result_unit = v.result_unit, " +
+                "ref_low = v.ref_low, " +
+                "ref_high = v.ref_high, " +
+                "abnormal_flag = v.abnormal_flag, " +
+                // Only stamp result_updated_at when the result text actually changed
+                "result_updated_at = CASE WHEN v.result_changed THEN v.changed_at ELSE t.result_updated_at END " +
+                "FROM (VALUES ");
+            List<Object> params = new ArrayList<>(chunk.size() * 10);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append("(CAST(? AS bigint), CAST(? AS varchar), CAST(? AS varchar), CAST(? AS numeric), " +
+                           "CAST(? AS varchar), CAST(? AS numeric), CAST(? AS numeric), CAST(? AS varchar), " +
+                           "CAST(? AS boolean), CAST(? AS timestamp))");
+                ResultRow row = chunk.get(i);
+                params.add(row.getTestId());
+                params.add(row.getResult());
+                params.add(row.getStatus());
+                params.add(row.getResultValue());
+                params.add(row.getResultUnit());
+                params.add(row.getRefLow());
+                params.add(row.getRefHigh());
+                params.add(row.getAbnormalFlag());
+                params.add(row.isResultChanged());
+                params.add(changedAtTs);
+            }
+            sql.append(") AS v(test_id, result, status, result_value, result_unit, ref_low, ref_high, " +
+                       "abnormal_flag, result_changed, changed_at) " +
+                       "WHERE t.test_id = v.test_id");
+            updated += jdbcTemplate.update(sql.toString(), params.toArray());
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,13 @@
+package com.arogith.api.repository;
+
+import com.arogith.api.model.LabTestCatalogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface LabTestCatalogRepository extends JpaRepository<LabTestCatalogEntry, String> {
+    
+    // Only active entries are loaded into the in-memory catalog
+    List<LabTestCatalogEntry> findByActiveTrue();
+}
@@ -5,10 +5,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface LabTestRepository extends JpaRepository<LabTest, Long> {
+public interface LabTestRepository extends JpaRepository<LabTest, Long>, LabTestBulkRepository {
     
     // Find lab tests by visit ID using the property name directly
     List<LabTest> findByVisitId(Long visitId);
@@ -44,4 +46,81 @@ public interface LabTestRepository extends JpaRepository<LabTest, Long> {
     
     // Original method (keeping for compatibility)
     List<LabTest> findByVisitVisitId(Long visitId);
-} 
\ No newline at end of file
+    
+    // Pending / in-progress worklist, oldest first, keyset-paginated on (test_given_at, test_id).
+    // The status predicate must match idx_labtests_worklist exactly so the partial index is used.
+    @Query(value = 
+        "SELECT t.* FROM labtests t " +
+        "WHERE lower(t.status) IN ('pending', 'in progress') " +
+        "AND (CAST(:testName AS text) IS NULL OR t.test_name = CAST(:testName AS text)) " +
+        "AND (CAST(:fromTime AS timestamp) IS NULL OR t.test_given_at >= CAST(:fromTime AS timestamp)) " +
+        "AND (CAST(:toTime AS timestamp) IS NULL OR t.test_given_at < CAST(:toTime AS timestamp)) " +
+        "AND (CAST(:afterGivenAt AS timestamp) IS NULL " +
+        "     OR (t.test_given_at, t.test_id) > (CAST(:afterGivenAt AS timestamp), CAST(:afterTestId AS bigint))) " +
+        "ORDER BY t.test_given_at, t.test_id " +
+        "LIMIT :limit", 
+        nativeQuery = true)
+    List<LabTest> findPendingWorklist(@Param("testName") String testName,
+                                      @Param("fromTime") LocalDateTime fromTime,
+                                      @Param("toTime") LocalDateTime toTime,
+                                      @Param("afterGivenAt") LocalDateTime afterGivenAt,
+                                      @Param("afterTestId") Long afterTestId,
+                                      @Param("limit") int limit);
+    
+    // Per test name counts over the same open backlog (ignores the cursor and test name filter)
+    @Query(value = 
+        "SELECT t.test_name AS testName, COUNT(*) AS count FROM labtests t " +
+        "WHERE lower(t.status) IN ('pending', 'in progress') " +
+        "AND (CAST(:fromTime AS timestamp) IS NULL OR t.test_given_at >= CAST(:fromTime AS timestamp)) " +
+        "AND (CAST(:toTime AS timestamp) IS NULL OR t.test_given_at < CAST(:toTime AS timestamp)) " +
+        "GROUP BY t.test_name " +
+        "ORDER BY t.test_name", 
+        nativeQuery = true)
+    List<TestNameCount> countPendingByTestName(@Param("fromTime") LocalDateTime fromTime,
+                                               @Param("toTime") LocalDateTime toTime);
+    
+    // Abnormal results recorded in [fromTime, toTime) - served by idx_labtests_abnormal_by_day
+    @Query(value = 
+        "SELECT t.* FROM labtests t " +
+        "WHERE t.abnormal_flag <> 'N' " +
+        "AND t.result_updated_at >= :fromTime AND t.result_updated_at < :toTime " +
+        "ORDER BY t.result_updated_at", 
+        nativeQuery = true)
+    List<LabTest> findAbnormalBetween(@Param("fromTime") LocalDateTime fromTime,
+                                      @Param("toTime") LocalDateTime toTime);
+    
+    // Abnormal results of one patient, newest first - served by idx_labtests_abnormal_by_patient
+    @Query(value = 
+        "SELECT t.* FROM labtests t " +
+        "WHERE t.abnormal_flag <> 'N' AND t.patient_id = :patientId " +
+        "ORDER BY t.result_updated_at DESC", 
+        nativeQuery = true)
+    List<LabTest> findAbnormalByPatientId(@Param("patientId") String patientId);
+    
+    // Numeric series of one analyte for a patient - served by idx_labtests_patient_test_time
+    @Query("SELECT lt.testId AS testId, lt.visitId AS visitId, lt.testGivenAt AS testGivenAt, " +
+           "lt.resultValue AS resultValue, lt.resultUnit AS resultUnit, lt.refLow AS refLow, " +
+           "lt.refHigh AS refHigh, lt.abnormalFlag AS abnormalFlag " +
+           "FROM LabTest lt " +
+           "WHERE lt.patientId = :patientId AND lt.testName = :testName " +
+           "AND lt.testGivenAt IS NOT NULL AND lt.resultValue IS NOT NULL " +
+           "ORDER BY lt.testGivenAt, lt.testId")
+    List<SeriesPoint> findSeriesByPatientIdAndTestName(@Param("patientId") String patientId,
+                                                       @Param("testName") String testName);
+    
+    interface SeriesPoint {
+        Long getTestId();
+        Long getVisitId();
+        LocalDateTime getTestGivenAt();
+        BigDecimal getResultValue();
+        String getResultUnit();
+        BigDecimal getRefLow();
+        BigDecimal getRefHigh();
+        String getAbnormalFlag();
+    }
+    
+    interface TestNameCount {
+        String getTestName();
+        Long getCount();
+    }
+}
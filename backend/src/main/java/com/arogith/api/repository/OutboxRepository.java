@@ -0,0 +1,127 @@
+package com.arogith.api.repository;
+
+import com.arogith.api.dto.ChangeEventDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC access to the outbox_events stream and the per-sink cursors (V13). Events are
+ * appended in the writer's transaction; stream positions are assigned later by the relay.
+ */
+@Repository
+public class OutboxRepository {
+
+    // Held by whichever instance is sequencing; the value only has to be unique to this use
+    private static final long SEQUENCER_LOCK = 0x6f7574626f78L;
+
+    private static final String APPEND =
+        "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload) " +
+        "VALUES (?, ?, ?, CAST(? AS jsonb))";
+
+    private static final String SEQUENCE =
+        "WITH head AS (SELECT COALESCE(MAX(stream_position), 0) AS position FROM outbox_events), " +
+        "next AS (SELECT event_id, row_number() OVER (ORDER BY event_id) AS n FROM outbox_events " +
+        "WHERE stream_position IS NULL ORDER BY event_id LIMIT ?) " +
+        "UPDATE outbox_events e SET stream_position = head.position + next.n " +
+        "FROM next, head WHERE e.event_id = next.event_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(String aggregateType, String aggregateId, String eventType, String payload) {
+        jdbcTemplate.update(APPEND, aggregateType, aggregateId, eventType, payload);
+    }
+
+    // One event per entry of payloadsById, sent as a single JDBC batch; event_ids follow the map's order
+    public void appendAll(String aggregateType, String eventType, Map<String, String> payloadsById) {
+        if (payloadsById.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(payloadsById.size());
+        payloadsById.forEach((id, payload) -> args.add(new Object[] {aggregateType, id, eventType, payload}));
+        jdbcTemplate.batchUpdate(APPEND, args);
+    }
+
+    // Gives up to limit committed events the next stream positions, in event_id order.
+    // Must run in a transaction; returns 0 while another instance is sequencing
+    public int sequence(int limit) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                SEQUENCER_LOCK);
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0;
+        }
+        return jdbcTemplate.update(SEQUENCE, limit);
+    }
+
+    public long findHeadPosition() {
+        Long head = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(stream_position), 0) FROM outbox_events", Long.class);
+        return head != null ? head : 0;
+    }
+
+    public List<ChangeEventDTO> findAfter(long position, int limit) {
+        return jdbcTemplate.query(
+            "SELECT stream_position, event_id, event_type, aggregate_type, aggregate_id, created_at, " +
+            "payload::text AS payload FROM outbox_events " +
+            "WHERE stream_position > ? ORDER BY stream_position LIMIT ?",
+            (rs, i) -> new ChangeEventDTO(
+                rs.getLong("stream_position"),
+                rs.getLong("event_id"),
+                rs.getString("event_type"),
+                rs.getString("aggregate_type"),
+                rs.getString("aggregate_id"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getString("payload")),
+            position, limit);
+    }
+
+    // A new sink starts from the oldest retained event
+    public void createCursor(String sink) {
+        jdbcTemplate.update(
+            "INSERT INTO outbox_sink_cursors (sink, stream_position) VALUES (?, 0) ON CONFLICT (sink) DO NOTHING",
+            sink);
+    }
+
+    // Locks the sink's cursor row until the transaction ends; empty while another instance holds it
+    public Optional<Long> lockCursor(String sink) {
+        return jdbcTemplate.queryForList(
+            "SELECT stream_position FROM outbox_sink_cursors WHERE sink = ? FOR UPDATE SKIP LOCKED",
+            Long.class, sink).stream().findFirst();
+    }
+
+    public Map<String, Long> findCursors() {
+        Map<String, Long> cursors = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT sink, stream_position FROM outbox_sink_cursors ORDER BY sink",
+            rs -> {
+                cursors.put(rs.getString("sink"), rs.getLong("stream_position"));
+            });
+        return cursors;
+    }
+
+    public int saveCursor(String sink, long position) {
+        return jdbcTemplate.update(
+            "UPDATE outbox_sink_cursors SET stream_position = ?, updated_at = now() WHERE sink = ?",
+            position, sink);
+    }
+
+    // The newest sequenced event is always kept so MAX(stream_position) never goes backwards
+    public int deleteDelivered(long upToPosition, LocalDateTime createdBefore) {
+        return jdbcTemplate.update(
+            "DELETE FROM outbox_events WHERE stream_position <= ? AND created_at < ? " +
+            "AND stream_position < (SELECT MAX(stream_position) FROM outbox_events)",
+            upToPosition, Timestamp.valueOf(createdBefore));
+    }
+}
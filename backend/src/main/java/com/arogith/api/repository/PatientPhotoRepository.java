@@ -0,0 +1,19 @@
+package com.arogith.api.repository;
+
+import com.arogith.api.model.PatientPhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PatientPhotoRepository extends JpaRepository<PatientPhoto, String> {
+
+    // [patientId, photo] for the ids that have a photo. Scalar rows, so list reads do not
+    // push every photo through the patient-photo cache region
+    @Query("SELECT p.patientId, p.photo FROM PatientPhoto p WHERE p.patientId IN :patientIds AND p.photo IS NOT NULL")
+    List<Object[]> findPhotos(@Param("patientIds") Collection<String> patientIds);
+}
@@ -0,0 +1,116 @@
+package com.arogith.api.repository;
+
+import com.arogith.api.cache.ResourceVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fingerprints of the rows behind each versioned resource, read from the row_version and
+ * updated_at columns only (V12). Each fingerprint must cover every table its DTO is built
+ * from: a visit includes its doctor (for doctorName) and its lab tests, a patient includes
+ * the latest visit it summarizes. REPRESENTATION is part of every fingerprint; bump it when
+ * a DTO's JSON shape changes so clients do not keep old-format copies.
+ */
+@Repository
+public class ResourceVersionRepository {
+
+    private static final String REPRESENTATION = "1";
+
+    private static final String PATIENT =
+        "SELECT md5(? || ':' || p.patient_id || ':' || p.row_version || ':' || " +
+        "COALESCE(lv.visit_id || ':' || lv.row_version, '')) AS fingerprint, " +
+        "GREATEST(p.updated_at, lv.updated_at) AS last_modified, 1 AS row_count " +
+        "FROM patients p " +
+        // Same choice of latest visit as VisitRepository.findLatestVisitsByPatientId
+        "LEFT JOIN LATERAL (SELECT visit_id, row_version, updated_at FROM visits " +
+        "WHERE patient_id = p.patient_id ORDER BY visit_date DESC LIMIT 1) lv ON true " +
+        "WHERE p.patient_id = ?";
+
+    private static final String VISITS =
+        "SELECT md5(? || ':' || COALESCE(string_agg(v.visit_id || ':' || v.row_version || ':' || " +
+        "COALESCE(d.row_version, -1) || ':' || COALESCE(l.versions, ''), ',' ORDER BY v.visit_id), '')) AS fingerprint, " +
+        "GREATEST(MAX(v.updated_at), MAX(d.updated_at), MAX(l.updated_at)) AS last_modified, " +
+        "COUNT(*) AS row_count " +
+        "FROM visits v " +
+        "LEFT JOIN doctor d ON d.doctor_id = v.doctor_id " +
+        "LEFT JOIN LATERAL (SELECT string_agg(t.test_id || ':' || t.row_version, ',' ORDER BY t.test_id) AS versions, " +
+        "MAX(t.updated_at) AS updated_at FROM labtests t WHERE t.visit_id = v.visit_id) l ON true " +
+        "WHERE ";
+
+    private static final String LAB_TESTS =
+        "SELECT md5(? || ':' || COALESCE(string_agg(t.test_id || ':' || t.row_version, ',' ORDER BY t.test_id), '')) " +
+        "AS fingerprint, MAX(t.updated_at) AS last_modified, COUNT(*) AS row_count " +
+        "FROM labtests t WHERE ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ResourceVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<ResourceVersion> findPatient(String patientId) {
+        return single(PATIENT, patientId);
+    }
+
+    public Optional<ResourceVersion> findVisit(Long visitId) {
+        return single(VISITS + "v.visit_id = ?", visitId);
+    }
+
+    public ResourceVersion findVisitsByPatient(String patientId) {
+        return list(VISITS + "v.patient_id = ?", patientId);
+    }
+
+    // Same day filters as VisitRepository.findTodayVisits / findYesterdayVisits
+    public ResourceVersion findTodayVisits() {
+        return list(VISITS + "CAST(v.visit_date AS DATE) = CURRENT_DATE");
+    }
+
+    public ResourceVersion findYesterdayVisits() {
+        return list(VISITS + "CAST(v.visit_date AS DATE) = CURRENT_DATE - INTERVAL '1 day'");
+    }
+
+    public Optional<ResourceVersion> findLabTest(Long testId) {
+        return single(LAB_TESTS + "t.test_id = ?", testId);
+    }
+
+    public ResourceVersion findLabTestsByVisit(Long visitId) {
+        return list(LAB_TESTS + "t.visit_id = ?", visitId);
+    }
+
+    // Empty when the row does not exist, so the caller falls through to its usual 404 handling
+    private Optional<ResourceVersion> single(String sql, Object... args) {
+        List<Row> rows = query(sql, args);
+        return rows.isEmpty() || rows.get(0).count == 0 ? Optional.empty() : Optional.of(rows.get(0).version);
+    }
+
+    private ResourceVersion list(String sql, Object... args) {
+        return query(sql, args).get(0).version;
+    }
+
+    private List<Row> query(String sql, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        params[0] = REPRESENTATION;
+        System.arraycopy(args, 0, params, 1, args.length);
+        return jdbcTemplate.query(sql, (rs, i) -> {
+            Timestamp lastModified = rs.getTimestamp("last_modified");
+            return new Row(new ResourceVersion(rs.getString("fingerprint"),
+                    lastModified != null ? lastModified.toLocalDateTime() : null), rs.getLong("row_count"));
+        }, params);
+    }
+
+    private static final class Row {
+        final ResourceVersion version;
+        final long count;
+
+        Row(ResourceVersion version, long count) {
+            this.version = version;
+            this.count = count;
+        }
+    }
+}
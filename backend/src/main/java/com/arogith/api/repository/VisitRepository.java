@@ -1,12 +1,16 @@
 package com.arogith.api.repository;
 
 import com.arogith.api.model.Visit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VisitRepository extends JpaRepository<Visit, Long> {
@@ -31,6 +35,10 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
     @Query(value = "SELECT v.* FROM visits v LEFT JOIN doctor d ON v.doctor_id = d.doctor_id WHERE v.patient_id = :patientId ORDER BY v.visit_date DESC LIMIT 1", nativeQuery = true)
     List<Visit> findLatestVisitsByPatientId(@Param("patientId") String patientId);
     
+    // Most recent visit of each of the given patients, chosen as in findLatestVisitsByPatientId
+    @Query(value = "SELECT DISTINCT ON (v.patient_id) v.* FROM visits v WHERE v.patient_id IN (:patientIds) ORDER BY v.patient_id, v.visit_date DESC", nativeQuery = true)
+    List<Visit> findLatestVisitsByPatientIds(@Param("patientIds") Collection<String> patientIds);
+    
     // Find visits between dates with doctor information
     @Query(value = "SELECT v.* FROM visits v LEFT JOIN doctor d ON v.doctor_id = d.doctor_id WHERE v.visit_date BETWEEN :startDate AND :endDate", nativeQuery = true)
     List<Visit> findByVisitDateBetween(@Param("startDate") LocalDateTime start, @Param("endDate") LocalDateTime end);
@@ -38,4 +46,14 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
     // Find visits by doctor ID
     @Query(value = "SELECT v.* FROM visits v LEFT JOIN doctor d ON v.doctor_id = d.doctor_id WHERE v.doctor_id = :doctorId", nativeQuery = true)
     List<Visit> findByDoctorId(@Param("doctorId") String doctorId);
-} 
\ No newline at end of file
+
+    // SELECT ... FOR UPDATE: concurrent updates of one visit take turns, so each sees the
+    // state the previous one committed (the workload rollup subtracts what it reads here)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Visit v WHERE v.visitId = :visitId")
+    Optional<Visit> findByIdForUpdate(@Param("visitId") Long visitId);
+
+    // Doctor assigned to a visit, without loading the visit
+    @Query("SELECT v.doctorId FROM Visit v WHERE v.visitId = :visitId")
+    Optional<String> findDoctorIdByVisitId(@Param("visitId") Long visitId);
+}
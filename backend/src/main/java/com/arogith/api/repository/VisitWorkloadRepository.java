@@ -0,0 +1,160 @@
+package com.arogith.api.repository;
+
+import com.arogith.api.dto.VisitWorkloadDTO;
+import com.arogith.api.dto.WorkloadSummaryDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the visit_workload_daily rollup. Writes run inside the caller's
+ * transaction so the rollup commits or rolls back together with the visit.
+ */
+@Repository
+public class VisitWorkloadRepository {
+
+    private static final String STATUS_CRITICAL = "critical";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public VisitWorkloadRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Adds delta (+1 / -1) visits to the contribution's rollup row, creating it if needed
+    public void apply(Contribution contribution, int delta) {
+        jdbcTemplate.update(
+            "INSERT INTO visit_workload_daily (day, doctor_id, department, status, visit_count, pending_prescriptions) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (day, doctor_id, department, status) DO UPDATE SET " +
+            "visit_count = visit_workload_daily.visit_count + EXCLUDED.visit_count, " +
+            "pending_prescriptions = visit_workload_daily.pending_prescriptions + EXCLUDED.pending_prescriptions",
+            Date.valueOf(contribution.getDay()),
+            contribution.getDoctorId(),
+            contribution.getDepartment(),
+            contribution.getStatus(),
+            delta,
+            contribution.isPendingPrescription() ? delta : 0);
+    }
+
+    public List<VisitWorkloadDTO> findRows(LocalDate from, LocalDate to, String doctorId, String department) {
+        return jdbcTemplate.query(
+            "SELECT day, doctor_id, department, status, visit_count, pending_prescriptions " +
+            "FROM visit_workload_daily " +
+            "WHERE day BETWEEN ? AND ? " +
+            "AND (CAST(? AS varchar) IS NULL OR doctor_id = ?) " +
+            "AND (CAST(? AS varchar) IS NULL OR department = ?) " +
+            "AND visit_count <> 0 " +
+            "ORDER BY day, doctor_id, status",
+            (rs, i) -> new VisitWorkloadDTO(
+                rs.getDate("day").toLocalDate(),
+                rs.getString("doctor_id"),
+                rs.getString("department"),
+                rs.getString("status"),
+                rs.getInt("visit_count"),
+                rs.getInt("pending_prescriptions")),
+            Date.valueOf(from), Date.valueOf(to), doctorId, doctorId, department, department);
+    }
+
+    public List<WorkloadSummaryDTO> summarizeByDoctorAndDay(LocalDate from, LocalDate to, String department) {
+        return jdbcTemplate.query(
+            "SELECT day, doctor_id, department, SUM(visit_count) AS visits, " +
+            "SUM(visit_count) FILTER (WHERE lower(status) = ?) AS critical_visits, " +
+            "SUM(pending_prescriptions) AS pending_prescriptions " +
+            "FROM visit_workload_daily " +
+            "WHERE day BETWEEN ? AND ? AND (CAST(? AS varchar) IS NULL OR department = ?) " +
+            "GROUP BY day, doctor_id, department " +
+            "HAVING SUM(visit_count) <> 0 " +
+            "ORDER BY day, doctor_id",
+            (rs, i) -> new WorkloadSummaryDTO(
+                rs.getDate("day").toLocalDate(),
+                rs.getString("doctor_id"),
+                null,
+                rs.getString("department"),
+                rs.getLong("visits"),
+                rs.getLong("critical_visits"),
+                rs.getLong("pending_prescriptions")),
+            STATUS_CRITICAL, Date.valueOf(from), Date.valueOf(to), department, department);
+    }
+
+    public List<WorkloadSummaryDTO> summarizeByDepartment(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+            "SELECT department, SUM(visit_count) AS visits, " +
+            "SUM(visit_count) FILTER (WHERE lower(status) = ?) AS critical_visits, " +
+            "SUM(pending_prescriptions) AS pending_prescriptions " +
+            "FROM visit_workload_daily " +
+            "WHERE day BETWEEN ? AND ? " +
+            "GROUP BY department " +
+            "HAVING SUM(visit_count) <> 0 " +
+            "ORDER BY department",
+            (rs, i) -> new WorkloadSummaryDTO(
+                null,
+                null,
+                null,
+                rs.getString("department"),
+                rs.getLong("visits"),
+                rs.getLong("critical_visits"),
+                rs.getLong("pending_prescriptions")),
+            STATUS_CRITICAL, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    // Visits per doctor on a day whose status is not one of closedStatuses (lower-case)
+    public Map<String, Integer> countOpenVisitsByDoctor(LocalDate day, Collection<String> closedStatuses) {
+        Map<String, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(
+                "SELECT doctor_id, SUM(visit_count) AS open_visits " +
+                "FROM visit_workload_daily " +
+                "WHERE day = ? AND doctor_id <> '' AND NOT (lower(status) = ANY(?)) " +
+                "GROUP BY doctor_id");
+            ps.setDate(1, Date.valueOf(day));
+            ps.setArray(2, con.createArrayOf("varchar", closedStatuses.toArray()));
+            return ps;
+        }, rs -> {
+            counts.put(rs.getString("doctor_id"), rs.getInt("open_visits"));
+        });
+        return counts;
+    }
+
+    // Recomputes the rollup for a date range from visits; returns the number of rows written.
+    // The table lock makes concurrent incremental updates wait, so no visit is counted twice.
+    public int rebuild(LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("LOCK TABLE visit_workload_daily IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM visit_workload_daily WHERE day BETWEEN ? AND ?",
+            Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(
+            "INSERT INTO visit_workload_daily (day, doctor_id, department, status, visit_count, pending_prescriptions) " +
+            "SELECT CAST(v.visit_date AS DATE), COALESCE(v.doctor_id, ''), " +
+            "COALESCE(v.workload_department, d.department, ''), " +
+            "COALESCE(TRIM(v.status), ''), COUNT(*), " +
+            "COUNT(*) FILTER (WHERE v.prescription IS NULL OR TRIM(v.prescription) = '') " +
+            "FROM visits v LEFT JOIN doctor d ON d.doctor_id = v.doctor_id " +
+            "WHERE v.visit_date >= ? AND v.visit_date < ? " +
+            "GROUP BY 1, 2, 3, 4",
+            Date.valueOf(from), Date.valueOf(to.plusDays(1)));
+    }
+
+    /**
+     * What a single visit contributes to the rollup. Two visits with equal
+     * contributions land in the same row.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Contribution {
+        private LocalDate day;
+        private String doctorId;
+        private String department;
+        private String status;
+        private boolean pendingPrescription;
+    }
+}
@@ -0,0 +1,48 @@
+package com.arogith.api.security;
+
+/**
+ * Principal rebuilt from a verified access token; never loaded from the database.
+ */
+public class AuthenticatedUser {
+    public static final String KIND_DOCTOR = "doctor";
+    public static final String KIND_NURSE = "nurse";
+
+    private final String id;
+    private final String kind;
+    private final String role;
+    private final String name;
+    private final String department;
+
+    public AuthenticatedUser(String id, String kind, String role, String name, String department) {
+        this.id = id;
+        this.kind = kind;
+        this.role = role;
+        this.name = name;
+        this.department = department;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + id;
+    }
+}
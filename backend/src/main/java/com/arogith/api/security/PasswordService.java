@@ -0,0 +1,44 @@
+package com.arogith.api.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Adaptive (BCrypt) password hashing for doctors and nurses.
+ *
+ * Rows created before hashing was introduced still hold plaintext; those are compared
+ * in constant time and reported by {@link #needsUpgrade(String)} so the caller can
+ * replace them with a hash after the first successful login.
+ */
+@Component
+public class PasswordService {
+
+    private final PasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    public String hash(String rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (isHashed(storedPassword)) {
+            return encoder.matches(rawPassword, storedPassword);
+        }
+        return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean needsUpgrade(String storedPassword) {
+        return storedPassword != null && !isHashed(storedPassword);
+    }
+
+    private static boolean isHashed(String storedPassword) {
+        return storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$");
+    }
+}
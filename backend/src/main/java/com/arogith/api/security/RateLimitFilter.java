@@ -0,0 +1,74 @@
+package com.arogith.api.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Rejects login bursts and excessive write requests per client IP with
+ * 429 Too Many Requests before they reach a controller or the database.
+ * Per-user login limits are applied in AuthController once the body is parsed.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final Set<String> LOGIN_PATHS = Set.of("/api/auth/login", "/api/auth/nurse/login", "/api/auth/refresh");
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final RateLimiter rateLimiter;
+    private final boolean trustForwardedFor;
+
+    public RateLimitFilter(RateLimiter rateLimiter, boolean trustForwardedFor) {
+        this.rateLimiter = rateLimiter;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        if (WRITE_METHODS.contains(method)) {
+            String ip = clientIp(request, trustForwardedFor);
+            long retryAfterMs = LOGIN_PATHS.contains(request.getServletPath())
+                    ? rateLimiter.tryLoginFromIp(ip)
+                    : rateLimiter.tryWriteFromIp(ip);
+            if (retryAfterMs > 0) {
+                logger.warn("Rate limit exceeded: {} {} from {}", method, request.getRequestURI(), ip);
+                reject(response, retryAfterMs);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    public static void reject(HttpServletResponse response, long retryAfterMs) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(retryAfterMs)));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many requests, please retry later");
+    }
+
+    public static long retryAfterSeconds(long retryAfterMs) {
+        return Math.max(1, (retryAfterMs + 999) / 1000);
+    }
+
+    public static String clientIp(HttpServletRequest request, boolean trustForwardedFor) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,178 @@
+package com.arogith.api.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory token buckets for login attempts and write requests.
+ *
+ * Buckets live in a fixed number of independent ConcurrentHashMap stripes selected by
+ * key hash, and each bucket is refilled and drawn from with a single compare-and-set,
+ * so the hot path takes no locks. Idle buckets (full again) are swept periodically,
+ * which bounds memory under spoofed-key floods to roughly the active key set.
+ *
+ * Every acquire returns 0 when allowed, otherwise the milliseconds until a token is
+ * available, suitable for a Retry-After header.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final Limit loginPerIp;
+    private final Limit loginPerUser;
+    private final Limit writesPerIp;
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, Bucket>[] stripes = new ConcurrentHashMap[STRIPES];
+
+    public RateLimiter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.login-per-ip-per-minute:20}") int loginPerIpPerMinute,
+                       @Value("${rate-limit.login-per-user-per-minute:5}") int loginPerUserPerMinute,
+                       @Value("${rate-limit.writes-per-ip-per-minute:300}") int writesPerIpPerMinute) {
+        this.enabled = enabled;
+        this.loginPerIp = Limit.perMinute("login-ip", loginPerIpPerMinute);
+        this.loginPerUser = Limit.perMinute("login-user", loginPerUserPerMinute);
+        this.writesPerIp = Limit.perMinute("write-ip", writesPerIpPerMinute);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public long tryLoginFromIp(String ip) {
+        return tryAcquire(loginPerIp, ip);
+    }
+
+    // Failed logins per account and client IP: checked before authenticating but only charged
+    // by recordFailedLogin, so successful logins cost nothing and guessing from one address
+    // cannot lock the account out for everyone else
+    public long checkLoginAsUser(String userId, String ip) {
+        String key = loginUserKey(userId, ip);
+        if (!enabled || key == null) {
+            return 0;
+        }
+        String bucketKey = loginPerUser.name + ':' + key;
+        Bucket bucket = stripeFor(bucketKey).get(bucketKey);
+        return bucket == null ? 0 : bucket.retryAfterMs(System.nanoTime());
+    }
+
+    public void recordFailedLogin(String userId, String ip) {
+        tryAcquire(loginPerUser, loginUserKey(userId, ip));
+    }
+
+    public long tryWriteFromIp(String ip) {
+        return tryAcquire(writesPerIp, ip);
+    }
+
+    public int getBucketCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    private long tryAcquire(Limit limit, String key) {
+        if (!enabled || key == null) {
+            return 0;
+        }
+        String bucketKey = limit.name + ':' + key;
+        Bucket bucket = stripeFor(bucketKey).computeIfAbsent(bucketKey, k -> new Bucket(limit));
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    private ConcurrentHashMap<String, Bucket> stripeFor(String bucketKey) {
+        return stripes[(bucketKey.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    // User IDs are case-insensitive so "d123" and "D123" share a bucket
+    private static String loginUserKey(String userId, String ip) {
+        return userId == null ? null : userId.trim().toUpperCase(Locale.ROOT) + '@' + ip;
+    }
+
+    private static final class Limit {
+        final String name;
+        final double capacity;
+        final double tokensPerNano;
+
+        private Limit(String name, double capacity, double tokensPerNano) {
+            this.name = name;
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerNano;
+        }
+
+        // Bursts up to one minute's allowance, refilled evenly over the minute
+        static Limit perMinute(String name, int perMinute) {
+            if (perMinute < 1) {
+                throw new IllegalStateException("Rate limit " + name + " must be at least 1 per minute");
+            }
+            return new Limit(name, perMinute, perMinute / 60_000_000_000.0);
+        }
+    }
+
+    private static final class Bucket {
+        private final Limit limit;
+        private final AtomicReference<State> state;
+
+        Bucket(Limit limit) {
+            this.limit = limit;
+            this.state = new AtomicReference<>(new State(limit.capacity, System.nanoTime()));
+        }
+
+        long tryAcquire(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = refill(current, now);
+                if (tokens < 1.0) {
+                    return msUntilToken(tokens);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1.0, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        // Like tryAcquire, without drawing a token
+        long retryAfterMs(long now) {
+            double tokens = refill(state.get(), now);
+            return tokens < 1.0 ? msUntilToken(tokens) : 0;
+        }
+
+        boolean isFull(long now) {
+            return refill(state.get(), now) >= limit.capacity;
+        }
+
+        private long msUntilToken(double tokens) {
+            double nanosUntilToken = (1.0 - tokens) / limit.tokensPerNano;
+            return Math.max(1, (long) Math.ceil(nanosUntilToken / 1_000_000.0));
+        }
+
+        private double refill(State current, long now) {
+            long elapsed = Math.max(0, now - current.updatedAt);
+            return Math.min(limit.capacity, current.tokens + elapsed * limit.tokensPerNano);
+        }
+    }
+
+    private static final class State {
+        final double tokens;
+        final long updatedAt;
+
+        State(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
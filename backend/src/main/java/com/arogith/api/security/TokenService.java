@@ -0,0 +1,146 @@
+package com.arogith.api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issues and verifies HMAC-SHA256 signed tokens (compact JWT, HS256).
+ *
+ * Verification is purely in memory: signature, token type and expiry are checked and
+ * the principal is rebuilt from the claims, so authenticated requests need no lookup.
+ * Access tokens are short-lived; refresh tokens live longer and are only accepted by
+ * the refresh endpoint, which re-reads the account before issuing a new pair.
+ */
+@Component
+public class TokenService {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecretKeySpec key;
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+    // Mac instances are not thread-safe; one per thread avoids a provider lookup per request
+    private final ThreadLocal<Mac> macs;
+
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.access-ttl-seconds:900}") long accessTtlSeconds,
+                        @Value("${security.token.refresh-ttl-seconds:604800}") long refreshTtlSeconds) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("security.token.secret is not set - using a random key; tokens will not survive a restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("security.token.secret must be at least 32 bytes");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    public String issueAccessToken(AuthenticatedUser user) {
+        return issue(user, TYPE_ACCESS, accessTtlSeconds);
+    }
+
+    public String issueRefreshToken(AuthenticatedUser user) {
+        return issue(user, TYPE_REFRESH, refreshTtlSeconds);
+    }
+
+    public long getAccessTtlSeconds() {
+        return accessTtlSeconds;
+    }
+
+    // Returns the principal if the token is well-formed, correctly signed, unexpired and of the expected type
+    public Optional<AuthenticatedUser> verify(String token, String expectedType) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot <= firstDot || token.indexOf('.', secondDot + 1) >= 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] expected = sign(token.substring(0, secondDot));
+            byte[] actual = DECODER.decode(token.substring(secondDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(firstDot + 1, secondDot)));
+            if (!expectedType.equals(claims.path("typ").asText())
+                    || claims.path("exp").asLong(0) <= System.currentTimeMillis() / 1000) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(
+                    claims.path("sub").asText(),
+                    claims.path("kind").asText(),
+                    claims.path("role").asText(null),
+                    claims.path("name").asText(null),
+                    claims.path("dept").asText(null)));
+        } catch (Exception e) {
+            logger.debug("Rejected malformed token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String issue(AuthenticatedUser user, String type, long ttlSeconds) {
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", user.getId());
+        claims.put("kind", user.getKind());
+        claims.put("role", user.getRole());
+        claims.put("name", user.getName());
+        claims.put("dept", user.getDepartment());
+        claims.put("typ", type);
+        claims.put("iat", now);
+        claims.put("exp", now + ttlSeconds);
+        try {
+            String signingInput = HEADER + "." + base64Url(objectMapper.writeValueAsBytes(claims));
+            return signingInput + "." + base64Url(sign(signingInput));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to issue token", e);
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        return macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
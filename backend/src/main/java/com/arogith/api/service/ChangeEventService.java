@@ -0,0 +1,29 @@
+package com.arogith.api.service;
+
+import com.arogith.api.dto.ChangeEventPageDTO;
+import com.arogith.api.model.LabTest;
+import com.arogith.api.model.Patient;
+import com.arogith.api.model.Visit;
+import com.arogith.api.repository.LabTestBulkRepository;
+
+import java.util.List;
+
+public interface ChangeEventService {
+
+    // Record a change event in the caller's transaction; call after the entity has been saved
+    void patientRegistered(Patient patient);
+
+    void visitCreated(Visit visit);
+
+    void visitUpdated(Visit visit);
+
+    void labTestAdded(LabTest labTest);
+
+    void labTestUpdated(LabTest labTest);
+
+    // LabTestUpdated for each row of a bulk result write, appended in one batch after the rows were written
+    void labTestsUpdated(List<LabTestBulkRepository.ResultRow> rows);
+
+    // Sequenced events after the given stream position, oldest first
+    ChangeEventPageDTO getEvents(long after, int limit);
+}
@@ -0,0 +1,22 @@
+package com.arogith.api.service;
+
+import com.arogith.api.dto.DoctorQueueDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DoctorAssignmentService {
+
+    // Pick the least-loaded available doctor (in the department, if given) and count the new visit.
+    // Must be called inside the transaction that saves the visit; the count is released on rollback
+    Optional<String> assign(String department);
+
+    // Count a new visit explicitly assigned to a doctor; same transaction rules as assign
+    void reserve(String doctorId);
+
+    // Current queue lengths, optionally for one department
+    List<DoctorQueueDTO> getQueues(String department);
+
+    // Reload doctors and today's open visit counts
+    void rebuild();
+}
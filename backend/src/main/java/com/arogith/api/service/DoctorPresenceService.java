@@ -0,0 +1,24 @@
+package com.arogith.api.service;
+
+import com.arogith.api.dto.DoctorPresenceDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface DoctorPresenceService {
+
+    // Current availability board, optionally limited to one department
+    List<DoctorPresenceDTO> getBoard(String department);
+
+    // Record a status change; persisted to the doctor table asynchronously. False if the doctor is unknown
+    boolean updateStatus(String doctorId, String status);
+
+    // Mark the doctor online and record the patient currently being seen (null clears it)
+    boolean heartbeat(String doctorId, String currentPatientId);
+
+    // Open a server-sent event stream of presence changes
+    SseEmitter subscribe(String department);
+
+    // Number of open subscriptions
+    int getSubscriberCount();
+}
@@ -1,15 +1,19 @@
 package com.arogith.api.service;
 
+import com.arogith.api.cache.DirectoryListing;
 import com.arogith.api.dto.DoctorLoginDTO;
 import com.arogith.api.dto.DoctorSummaryDTO;
 import com.arogith.api.dto.DoctorCreateDTO;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface DoctorService {
     DoctorLoginDTO authenticateDoctor(DoctorLoginDTO loginRequest);
     DoctorLoginDTO getDoctorById(String doctorId);
     boolean updateDoctorStatus(String doctorId, String status);
     List<DoctorSummaryDTO> findAllDoctors();
+    DirectoryListing<DoctorSummaryDTO> getDoctorDirectory();
+    Optional<DoctorSummaryDTO> findDoctorSummary(String doctorId);
     DoctorSummaryDTO createDoctor(DoctorCreateDTO createRequest);
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.arogith.api.service;
+
+import com.arogith.api.event.LabResultReadyEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.Set;
+
+public interface LabResultNotificationService {
+    
+    // Open a server-sent event stream for a doctor and/or a set of visits
+    SseEmitter subscribe(String doctorId, Set<Long> visitIds);
+    
+    // Queue a committed result for coalesced delivery
+    void onLabResultReady(LabResultReadyEvent event);
+    
+    // Number of open subscriptions
+    int getSubscriberCount();
+}
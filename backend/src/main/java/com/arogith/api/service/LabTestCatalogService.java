@@ -0,0 +1,24 @@
+package com.arogith.api.service;
+
+import com.arogith.api.dto.LabCatalogEntryDTO;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface LabTestCatalogService {
+    
+    // Resolve a free-text test name, code or alias (case-insensitive) to its catalog entry
+    Optional<LabCatalogEntryDTO> resolve(String nameOrCode);
+    
+    // Entries whose name, code or alias starts with the prefix
+    List<LabCatalogEntryDTO> autocomplete(String prefix, int limit);
+    
+    // All active entries, sorted by name
+    List<LabCatalogEntryDTO> getAllEntries();
+    
+    // Active entries grouped by panel name
+    Map<String, List<LabCatalogEntryDTO>> getPanels();
+    
+    // Reload the snapshot from the database, returns the number of entries loaded
+    int reload();
+}
@@ -1,6 +1,11 @@
 package com.arogith.api.service;
 
+import com.arogith.api.dto.LabResultUpdateDTO;
+import com.arogith.api.dto.LabResultUpdateOutcomeDTO;
+import com.arogith.api.dto.LabSeriesDTO;
 import com.arogith.api.dto.LabTestDTO;
+import com.arogith.api.dto.LabWorklistDTO;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface LabTestService {
@@ -26,9 +31,24 @@ public interface LabTestService {
     // Update lab test
     LabTestDTO updateLabTest(Long testId, LabTestDTO labTestDTO);
     
+    // Apply many result / status updates in one transaction with set-based SQL
+    List<LabResultUpdateOutcomeDTO> updateLabResults(List<LabResultUpdateDTO> updates);
+    
     // Delete lab test
     void deleteLabTest(Long testId);
     
     // Count total lab tests
     Integer countLabTests();
+    
+    // Get abnormal results recorded on a given day
+    List<LabTestDTO> getAbnormalResultsByDay(LocalDate day);
+    
+    // Get abnormal results of a patient
+    List<LabTestDTO> getAbnormalResultsByPatientId(String patientId);
+    
+    // Get one analyte over time for a patient, optionally downsampled to maxPoints
+    LabSeriesDTO getLabSeries(String patientId, String testName, Integer maxPoints);
+    
+    // Get a page of the pending / in-progress worklist, oldest first
+    LabWorklistDTO getPendingWorklist(String testName, LocalDate fromDate, LocalDate toDate, String cursor, int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.arogith.api.service;
+
+import com.arogith.api.cache.ResourceVersion;
+
+import java.util.Optional;
+
+/**
+ * Current versions of the resources served with ETags, computed from row versions alone
+ * so conditional GETs can be answered before any DTO is built.
+ */
+public interface ResourceVersionService {
+    Optional<ResourceVersion> getPatientVersion(String patientId);
+    Optional<ResourceVersion> getVisitVersion(Long visitId);
+    ResourceVersion getVisitsByPatientVersion(String patientId);
+    ResourceVersion getTodayVisitsVersion();
+    ResourceVersion getYesterdayVisitsVersion();
+    Optional<ResourceVersion> getLabTestVersion(Long testId);
+    ResourceVersion getLabTestsByVisitVersion(Long visitId);
+}
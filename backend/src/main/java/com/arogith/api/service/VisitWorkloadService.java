@@ -0,0 +1,33 @@
+package com.arogith.api.service;
+
+import com.arogith.api.dto.VisitWorkloadDTO;
+import com.arogith.api.dto.WorkloadSummaryDTO;
+import com.arogith.api.model.Visit;
+import com.arogith.api.repository.VisitWorkloadRepository.Contribution;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VisitWorkloadService {
+
+    // Snapshot of what the visit currently contributes (null if it has no visit date)
+    Contribution contributionOf(Visit visit);
+
+    // Records the doctor's current department on the visit; call before saving a new or changed visit
+    void stampDepartment(Visit visit);
+
+    // Move the visit's count from the old rollup row to the new one; call inside the visit's transaction
+    void recordChange(Contribution before, Contribution after);
+
+    // Raw rollup rows, optionally filtered by doctor and/or department
+    List<VisitWorkloadDTO> getWorkloadRows(LocalDate from, LocalDate to, String doctorId, String department);
+
+    // Visits, critical visits and pending prescriptions per doctor per day
+    List<WorkloadSummaryDTO> getDoctorDailySummary(LocalDate from, LocalDate to, String department);
+
+    // Visits, critical visits and pending prescriptions per department
+    List<WorkloadSummaryDTO> getDepartmentSummary(LocalDate from, LocalDate to);
+
+    // Recompute the rollup for a date range from the visits table
+    int rebuild(LocalDate from, LocalDate to);
+}
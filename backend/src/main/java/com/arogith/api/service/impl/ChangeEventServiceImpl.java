@@ -0,0 +1,155 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.dto.ChangeEventDTO;
+import com.arogith.api.dto.ChangeEventPageDTO;
+import com.arogith.api.model.LabTest;
+import com.arogith.api.model.Patient;
+import com.arogith.api.model.Visit;
+import com.arogith.api.repository.LabTestBulkRepository;
+import com.arogith.api.repository.OutboxRepository;
+import com.arogith.api.service.ChangeEventService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes change events for patients, visits and lab tests into the transactional outbox.
+ *
+ * Events are compact: identifiers, status and what changed in outline, never names,
+ * contact details or results - consumers fetch those from the API. An event commits or
+ * rolls back with its change, and OutboxRelay publishes it once committed.
+ *
+ * Pending entity changes are flushed before the event row is inserted, so a writer holds
+ * the aggregate's row lock before it takes an event_id. Two transactions touching the same
+ * patient, visit or lab test therefore get event_ids in commit order, which the relay keeps.
+ */
+@Service
+public class ChangeEventServiceImpl implements ChangeEventService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ChangeEventServiceImpl(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void patientRegistered(Patient patient) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("patientId", patient.getPatientId());
+        data.put("gender", patient.getGender());
+        data.put("age", patient.getAge());
+        append("patient", patient.getPatientId(), "PatientRegistered", data);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void visitCreated(Visit visit) {
+        append("visit", String.valueOf(visit.getVisitId()), "VisitCreated", visitData(visit));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void visitUpdated(Visit visit) {
+        append("visit", String.valueOf(visit.getVisitId()), "VisitUpdated", visitData(visit));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void labTestAdded(LabTest labTest) {
+        append("lab_test", String.valueOf(labTest.getTestId()), "LabTestAdded", labTestData(labTest));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void labTestUpdated(LabTest labTest) {
+        append("lab_test", String.valueOf(labTest.getTestId()), "LabTestUpdated", labTestData(labTest));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void labTestsUpdated(List<LabTestBulkRepository.ResultRow> rows) {
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (LabTestBulkRepository.ResultRow row : rows) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("testId", row.getTestId());
+            data.put("visitId", row.getVisitId());
+            data.put("patientId", row.getPatientId());
+            data.put("testName", row.getTestName());
+            data.put("status", row.getStatus());
+            data.put("hasResult", row.getResult() != null && !row.getResult().isEmpty());
+            data.put("abnormalFlag", row.getAbnormalFlag());
+            data.put("resultUpdatedAt", row.getResultUpdatedAt());
+            payloads.put(String.valueOf(row.getTestId()), serialize("LabTestUpdated", data));
+        }
+        entityManager.flush();
+        outboxRepository.appendAll("lab_test", "LabTestUpdated", payloads);
+    }
+
+    @Override
+    public ChangeEventPageDTO getEvents(long after, int limit) {
+        int capped = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        List<ChangeEventDTO> events = outboxRepository.findAfter(Math.max(0, after), capped + 1);
+        boolean hasMore = events.size() > capped;
+        if (hasMore) {
+            events = events.subList(0, capped);
+        }
+        long nextCursor = events.isEmpty() ? Math.max(0, after) : events.get(events.size() - 1).getPosition();
+        return new ChangeEventPageDTO(events, nextCursor, hasMore);
+    }
+
+    private void append(String aggregateType, String aggregateId, String eventType, Map<String, Object> data) {
+        entityManager.flush();
+        outboxRepository.append(aggregateType, aggregateId, eventType, serialize(eventType, data));
+    }
+
+    private String serialize(String eventType, Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+    }
+
+    private static Map<String, Object> visitData(Visit visit) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("visitId", visit.getVisitId());
+        data.put("patientId", visit.getPatientId());
+        data.put("doctorId", visit.getDoctorId());
+        data.put("status", visit.getStatus());
+        data.put("visitDate", visit.getVisitDate());
+        data.put("hasPrescription", visit.getPrescription() != null && !visit.getPrescription().isBlank());
+        return data;
+    }
+
+    private static Map<String, Object> labTestData(LabTest labTest) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("testId", labTest.getTestId());
+        data.put("visitId", labTest.getVisitId());
+        data.put("patientId", labTest.getPatientId());
+        data.put("testName", labTest.getTestName());
+        data.put("status", labTest.getStatus());
+        data.put("hasResult", labTest.getResult() != null && !labTest.getResult().isEmpty());
+        data.put("abnormalFlag", labTest.getAbnormalFlag());
+        data.put("resultUpdatedAt", labTest.getResultUpdatedAt());
+        return data;
+    }
+}
@@ -0,0 +1,319 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.dto.DoctorPresenceDTO;
+import com.arogith.api.dto.DoctorQueueDTO;
+import com.arogith.api.event.DoctorStatusChangedEvent;
+import com.arogith.api.event.VisitWorkloadChangedEvent;
+import com.arogith.api.repository.VisitWorkloadRepository;
+import com.arogith.api.repository.VisitWorkloadRepository.Contribution;
+import com.arogith.api.service.DoctorAssignmentService;
+import com.arogith.api.service.DoctorPresenceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns new visits to the least-loaded available doctor.
+ *
+ * Each doctor's queue length (today's visits that are not closed) is an in-memory
+ * counter. Available doctors are kept in sets ordered by (queue length, doctor ID),
+ * one per department plus one across all departments, so picking a doctor and
+ * re-positioning it after the increment are O(log n). The counter is taken at
+ * assignment time so concurrent registrations spread out; a rolled-back registration
+ * gives it back. Committed reassignments and status changes arrive as events, and
+ * the whole state is rebuilt from the workload rollup periodically and at midnight.
+ *
+ * Registrations still in flight are not in the rollup yet, so they are also counted per
+ * doctor on the side and added back onto a rebuild. Each belongs to the day's counts it
+ * was taken for; one finishing after the midnight reset no longer touches the counters.
+ */
+@Service
+public class DoctorAssignmentServiceImpl implements DoctorAssignmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorAssignmentServiceImpl.class);
+    // Visit statuses that no longer occupy the doctor (lower-case). The app sets Active,
+    // Critical or Recovered (project/src/types.ts), so only Recovered closes a visit
+    static final Set<String> CLOSED_VISIT_STATUSES = Set.of("recovered");
+    // Doctor statuses that accept new visits (lower-case)
+    private static final Set<String> AVAILABLE_DOCTOR_STATUSES = Set.of("active", "available");
+    private static final String NO_DEPARTMENT = "";
+    private static final Comparator<DoctorLoad> LEAST_LOADED =
+            Comparator.comparingInt((DoctorLoad d) -> d.openVisits.get()).thenComparing(d -> d.doctorId);
+
+    private final DoctorPresenceService presenceService;
+    private final VisitWorkloadRepository workloadRepository;
+
+    // All fields below are guarded by this lock
+    private final Object lock = new Object();
+    private Map<String, DoctorLoad> doctors = new HashMap<>();
+    private Map<String, TreeSet<DoctorLoad>> availableByDepartment = new HashMap<>();
+    private TreeSet<DoctorLoad> availableAll = new TreeSet<>(LEAST_LOADED);
+    private LocalDate countsDay = LocalDate.now();
+    // Reservations of countsDay whose transaction has not finished, per doctor
+    private Map<String, Integer> inFlight = new HashMap<>();
+
+    @Autowired
+    public DoctorAssignmentServiceImpl(DoctorPresenceService presenceService, VisitWorkloadRepository workloadRepository) {
+        this.presenceService = presenceService;
+        this.workloadRepository = workloadRepository;
+    }
+
+    // Runs after the presence registry has been seeded
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(10)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void resetAtMidnight() {
+        rebuild();
+    }
+
+    // Corrects drift from visits edited outside the application
+    @Scheduled(initialDelayString = "${assignment.reconcile-interval-ms:300000}",
+               fixedDelayString = "${assignment.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        try {
+            LocalDate today = LocalDate.now();
+            Map<String, Integer> openVisits = workloadRepository.countOpenVisitsByDoctor(today, CLOSED_VISIT_STATUSES);
+            List<DoctorPresenceDTO> board = presenceService.getBoard(null);
+
+            Map<String, DoctorLoad> loaded = new HashMap<>();
+            int available = 0;
+            for (DoctorPresenceDTO doctor : board) {
+                DoctorLoad load = new DoctorLoad(doctor.getDoctorId(), doctor.getName(),
+                        doctor.getDepartment(), isAvailable(doctor.getStatus()));
+                load.openVisits.set(openVisits.getOrDefault(doctor.getDoctorId(), 0));
+                loaded.put(load.doctorId, load);
+            }
+            synchronized (lock) {
+                if (!today.equals(countsDay)) {
+                    // Yesterday's registrations still in flight do not count towards today
+                    inFlight = new HashMap<>();
+                }
+                for (Map.Entry<String, Integer> reserved : inFlight.entrySet()) {
+                    DoctorLoad load = loaded.get(reserved.getKey());
+                    if (load != null) {
+                        load.openVisits.addAndGet(reserved.getValue());
+                    }
+                }
+                doctors = loaded;
+                availableByDepartment = new HashMap<>();
+                availableAll = new TreeSet<>(LEAST_LOADED);
+                for (DoctorLoad load : loaded.values()) {
+                    if (load.available) {
+                        addAvailable(load);
+                        available++;
+                    }
+                }
+                countsDay = today;
+            }
+            logger.info("Assignment engine loaded {} doctors ({} available)", loaded.size(), available);
+        } catch (Exception e) {
+            // Keep the current state
+            logger.error("Failed to rebuild assignment state: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<String> assign(String department) {
+        String doctorId;
+        LocalDate day;
+        synchronized (lock) {
+            TreeSet<DoctorLoad> pool = department == null || department.isBlank()
+                    ? availableAll
+                    : availableByDepartment.get(normalizeDepartment(department));
+            if (pool == null || pool.isEmpty()) {
+                return Optional.empty();
+            }
+            doctorId = pool.first().doctorId;
+            day = take(doctorId);
+        }
+        releaseOnCompletion(doctorId, day);
+        logger.info("Assigned new visit to doctorId={} (department={})", doctorId, department);
+        return Optional.of(doctorId);
+    }
+
+    @Override
+    public void reserve(String doctorId) {
+        LocalDate day;
+        synchronized (lock) {
+            day = take(doctorId);
+        }
+        releaseOnCompletion(doctorId, day);
+    }
+
+    @Override
+    public List<DoctorQueueDTO> getQueues(String department) {
+        String key = department == null || department.isBlank() ? null : normalizeDepartment(department);
+        List<DoctorQueueDTO> queues = new ArrayList<>();
+        synchronized (lock) {
+            for (DoctorLoad load : doctors.values()) {
+                if (key == null || key.equals(load.departmentKey)) {
+                    queues.add(new DoctorQueueDTO(load.doctorId, load.name, load.department,
+                            load.available, load.openVisits.get()));
+                }
+            }
+        }
+        queues.sort(Comparator.comparing(DoctorQueueDTO::isAvailable).reversed()
+                .thenComparingInt(DoctorQueueDTO::getOpenVisits)
+                .thenComparing(DoctorQueueDTO::getDoctorId));
+        return queues;
+    }
+
+    @EventListener
+    public void onDoctorStatusChanged(DoctorStatusChangedEvent event) {
+        boolean available = isAvailable(event.getStatus());
+        synchronized (lock) {
+            DoctorLoad load = doctors.get(event.getDoctorId());
+            if (load == null) {
+                load = new DoctorLoad(event.getDoctorId(), null, event.getDepartment(), false);
+                doctors.put(load.doctorId, load);
+            }
+            if (load.available == available) {
+                return;
+            }
+            if (load.available) {
+                removeAvailable(load);
+            }
+            load.available = available;
+            if (available) {
+                addAvailable(load);
+            }
+        }
+    }
+
+    // New visits were already counted by assign/reserve; this handles later reassignments and closures
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVisitWorkloadChanged(VisitWorkloadChangedEvent event) {
+        if (event.getBefore() == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (occupiesDoctor(event.getBefore())) {
+                adjust(event.getBefore().getDoctorId(), -1);
+            }
+            if (occupiesDoctor(event.getAfter())) {
+                adjust(event.getAfter().getDoctorId(), 1);
+            }
+        }
+    }
+
+    private boolean occupiesDoctor(Contribution contribution) {
+        return contribution != null
+                && countsDay.equals(contribution.getDay())
+                && !contribution.getDoctorId().isEmpty()
+                && !CLOSED_VISIT_STATUSES.contains(contribution.getStatus().toLowerCase(Locale.ROOT));
+    }
+
+    // Caller holds the lock. Counts the visit now and, inside a transaction, as in flight
+    private LocalDate take(String doctorId) {
+        adjust(doctorId, 1);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.merge(doctorId, 1, Integer::sum);
+        }
+        return countsDay;
+    }
+
+    // A rollback gives the visit back, unless the day's counts have been reset since it was taken
+    private void releaseOnCompletion(String doctorId, LocalDate day) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (lock) {
+                    if (!day.equals(countsDay)) {
+                        return;
+                    }
+                    inFlight.computeIfPresent(doctorId, (id, count) -> count > 1 ? count - 1 : null);
+                    if (status == STATUS_ROLLED_BACK) {
+                        adjust(doctorId, -1);
+                    }
+                }
+            }
+        });
+    }
+
+    // Caller holds the lock. The counter is part of the ordering key, so the entry
+    // leaves the sorted sets while it changes
+    private void adjust(String doctorId, int delta) {
+        DoctorLoad load = doctors.get(doctorId);
+        if (load == null) {
+            return;
+        }
+        if (load.available) {
+            removeAvailable(load);
+        }
+        load.openVisits.updateAndGet(count -> Math.max(0, count + delta));
+        if (load.available) {
+            addAvailable(load);
+        }
+    }
+
+    private void addAvailable(DoctorLoad load) {
+        availableAll.add(load);
+        availableByDepartment.computeIfAbsent(load.departmentKey, d -> new TreeSet<>(LEAST_LOADED)).add(load);
+    }
+
+    private void removeAvailable(DoctorLoad load) {
+        availableAll.remove(load);
+        TreeSet<DoctorLoad> pool = availableByDepartment.get(load.departmentKey);
+        if (pool != null) {
+            pool.remove(load);
+        }
+    }
+
+    private static boolean isAvailable(String status) {
+        return status != null && AVAILABLE_DOCTOR_STATUSES.contains(status.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String normalizeDepartment(String department) {
+        return department == null ? NO_DEPARTMENT : department.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class DoctorLoad {
+        final String doctorId;
+        final String name;
+        final String department;
+        final String departmentKey;
+        final AtomicInteger openVisits = new AtomicInteger();
+        boolean available;
+
+        DoctorLoad(String doctorId, String name, String department, boolean available) {
+            this.doctorId = doctorId;
+            this.name = name;
+            this.department = department;
+            this.departmentKey = normalizeDepartment(department);
+            this.available = available;
+        }
+    }
+}
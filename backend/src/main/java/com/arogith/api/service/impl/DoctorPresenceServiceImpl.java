@@ -0,0 +1,276 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.dto.DoctorPresenceDTO;
+import com.arogith.api.dto.DoctorSummaryDTO;
+import com.arogith.api.event.DoctorStatusChangedEvent;
+import com.arogith.api.service.DoctorPresenceService;
+import com.arogith.api.service.DoctorService;
+import com.arogith.api.sse.SseChannel;
+import com.arogith.api.sse.SseDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory doctor availability board.
+ *
+ * Status updates and heartbeats only touch the registry; status changes are written to
+ * the doctor table by a background flush (last write per doctor wins) and every change
+ * is pushed to subscribers as a "presence" event, so the board never polls the database.
+ * Doctors whose heartbeat is older than the timeout are shown offline. Events are written
+ * through each subscriber's {@link SseChannel}, off the scheduler; a subscriber that falls
+ * more than the queue capacity behind gets a fresh "snapshot" in place of its backlog.
+ */
+@Service
+public class DoctorPresenceServiceImpl implements DoctorPresenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorPresenceServiceImpl.class);
+    private static final long KEEPALIVE_INTERVAL_MS = 15_000;
+
+    private final DoctorService doctorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, DoctorPresenceDTO> registry = new ConcurrentHashMap<>();
+    // Status writes not yet persisted, coalesced per doctor
+    private final Map<String, String> pendingStatus = new ConcurrentHashMap<>();
+    // Entries changed since the last push, coalesced per doctor
+    private final Map<String, DoctorPresenceDTO> changed = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final SseDispatcher sseDispatcher;
+    private final long heartbeatTimeoutMs;
+    private final long emitterTimeoutMs;
+    private final int queueCapacity;
+
+    @Autowired
+    public DoctorPresenceServiceImpl(DoctorService doctorService, ApplicationEventPublisher eventPublisher,
+            SseDispatcher sseDispatcher,
+            @Value("${presence.heartbeat-timeout-ms:90000}") long heartbeatTimeoutMs,
+            @Value("${presence.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${presence.subscriber-queue-capacity:64}") int queueCapacity) {
+        this.doctorService = doctorService;
+        this.eventPublisher = eventPublisher;
+        this.sseDispatcher = sseDispatcher;
+        this.heartbeatTimeoutMs = heartbeatTimeoutMs;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // Other components (e.g. doctor assignment) seed themselves from this registry
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    // Adds new doctors and refreshes names/departments from the (cached) directory
+    @Scheduled(initialDelayString = "${presence.reconcile-interval-ms:300000}",
+               fixedDelayString = "${presence.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            for (DoctorSummaryDTO doctor : doctorService.findAllDoctors()) {
+                registry.compute(doctor.getDoctorId(), (id, current) -> {
+                    if (current == null) {
+                        return fromSummary(doctor);
+                    }
+                    // Keep the in-memory status if a write is still waiting to be persisted
+                    String status = pendingStatus.containsKey(id) ? current.getStatus() : doctor.getStatus();
+                    return new DoctorPresenceDTO(id, doctor.getName(), doctor.getDepartment(), status,
+                            current.getCurrentPatientId(), current.getLastHeartbeat(), current.isOnline());
+                });
+            }
+            logger.info("Presence registry holds {} doctors", registry.size());
+        } catch (Exception e) {
+            logger.error("Failed to reconcile presence registry: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<DoctorPresenceDTO> getBoard(String department) {
+        return registry.values().stream()
+                .filter(p -> matchesDepartment(department, p))
+                .sorted(Comparator.comparing(DoctorPresenceDTO::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean updateStatus(String doctorId, String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("status is required");
+        }
+        if (!ensureKnown(doctorId)) {
+            return false;
+        }
+        DoctorPresenceDTO updated = registry.computeIfPresent(doctorId, (id, current) ->
+                new DoctorPresenceDTO(id, current.getName(), current.getDepartment(), status,
+                        current.getCurrentPatientId(), current.getLastHeartbeat(), current.isOnline()));
+        pendingStatus.put(doctorId, status);
+        publish(updated);
+        if (updated != null) {
+            eventPublisher.publishEvent(new DoctorStatusChangedEvent(doctorId, updated.getDepartment(), status));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean heartbeat(String doctorId, String currentPatientId) {
+        if (!ensureKnown(doctorId)) {
+            return false;
+        }
+        String patientId = currentPatientId != null && !currentPatientId.isBlank() ? currentPatientId : null;
+        LocalDateTime now = LocalDateTime.now();
+        DoctorPresenceDTO[] before = new DoctorPresenceDTO[1];
+        DoctorPresenceDTO updated = registry.computeIfPresent(doctorId, (id, current) -> {
+            before[0] = current;
+            return new DoctorPresenceDTO(id, current.getName(), current.getDepartment(), current.getStatus(),
+                    patientId, now, true);
+        });
+        // A plain heartbeat only refreshes the timestamp; push only visible changes
+        if (updated != null && (!before[0].isOnline() || !Objects.equals(before[0].getCurrentPatientId(), patientId))) {
+            publish(updated);
+        }
+        return true;
+    }
+
+    @Override
+    public SseEmitter subscribe(String department) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        String filter = department != null && !department.isBlank() ? department : null;
+        // The current board supersedes any presence changes a lagging subscriber missed
+        SseChannel channel = sseDispatcher.open(emitter, queueCapacity, missed -> snapshot(filter));
+        Subscriber subscriber = new Subscriber(channel, filter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Initial board so the client needs no separate GET; queued ahead of any change
+        channel.offer(snapshot(filter));
+        subscribers.add(subscriber);
+        logger.info("Presence subscriber added: department={} ({} open)", department, subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${presence.push-interval-ms:500}")
+    public void push() {
+        expireStaleHeartbeats();
+
+        List<DoctorPresenceDTO> ready = new ArrayList<>();
+        for (String doctorId : changed.keySet()) {
+            DoctorPresenceDTO entry = changed.remove(doctorId);
+            if (entry != null) {
+                ready.add(entry);
+            }
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            List<DoctorPresenceDTO> visible = ready.stream()
+                    .filter(p -> matchesDepartment(subscriber.department, p))
+                    .collect(Collectors.toList());
+            boolean open = visible.isEmpty()
+                    ? subscriber.channel.keepAlive(now, KEEPALIVE_INTERVAL_MS)
+                    : subscriber.channel.offer(SseEmitter.event().name("presence").data(visible));
+            if (!open) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${presence.persist-interval-ms:2000}")
+    public void persistPending() {
+        for (String doctorId : pendingStatus.keySet()) {
+            String status = pendingStatus.remove(doctorId);
+            if (status == null) {
+                continue;
+            }
+            try {
+                doctorService.updateDoctorStatus(doctorId, status);
+            } catch (Exception e) {
+                // Retry on the next flush unless a newer status has arrived meanwhile
+                pendingStatus.putIfAbsent(doctorId, status);
+                logger.error("Failed to persist status for doctorId={}: {}", doctorId, e.getMessage());
+            }
+        }
+    }
+
+    private void expireStaleHeartbeats() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(heartbeatTimeoutMs * 1_000_000L);
+        for (DoctorPresenceDTO entry : registry.values()) {
+            if (entry.isOnline() && entry.getLastHeartbeat() != null && entry.getLastHeartbeat().isBefore(cutoff)) {
+                DoctorPresenceDTO offline = registry.computeIfPresent(entry.getDoctorId(), (id, current) ->
+                        current.isOnline() && current.getLastHeartbeat().isBefore(cutoff)
+                                ? new DoctorPresenceDTO(id, current.getName(), current.getDepartment(),
+                                        current.getStatus(), null, current.getLastHeartbeat(), false)
+                                : current);
+                if (offline != null && !offline.isOnline()) {
+                    publish(offline);
+                }
+            }
+        }
+    }
+
+    private boolean ensureKnown(String doctorId) {
+        if (doctorId == null) {
+            return false;
+        }
+        if (registry.containsKey(doctorId)) {
+            return true;
+        }
+        Optional<DoctorSummaryDTO> doctor = doctorService.findDoctorSummary(doctorId);
+        doctor.ifPresent(d -> registry.putIfAbsent(doctorId, fromSummary(d)));
+        return doctor.isPresent();
+    }
+
+    private void publish(DoctorPresenceDTO entry) {
+        if (entry != null) {
+            changed.put(entry.getDoctorId(), entry);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder snapshot(String department) {
+        return SseEmitter.event().name("snapshot").data(getBoard(department));
+    }
+
+    private static boolean matchesDepartment(String department, DoctorPresenceDTO entry) {
+        return department == null || department.isBlank() || department.equalsIgnoreCase(entry.getDepartment());
+    }
+
+    private static DoctorPresenceDTO fromSummary(DoctorSummaryDTO doctor) {
+        return new DoctorPresenceDTO(doctor.getDoctorId(), doctor.getName(), doctor.getDepartment(),
+                doctor.getStatus(), null, null, false);
+    }
+
+    private static class Subscriber {
+        private final SseChannel channel;
+        private final String department;
+
+        Subscriber(SseChannel channel, String department) {
+            this.channel = channel;
+            this.department = department;
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.arogith.api.service.impl;
 
+import com.arogith.api.cache.CacheRegistry;
+import com.arogith.api.cache.DirectoryListing;
+import com.arogith.api.cache.TtlCache;
 import com.arogith.api.dto.DoctorLoginDTO;
 import com.arogith.api.dto.DoctorSummaryDTO;
 import com.arogith.api.dto.DoctorCreateDTO;
+import com.arogith.api.id.StaffIdGenerator;
 import com.arogith.api.model.Doctor;
 import com.arogith.api.repository.DoctorRepository;
+import com.arogith.api.security.AuthenticatedUser;
+import com.arogith.api.security.PasswordService;
+import com.arogith.api.security.TokenService;
 import com.arogith.api.service.DoctorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,24 +27,45 @@ import java.util.stream.Collectors;
 @Service
 public class DoctorServiceImpl implements DoctorService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DoctorServiceImpl.class);
+    private static final String DIRECTORY_KEY = "all";
+
     private final DoctorRepository doctorRepository;
+    private final PasswordService passwordService;
+    private final TokenService tokenService;
+    private final StaffIdGenerator staffIdGenerator;
+    // The directory changes a few times a day; writes below invalidate both caches
+    private final TtlCache<String, DirectoryListing<DoctorSummaryDTO>> directoryCache;
+    private final TtlCache<String, DoctorSummaryDTO> doctorByIdCache;
 
     @Autowired
-    public DoctorServiceImpl(DoctorRepository doctorRepository) {
+    public DoctorServiceImpl(DoctorRepository doctorRepository, PasswordService passwordService,
+                             TokenService tokenService, StaffIdGenerator staffIdGenerator,
+                             CacheRegistry cacheRegistry,
+                             @Value("${directory.cache.ttl-ms:300000}") long cacheTtlMs,
+                             @Value("${directory.cache.max-size:1000}") int cacheMaxSize) {
         this.doctorRepository = doctorRepository;
+        this.passwordService = passwordService;
+        this.tokenService = tokenService;
+        this.staffIdGenerator = staffIdGenerator;
+        this.directoryCache = cacheRegistry.create("doctor-directory", 1, cacheTtlMs);
+        this.doctorByIdCache = cacheRegistry.create("doctor-by-id", cacheMaxSize, cacheTtlMs);
     }
 
     @Override
+    @Transactional
     public DoctorLoginDTO authenticateDoctor(DoctorLoginDTO loginRequest) {
-        Optional<Doctor> doctorOptional = doctorRepository.findByDoctorId(loginRequest.getDoctorId());
+        Optional<Doctor> doctorOptional = doctorRepository.findById(loginRequest.getDoctorId());
         
         if (doctorOptional.isPresent()) {
             Doctor doctor = doctorOptional.get();
             
-            // Check if password matches
-            // In a real application, you would use a proper password encoder
-            if (doctor.getPassword().equals(loginRequest.getPassword())) {
-                return new DoctorLoginDTO(
+            if (passwordService.matches(loginRequest.getPassword(), doctor.getPassword())) {
+                // Legacy plaintext passwords are replaced with a hash on first successful login
+                if (passwordService.needsUpgrade(doctor.getPassword())) {
+                    doctor.setPassword(passwordService.hash(loginRequest.getPassword()));
+                }
+                DoctorLoginDTO response = new DoctorLoginDTO(
                     doctor.getDoctorId(),
                     doctor.getName(),
                     doctor.getEmail(),
@@ -43,6 +75,12 @@ public class DoctorServiceImpl implements DoctorService {
                     true,
                     "Authentication successful"
                 );
+                AuthenticatedUser user = new AuthenticatedUser(doctor.getDoctorId(), AuthenticatedUser.KIND_DOCTOR,
+                        doctor.getRole(), doctor.getName(), doctor.getDepartment());
+                response.setAccessToken(tokenService.issueAccessToken(user));
+                response.setRefreshToken(tokenService.issueRefreshToken(user));
+                response.setExpiresIn(tokenService.getAccessTtlSeconds());
+                return response;
             } else {
                 return new DoctorLoginDTO(
                     doctor.getDoctorId(),
@@ -71,11 +109,11 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     public DoctorLoginDTO getDoctorById(String doctorId) {
-        Optional<Doctor> doctorOptional = doctorRepository.findByDoctorId(doctorId);
+        Optional<DoctorSummaryDTO> doctorOptional = findDoctorSummary(doctorId);
         
         if (doctorOptional.isPresent()) {
-            Doctor doctor = doctorOptional.get();
-            System.out.println("Fetched doctor: status=" + doctor.getStatus() + ", department=" + doctor.getDepartment());
+            DoctorSummaryDTO doctor = doctorOptional.get();
+            logger.debug("Fetched doctor {}: status={}, department={}", doctorId, doctor.getStatus(), doctor.getDepartment());
             return new DoctorLoginDTO(
                 doctor.getDoctorId(),
                 doctor.getName(),
@@ -100,42 +138,69 @@ public class DoctorServiceImpl implements DoctorService {
         }
     }
 
+    @Override
+    public Optional<DoctorSummaryDTO> findDoctorSummary(String doctorId) {
+        if (doctorId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(doctorByIdCache.get(doctorId,
+                id -> doctorRepository.findById(id).map(this::toSummary).orElse(null)));
+    }
+
     @Override
     public boolean updateDoctorStatus(String doctorId, String status) {
-        Optional<Doctor> doctorOptional = doctorRepository.findByDoctorId(doctorId);
+        Optional<Doctor> doctorOptional = doctorRepository.findById(doctorId);
         if (doctorOptional.isPresent()) {
             Doctor doctor = doctorOptional.get();
-            System.out.println("Updating status for doctorId=" + doctorId + " to " + status);
+            logger.info("Updating status for doctorId={} to {}", doctorId, status);
             doctor.setStatus(status);
             doctorRepository.save(doctor);
+            invalidateDirectory(doctorId);
             return true;
         }
-        System.out.println("Doctor not found for doctorId=" + doctorId);
+        logger.warn("Doctor not found for doctorId={}", doctorId);
         return false;
     }
 
     @Override
     public List<DoctorSummaryDTO> findAllDoctors() {
-        return doctorRepository.findAll().stream()
-                .map(this::toSummary)
-                .collect(Collectors.toList());
+        return getDoctorDirectory().getItems();
+    }
+
+    @Override
+    public DirectoryListing<DoctorSummaryDTO> getDoctorDirectory() {
+        return directoryCache.get(DIRECTORY_KEY, key -> DirectoryListing.of(
+                doctorRepository.findAll().stream().map(this::toSummary).collect(Collectors.toList()),
+                DoctorServiceImpl::fingerprint));
     }
 
     @Override
     public DoctorSummaryDTO createDoctor(DoctorCreateDTO createRequest) {
         Doctor doctor = new Doctor();
-        doctor.setDoctorId(generateDoctorId());
+        doctor.setDoctorId(staffIdGenerator.nextDoctorId());
         doctor.setName(createRequest.getName());
         doctor.setEmail(createRequest.getEmail());
-        doctor.setPassword(createRequest.getPassword());
+        doctor.setPassword(passwordService.hash(createRequest.getPassword()));
         doctor.setRole(createRequest.getRole() != null ? createRequest.getRole() : "DOCTOR");
         doctor.setStatus(createRequest.getStatus() != null ? createRequest.getStatus() : "Active");
         doctor.setDepartment(createRequest.getDepartment());
 
         Doctor saved = doctorRepository.save(doctor);
+        invalidateDirectory(saved.getDoctorId());
         return toSummary(saved);
     }
 
+    private void invalidateDirectory(String doctorId) {
+        directoryCache.invalidateAll();
+        doctorByIdCache.invalidate(doctorId);
+    }
+
+    private static String fingerprint(DoctorSummaryDTO d) {
+        return String.join("|", d.getDoctorId(), String.valueOf(d.getName()), String.valueOf(d.getEmail()),
+                String.valueOf(d.getRole()), String.valueOf(d.getStatus()), String.valueOf(d.getDepartment()),
+                String.valueOf(d.getCreatedAt()));
+    }
+
     private DoctorSummaryDTO toSummary(Doctor d) {
         return new DoctorSummaryDTO(
                 d.getDoctorId(),
@@ -146,12 +211,4 @@ public class DoctorServiceImpl implements DoctorService {
                 d.getDepartment(),
                 d.getCreatedAt());
     }
-
-    private String generateDoctorId() {
-        String id;
-        do {
-            id = "D" + System.currentTimeMillis();
-        } while (doctorRepository.existsByDoctorId(id));
-        return id;
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.arogith.api.service.impl;
+
+import java.math.BigDecimal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses free-text lab results and reference ranges into numeric values and computes
+ * the abnormal flag stored alongside them. The rules mirror the V7 backfill migration.
+ *
+ * Flags: N = within range, L / H = below / above range, LL / HH = beyond critical limits,
+ * null = result is not numeric or the reference range has no usable bound.
+ */
+public final class LabResultInterpreter {
+
+    public static final String FLAG_NORMAL = "N";
+    public static final String FLAG_LOW = "L";
+    public static final String FLAG_HIGH = "H";
+    public static final String FLAG_CRITICAL_LOW = "LL";
+    public static final String FLAG_CRITICAL_HIGH = "HH";
+
+    private static final int MAX_UNIT_LENGTH = 20;
+    private static final String NUMBER = "([-+]?\\d*\\.?\\d+)";
+
+    // The unit may not start with / - , . : or a digit, so "120/80 mmHg", "12-15" or "1:40" stay uninterpreted
+    private static final Pattern RESULT = Pattern.compile("^\\s*[<>]?=?\\s*" + NUMBER + "\\s*([^-/\\d.,:\\s].*)?$");
+    private static final Pattern RANGE_BETWEEN = Pattern.compile("^\\s*" + NUMBER + "\\s*(?:-|–|to)\\s*" + NUMBER + "\\s*(.*)$");
+    private static final Pattern RANGE_BELOW = Pattern.compile("^\\s*(?:<=?|≤|up to)\\s*" + NUMBER + "\\s*(.*)$");
+    private static final Pattern RANGE_ABOVE = Pattern.compile("^\\s*(?:>=?|≥)\\s*" + NUMBER + "\\s*(.*)$");
+
+    private LabResultInterpreter() {
+    }
+
+    public static Interpretation interpret(String result, String referenceRange) {
+        return interpret(result, referenceRange, null, null);
+    }
+
+    public static Interpretation interpret(String result, String referenceRange,
+            BigDecimal criticalLow, BigDecimal criticalHigh) {
+        BigDecimal value = null;
+        String unit = null;
+        if (result != null) {
+            Matcher m = RESULT.matcher(result);
+            if (m.matches()) {
+                value = new BigDecimal(m.group(1));
+                unit = cleanUnit(m.group(2));
+            }
+        }
+
+        BigDecimal low = null;
+        BigDecimal high = null;
+        String rangeUnit = null;
+        if (referenceRange != null) {
+            Matcher m = RANGE_BETWEEN.matcher(referenceRange);
+            if (m.matches()) {
+                low = new BigDecimal(m.group(1));
+                high = new BigDecimal(m.group(2));
+                rangeUnit = cleanUnit(m.group(3));
+            } else if ((m = RANGE_BELOW.matcher(referenceRange)).matches()) {
+                high = new BigDecimal(m.group(1));
+            } else if ((m = RANGE_ABOVE.matcher(referenceRange)).matches()) {
+                low = new BigDecimal(m.group(1));
+            }
+        }
+
+        return new Interpretation(value, unit != null ? unit : rangeUnit, low, high,
+                flag(value, low, high, criticalLow, criticalHigh));
+    }
+
+    static String flag(BigDecimal value, BigDecimal low, BigDecimal high,
+            BigDecimal criticalLow, BigDecimal criticalHigh) {
+        if (value == null || (low == null && high == null)) {
+            return null;
+        }
+        if (criticalLow != null && value.compareTo(criticalLow) < 0) {
+            return FLAG_CRITICAL_LOW;
+        }
+        if (criticalHigh != null && value.compareTo(criticalHigh) > 0) {
+            return FLAG_CRITICAL_HIGH;
+        }
+        if (low != null && value.compareTo(low) < 0) {
+            return FLAG_LOW;
+        }
+        if (high != null && value.compareTo(high) > 0) {
+            return FLAG_HIGH;
+        }
+        return FLAG_NORMAL;
+    }
+
+    private static String cleanUnit(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String unit = raw.trim();
+        if (unit.isEmpty()) {
+            return null;
+        }
+        return unit.length() > MAX_UNIT_LENGTH ? unit.substring(0, MAX_UNIT_LENGTH) : unit;
+    }
+
+    public static final class Interpretation {
+        private final BigDecimal value;
+        private final String unit;
+        private final BigDecimal referenceLow;
+        private final BigDecimal referenceHigh;
+        private final String flag;
+
+        Interpretation(BigDecimal value, String unit, BigDecimal referenceLow, BigDecimal referenceHigh, String flag) {
+            this.value = value;
+            this.unit = unit;
+            this.referenceLow = referenceLow;
+            this.referenceHigh = referenceHigh;
+            this.flag = flag;
+        }
+
+        public BigDecimal getValue() {
+            return value;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public BigDecimal getReferenceLow() {
+            return referenceLow;
+        }
+
+        public BigDecimal getReferenceHigh() {
+            return referenceHigh;
+        }
+
+        public String getFlag() {
+            return flag;
+        }
+    }
+}
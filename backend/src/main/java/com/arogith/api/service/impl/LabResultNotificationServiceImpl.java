@@ -0,0 +1,177 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.dto.LabResultNotificationDTO;
+import com.arogith.api.event.LabResultReadyEvent;
+import com.arogith.api.service.LabResultNotificationService;
+import com.arogith.api.sse.SseChannel;
+import com.arogith.api.sse.SseDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes lab result notifications to doctors over server-sent events.
+ *
+ * Committed results are coalesced per visit until the next flush, so a burst of
+ * results for one visit reaches each subscriber as a single event. The flush only queues
+ * events on each subscriber's {@link SseChannel}; they are written off the scheduler. When a
+ * client falls more than the queue capacity behind, its backlog is replaced by one
+ * "overflow" event carrying the number of notifications it missed, so it can re-fetch once.
+ */
+@Service
+public class LabResultNotificationServiceImpl implements LabResultNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LabResultNotificationServiceImpl.class);
+    private static final long KEEPALIVE_INTERVAL_MS = 15_000;
+
+    private final Map<Long, PendingNotification> pendingByVisit = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final SseDispatcher sseDispatcher;
+    private final long emitterTimeoutMs;
+    private final int queueCapacity;
+
+    public LabResultNotificationServiceImpl(SseDispatcher sseDispatcher,
+            @Value("${lab.notifications.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${lab.notifications.subscriber-queue-capacity:64}") int queueCapacity) {
+        this.sseDispatcher = sseDispatcher;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public SseEmitter subscribe(String doctorId, Set<Long> visitIds) {
+        boolean hasDoctor = doctorId != null && !doctorId.isBlank();
+        boolean hasVisits = visitIds != null && !visitIds.isEmpty();
+        if (!hasDoctor && !hasVisits) {
+            throw new IllegalArgumentException("doctorId or visitId is required to subscribe");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        SseChannel channel = sseDispatcher.open(emitter, queueCapacity,
+                missed -> SseEmitter.event().name("overflow").data(missed));
+        Subscriber subscriber = new Subscriber(channel, hasDoctor ? doctorId : null,
+                hasVisits ? Set.copyOf(visitIds) : Collections.emptySet());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        logger.info("Lab result subscriber added: doctorId={}, visitIds={} ({} open)",
+                doctorId, visitIds, subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLabResultReady(LabResultReadyEvent event) {
+        if (event.getVisitId() == null) {
+            return;
+        }
+        pendingByVisit.compute(event.getVisitId(), (visitId, pending) -> {
+            PendingNotification merged = pending != null ? pending : new PendingNotification(visitId);
+            merged.add(event);
+            return merged;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${lab.notifications.flush-interval-ms:500}")
+    public void flush() {
+        if (subscribers.isEmpty()) {
+            // Nobody listening - discard instead of building up state
+            pendingByVisit.clear();
+            return;
+        }
+
+        List<LabResultNotificationDTO> ready = new ArrayList<>();
+        for (Long visitId : pendingByVisit.keySet()) {
+            PendingNotification pending = pendingByVisit.remove(visitId);
+            if (pending != null) {
+                ready.add(pending.toDTO());
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            boolean open = true;
+            for (LabResultNotificationDTO notification : ready) {
+                if (open && subscriber.matches(notification)) {
+                    open = subscriber.channel.offer(SseEmitter.event().name("lab-results").data(notification));
+                }
+            }
+            if (!open || !subscriber.channel.keepAlive(now, KEEPALIVE_INTERVAL_MS)) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Results for one visit accumulated between two flushes
+    private static class PendingNotification {
+        private final Long visitId;
+        private String patientId;
+        private String doctorId;
+        private final Set<Long> testIds = new LinkedHashSet<>();
+        private final Set<String> testNames = new LinkedHashSet<>();
+        private LocalDateTime latestResultAt;
+
+        PendingNotification(Long visitId) {
+            this.visitId = visitId;
+        }
+
+        void add(LabResultReadyEvent event) {
+            if (event.getPatientId() != null) {
+                patientId = event.getPatientId();
+            }
+            if (event.getDoctorId() != null) {
+                doctorId = event.getDoctorId();
+            }
+            testIds.add(event.getTestId());
+            if (event.getTestName() != null) {
+                testNames.add(event.getTestName());
+            }
+            if (event.getResultUpdatedAt() != null
+                    && (latestResultAt == null || event.getResultUpdatedAt().isAfter(latestResultAt))) {
+                latestResultAt = event.getResultUpdatedAt();
+            }
+        }
+
+        LabResultNotificationDTO toDTO() {
+            return new LabResultNotificationDTO(visitId, patientId, doctorId,
+                    new ArrayList<>(testIds), new ArrayList<>(testNames), latestResultAt);
+        }
+    }
+
+    private static class Subscriber {
+        private final SseChannel channel;
+        private final String doctorId;
+        private final Set<Long> visitIds;
+
+        Subscriber(SseChannel channel, String doctorId, Set<Long> visitIds) {
+            this.channel = channel;
+            this.doctorId = doctorId;
+            this.visitIds = visitIds;
+        }
+
+        boolean matches(LabResultNotificationDTO notification) {
+            return (doctorId != null && doctorId.equals(notification.getDoctorId()))
+                    || visitIds.contains(notification.getVisitId());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.dto.LabCatalogEntryDTO;
+import com.arogith.api.model.LabTestCatalogEntry;
+import com.arogith.api.repository.LabTestCatalogRepository;
+import com.arogith.api.service.LabTestCatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory lab test catalog.
+ *
+ * The catalog table is small and changes rarely, so it is loaded into an immutable
+ * snapshot that is swapped atomically on reload. Lookups and autocomplete never touch
+ * the database; autocomplete is a binary search over the sorted lower-cased keys
+ * (names, codes and aliases).
+ */
+@Service
+public class LabTestCatalogServiceImpl implements LabTestCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LabTestCatalogServiceImpl.class);
+    private final LabTestCatalogRepository catalogRepository;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Autowired
+    public LabTestCatalogServiceImpl(LabTestCatalogRepository catalogRepository) {
+        this.catalogRepository = catalogRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    // Picks up catalog edits made directly in the database
+    @Scheduled(initialDelayString = "${lab.catalog.refresh-interval-ms:300000}",
+               fixedDelayString = "${lab.catalog.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        reload();
+    }
+
+    @Override
+    public int reload() {
+        try {
+            List<LabTestCatalogEntry> rows = catalogRepository.findByActiveTrue();
+            snapshot = Snapshot.of(rows.stream().map(LabTestCatalogServiceImpl::toEntry).collect(Collectors.toList()));
+            logger.info("Lab test catalog loaded with {} entries", rows.size());
+            return rows.size();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            logger.error("Failed to reload lab test catalog: {}", e.getMessage());
+            return snapshot.entries.size();
+        }
+    }
+
+    @Override
+    public Optional<LabCatalogEntryDTO> resolve(String nameOrCode) {
+        if (nameOrCode == null || nameOrCode.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.byKey.get(normalize(nameOrCode)));
+    }
+
+    @Override
+    public List<LabCatalogEntryDTO> autocomplete(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (prefix == null || prefix.isBlank()) {
+            return current.entries.subList(0, Math.min(limit, current.entries.size()));
+        }
+        String key = normalize(prefix);
+        int index = Arrays.binarySearch(current.sortedKeys, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        Set<LabCatalogEntryDTO> matches = new LinkedHashSet<>();
+        for (int i = index; i < current.sortedKeys.length && matches.size() < limit; i++) {
+            if (!current.sortedKeys[i].startsWith(key)) {
+                break;
+            }
+            matches.add(current.byKey.get(current.sortedKeys[i]));
+        }
+        return new ArrayList<>(matches);
+    }
+
+    @Override
+    public List<LabCatalogEntryDTO> getAllEntries() {
+        return snapshot.entries;
+    }
+
+    @Override
+    public Map<String, List<LabCatalogEntryDTO>> getPanels() {
+        return snapshot.panels;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static LabCatalogEntryDTO toEntry(LabTestCatalogEntry row) {
+        List<String> aliases = new ArrayList<>();
+        if (row.getAliases() != null) {
+            for (String alias : row.getAliases().split(",")) {
+                if (!alias.isBlank()) {
+                    aliases.add(alias.trim());
+                }
+            }
+        }
+        return new LabCatalogEntryDTO(row.getCode(), row.getName(), row.getPanel(), aliases, row.getUnit(),
+                row.getRefLow(), row.getRefHigh(), row.getCriticalLow(), row.getCriticalHigh(),
+                formatRange(row.getRefLow(), row.getRefHigh(), row.getUnit()));
+    }
+
+    // Same shapes LabResultInterpreter parses: "low-high unit", "<high unit", ">low unit"
+    private static String formatRange(BigDecimal low, BigDecimal high, String unit) {
+        String range;
+        if (low != null && high != null) {
+            range = low.toPlainString() + "-" + high.toPlainString();
+        } else if (high != null) {
+            range = "<" + high.toPlainString();
+        } else if (low != null) {
+            range = ">" + low.toPlainString();
+        } else {
+            return null;
+        }
+        return unit != null ? range + " " + unit : range;
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = of(Collections.emptyList());
+
+        final List<LabCatalogEntryDTO> entries;
+        final Map<String, LabCatalogEntryDTO> byKey;
+        final String[] sortedKeys;
+        final Map<String, List<LabCatalogEntryDTO>> panels;
+
+        private Snapshot(List<LabCatalogEntryDTO> entries, Map<String, LabCatalogEntryDTO> byKey,
+                Map<String, List<LabCatalogEntryDTO>> panels) {
+            this.entries = entries;
+            this.byKey = byKey;
+            this.sortedKeys = byKey.keySet().stream().sorted().toArray(String[]::new);
+            this.panels = panels;
+        }
+
+        static Snapshot of(List<LabCatalogEntryDTO> loaded) {
+            List<LabCatalogEntryDTO> sorted = new ArrayList<>(loaded);
+            sorted.sort(Comparator.comparing(LabCatalogEntryDTO::getName, String.CASE_INSENSITIVE_ORDER));
+
+            // Names and codes win over aliases when they collide
+            Map<String, LabCatalogEntryDTO> byKey = new HashMap<>();
+            for (LabCatalogEntryDTO entry : sorted) {
+                for (String alias : entry.getAliases()) {
+                    byKey.putIfAbsent(normalize(alias), entry);
+                }
+            }
+            for (LabCatalogEntryDTO entry : sorted) {
+                byKey.put(normalize(entry.getCode()), entry);
+            }
+            for (LabCatalogEntryDTO entry : sorted) {
+                byKey.put(normalize(entry.getName()), entry);
+            }
+
+            Map<String, List<LabCatalogEntryDTO>> panels = new TreeMap<>();
+            for (LabCatalogEntryDTO entry : sorted) {
+                if (entry.getPanel() != null) {
+                    panels.computeIfAbsent(entry.getPanel(), p -> new ArrayList<>()).add(entry);
+                }
+            }
+            Map<String, List<LabCatalogEntryDTO>> frozenPanels = new LinkedHashMap<>();
+            panels.forEach((panel, tests) -> frozenPanels.put(panel, List.copyOf(tests)));
+
+            return new Snapshot(List.copyOf(sorted), Map.copyOf(byKey), Collections.unmodifiableMap(frozenPanels));
+        }
+    }
+}
@@ -1,34 +1,67 @@
 package com.arogith.api.service.impl;
 
+import com.arogith.api.dto.LabCatalogEntryDTO;
+import com.arogith.api.dto.LabResultUpdateDTO;
+import com.arogith.api.dto.LabResultUpdateOutcomeDTO;
+import com.arogith.api.dto.LabSeriesDTO;
+import com.arogith.api.dto.LabSeriesPointDTO;
 import com.arogith.api.dto.LabTestDTO;
+import com.arogith.api.dto.LabWorklistDTO;
+import com.arogith.api.event.LabResultReadyEvent;
 import com.arogith.api.model.LabTest;
+import com.arogith.api.repository.LabTestBulkRepository;
 import com.arogith.api.repository.LabTestRepository;
+import com.arogith.api.repository.VisitRepository;
+import com.arogith.api.service.ChangeEventService;
+import com.arogith.api.service.LabTestCatalogService;
 import com.arogith.api.service.LabTestService;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class LabTestServiceImpl implements LabTestService {
 
     private static final Logger logger = LoggerFactory.getLogger(LabTestServiceImpl.class);
+    private static final int MAX_WORKLIST_PAGE_SIZE = 200;
+    private static final int MAX_BULK_RESULT_UPDATES = 1000;
     private final LabTestRepository labTestRepository;
+    private final VisitRepository visitRepository;
+    private final LabTestCatalogService labTestCatalogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeEventService changeEventService;
 
     @Autowired
-    public LabTestServiceImpl(LabTestRepository labTestRepository) {
+    public LabTestServiceImpl(LabTestRepository labTestRepository, VisitRepository visitRepository,
+                              LabTestCatalogService labTestCatalogService,
+                              ApplicationEventPublisher eventPublisher, ChangeEventService changeEventService) {
         this.labTestRepository = labTestRepository;
+        this.visitRepository = visitRepository;
+        this.labTestCatalogService = labTestCatalogService;
+        this.eventPublisher = eventPublisher;
+        this.changeEventService = changeEventService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LabTestDTO> getAllLabTests() {
         logger.info("Fetching all lab tests");
         List<LabTest> labTests = labTestRepository.findAll();
@@ -37,6 +70,7 @@ public class LabTestServiceImpl implements LabTestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LabTestDTO getLabTestById(Long testId) {
         logger.info("Fetching lab test with ID: {}", testId);
         LabTest labTest = labTestRepository.findById(testId)
@@ -146,6 +180,12 @@ public class LabTestServiceImpl implements LabTestService {
                 testName = "Unknown Test";
             }
             
+            // Normalize codes and aliases (e.g. "FBS") to the canonical catalog name
+            Optional<LabCatalogEntryDTO> catalogEntry = labTestCatalogService.resolve(testName);
+            if (catalogEntry.isPresent()) {
+                testName = catalogEntry.get().getName();
+            }
+            
             labTest.setTestName(testName);
             
             // Set result (optional)
@@ -167,20 +207,26 @@ public class LabTestServiceImpl implements LabTestService {
                     logger.warn("Could not access reference_range property via reflection: {}", e.getMessage());
                 }
                 
-                // If still null, use a default
+                // Fall back to the catalog default, then to a placeholder
+                if ((referenceRange == null || referenceRange.isEmpty()) && catalogEntry.isPresent()) {
+                    referenceRange = catalogEntry.get().getReferenceRange();
+                }
                 if (referenceRange == null || referenceRange.isEmpty()) {
                     referenceRange = "Pending";
                 }
             }
             
             labTest.setReferenceRange(referenceRange);
+            applyInterpretation(labTest);
             
             // Set status (optional with default)
             String status = labTestDTO.getStatus();
             labTest.setStatus(status != null ? status : "pending");
             
-            // Set timestamps (testGivenAt will be set by the database if null)
-            labTest.setTestGivenAt(labTestDTO.getTestGivenAt());
+            // Set timestamps - an explicit NULL would bypass the column default, so stamp it here
+            labTest.setTestGivenAt(labTestDTO.getTestGivenAt() != null ? 
+                                   labTestDTO.getTestGivenAt() : 
+                                   LocalDateTime.now());
             
             // Only set resultUpdatedAt if result is provided
             if (result != null && !result.isEmpty()) {
@@ -191,6 +237,11 @@ public class LabTestServiceImpl implements LabTestService {
             
             LabTest savedLabTest = labTestRepository.save(labTest);
             logger.info("Lab test created with ID: {}", savedLabTest.getTestId());
+            changeEventService.labTestAdded(savedLabTest);
+            
+            if (result != null && !result.isEmpty()) {
+                publishResultReady(savedLabTest);
+            }
             
             return convertToDTO(savedLabTest);
         } catch (Exception e) {
@@ -209,14 +260,16 @@ public class LabTestServiceImpl implements LabTestService {
         
         // Update fields if provided
         if (labTestDTO.getName() != null) {
-            labTest.setTestName(labTestDTO.getName());
+            labTest.setTestName(canonicalTestName(labTestDTO.getName()));
         }
         
         // Update result and set result_updated_at timestamp if result has changed
+        boolean resultChanged = false;
         if (labTestDTO.getResult() != null && !labTestDTO.getResult().equals(labTest.getResult())) {
             labTest.setResult(labTestDTO.getResult());
             // Set the result update timestamp to now
             labTest.setResultUpdatedAt(java.time.LocalDateTime.now());
+            resultChanged = !labTestDTO.getResult().isEmpty();
         }
         
         if (labTestDTO.getReferenceRange() != null) {
@@ -227,6 +280,8 @@ public class LabTestServiceImpl implements LabTestService {
             labTest.setStatus(labTestDTO.getStatus());
         }
         
+        applyInterpretation(labTest);
+        
         // Update patientId if provided
         if (labTestDTO.getPatientId() != null && !labTestDTO.getPatientId().isEmpty()) {
             labTest.setPatientId(labTestDTO.getPatientId());
@@ -243,10 +298,105 @@ public class LabTestServiceImpl implements LabTestService {
         
         LabTest updatedLabTest = labTestRepository.save(labTest);
         logger.info("Lab test updated with ID: {}", updatedLabTest.getTestId());
+        changeEventService.labTestUpdated(updatedLabTest);
+        
+        if (resultChanged) {
+            publishResultReady(updatedLabTest);
+        }
         
         return convertToDTO(updatedLabTest);
     }
 
+    @Override
+    @Transactional
+    public List<LabResultUpdateOutcomeDTO> updateLabResults(List<LabResultUpdateDTO> updates) {
+        if (updates.size() > MAX_BULK_RESULT_UPDATES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_RESULT_UPDATES + " results can be updated per request");
+        }
+        logger.info("Bulk updating {} lab results", updates.size());
+        
+        // Last occurrence of a test ID wins; earlier duplicates are reported as invalid
+        Map<Long, Integer> lastIndexById = new HashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (updates.get(i).getTestId() != null) {
+                lastIndexById.put(updates.get(i).getTestId(), i);
+            }
+        }
+        
+        Map<Long, LabTestBulkRepository.ResultRow> current = labTestRepository.lockForResultUpdate(lastIndexById.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        List<LabTestBulkRepository.ResultRow> changedRows = new ArrayList<>();
+        List<LabResultUpdateOutcomeDTO> outcomes = new ArrayList<>(updates.size());
+        
+        for (int i = 0; i < updates.size(); i++) {
+            LabResultUpdateDTO update = updates.get(i);
+            Long testId = update.getTestId();
+            if (testId == null) {
+                outcomes.add(new LabResultUpdateOutcomeDTO(null, LabResultUpdateOutcomeDTO.INVALID, false, null, "testId is required"));
+                continue;
+            }
+            if (lastIndexById.get(testId) != i) {
+                outcomes.add(new LabResultUpdateOutcomeDTO(testId, LabResultUpdateOutcomeDTO.INVALID, false, null,
+                        "Superseded by a later entry for the same testId"));
+                continue;
+            }
+            if (update.getResult() == null && update.getStatus() == null) {
+                outcomes.add(new LabResultUpdateOutcomeDTO(testId, LabResultUpdateOutcomeDTO.INVALID, false, null,
+                        "result or status is required"));
+                continue;
+            }
+            LabTestBulkRepository.ResultRow row = current.get(testId);
+            if (row == null) {
+                outcomes.add(new LabResultUpdateOutcomeDTO(testId, LabResultUpdateOutcomeDTO.NOT_FOUND, false, null,
+                        "Lab test not found with ID: " + testId));
+                continue;
+            }
+            
+            boolean resultChanged = update.getResult() != null && !update.getResult().equals(row.getResult());
+            boolean statusChanged = update.getStatus() != null && !update.getStatus().equals(row.getStatus());
+            if (!resultChanged && !statusChanged) {
+                outcomes.add(new LabResultUpdateOutcomeDTO(testId, LabResultUpdateOutcomeDTO.UNCHANGED, false, null, null));
+                continue;
+            }
+            
+            if (resultChanged) {
+                row.setResult(update.getResult());
+            }
+            if (statusChanged) {
+                row.setStatus(update.getStatus());
+            }
+            LabResultInterpreter.Interpretation interpretation =
+                    interpretWithCatalog(row.getTestName(), row.getResult(), row.getReferenceRange());
+            row.setResultValue(interpretation.getValue());
+            row.setResultUnit(interpretation.getUnit());
+            row.setRefLow(interpretation.getReferenceLow());
+            row.setRefHigh(interpretation.getReferenceHigh());
+            row.setAbnormalFlag(interpretation.getFlag());
+            row.setResultChanged(resultChanged);
+            if (resultChanged) {
+                row.setResultUpdatedAt(now);
+            }
+            changedRows.add(row);
+            outcomes.add(new LabResultUpdateOutcomeDTO(testId, LabResultUpdateOutcomeDTO.UPDATED, resultChanged,
+                    interpretation.getFlag(), null));
+        }
+        
+        if (!changedRows.isEmpty()) {
+            int updated = labTestRepository.applyResultUpdates(changedRows, now);
+            logger.info("Bulk result update touched {} rows", updated);
+            // The rows are still locked, so these events take their event_ids in commit order as well
+            changeEventService.labTestsUpdated(changedRows);
+        }
+        
+        for (LabTestBulkRepository.ResultRow row : changedRows) {
+            if (row.isResultChanged() && !row.getResult().isEmpty()) {
+                eventPublisher.publishEvent(new LabResultReadyEvent(row.getTestId(), row.getVisitId(),
+                        row.getPatientId(), row.getDoctorId(), row.getTestName(), row.getStatus(), now));
+            }
+        }
+        return outcomes;
+    }
+
     @Override
     @Transactional
     public void deleteLabTest(Long testId) {
@@ -260,6 +410,54 @@ public class LabTestServiceImpl implements LabTestService {
         logger.info("Lab test deleted with ID: {}", testId);
     }
     
+    // Normalizes codes and aliases (e.g. "FBS") to the canonical catalog name, as addLabTest does
+    private String canonicalTestName(String testName) {
+        return labTestCatalogService.resolve(testName)
+                .map(LabCatalogEntryDTO::getName)
+                .orElse(testName);
+    }
+
+    // Parse the free-text result / range into the structured columns and compute the abnormal flag
+    private void applyInterpretation(LabTest labTest) {
+        LabResultInterpreter.Interpretation interpretation =
+                interpretWithCatalog(labTest.getTestName(), labTest.getResult(), labTest.getReferenceRange());
+        labTest.setResultValue(interpretation.getValue());
+        labTest.setResultUnit(interpretation.getUnit());
+        labTest.setRefLow(interpretation.getReferenceLow());
+        labTest.setRefHigh(interpretation.getReferenceHigh());
+        labTest.setAbnormalFlag(interpretation.getFlag());
+    }
+    
+    // Critical limits and the default unit come from the in-memory catalog
+    private LabResultInterpreter.Interpretation interpretWithCatalog(String testName, String result, String referenceRange) {
+        LabCatalogEntryDTO catalogEntry = labTestCatalogService.resolve(testName).orElse(null);
+        if (catalogEntry == null) {
+            return LabResultInterpreter.interpret(result, referenceRange);
+        }
+        LabResultInterpreter.Interpretation interpretation = LabResultInterpreter.interpret(result, referenceRange,
+                catalogEntry.getCriticalLow(), catalogEntry.getCriticalHigh());
+        if (interpretation.getUnit() == null && interpretation.getValue() != null) {
+            return new LabResultInterpreter.Interpretation(interpretation.getValue(), catalogEntry.getUnit(),
+                    interpretation.getReferenceLow(), interpretation.getReferenceHigh(), interpretation.getFlag());
+        }
+        return interpretation;
+    }
+    
+    // Notify subscribed doctors once the surrounding transaction commits
+    private void publishResultReady(LabTest labTest) {
+        String doctorId = labTest.getVisitId() != null
+                ? visitRepository.findDoctorIdByVisitId(labTest.getVisitId()).orElse(null)
+                : null;
+        eventPublisher.publishEvent(new LabResultReadyEvent(
+                labTest.getTestId(),
+                labTest.getVisitId(),
+                labTest.getPatientId(),
+                doctorId,
+                labTest.getTestName(),
+                labTest.getStatus(),
+                labTest.getResultUpdatedAt()));
+    }
+    
     // Helper method to convert LabTest entity to LabTestDTO
     private LabTestDTO convertToDTO(LabTest labTest) {
         LabTestDTO dto = new LabTestDTO();
@@ -270,6 +468,11 @@ public class LabTestServiceImpl implements LabTestService {
         dto.setResult(labTest.getResult());
         dto.setReferenceRange(labTest.getReferenceRange());
         dto.setStatus(labTest.getStatus());
+        dto.setResultValue(labTest.getResultValue());
+        dto.setResultUnit(labTest.getResultUnit());
+        dto.setReferenceLow(labTest.getRefLow());
+        dto.setReferenceHigh(labTest.getRefHigh());
+        dto.setAbnormalFlag(labTest.getAbnormalFlag());
         
         // Ensure both camelCase and snake_case date fields are set
         LocalDateTime testDate = labTest.getTestGivenAt();
@@ -377,4 +580,108 @@ public class LabTestServiceImpl implements LabTestService {
             return 0;
         }
     }
-} 
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LabTestDTO> getAbnormalResultsByDay(LocalDate day) {
+        logger.info("Fetching abnormal lab results for {}", day);
+        List<LabTest> labTests = labTestRepository.findAbnormalBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        logger.info("Found {} abnormal lab results for {}", labTests.size(), day);
+        return labTests.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LabTestDTO> getAbnormalResultsByPatientId(String patientId) {
+        logger.info("Fetching abnormal lab results for patient ID: {}", patientId);
+        List<LabTest> labTests = labTestRepository.findAbnormalByPatientId(patientId);
+        logger.info("Found {} abnormal lab results for patient ID: {}", labTests.size(), patientId);
+        return labTests.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LabSeriesDTO getLabSeries(String patientId, String testName, Integer maxPoints) {
+        logger.info("Fetching {} series for patient ID: {} (maxPoints={})", testName, patientId, maxPoints);
+        List<LabTestRepository.SeriesPoint> rows = labTestRepository.findSeriesByPatientIdAndTestName(patientId, testName);
+        
+        List<LabTestRepository.SeriesPoint> selected = rows;
+        if (maxPoints != null && maxPoints > 0) {
+            selected = LttbDownsampler.downsample(rows, Math.max(maxPoints, 3),
+                    p -> p.getTestGivenAt().toEpochSecond(ZoneOffset.UTC),
+                    p -> p.getResultValue().doubleValue());
+        }
+        
+        // Unit and reference bounds come from the most recent point that has them
+        String unit = null;
+        BigDecimal refLow = null;
+        BigDecimal refHigh = null;
+        for (int i = rows.size() - 1; i >= 0 && (unit == null || (refLow == null && refHigh == null)); i--) {
+            LabTestRepository.SeriesPoint row = rows.get(i);
+            if (unit == null) {
+                unit = row.getResultUnit();
+            }
+            if (refLow == null && refHigh == null) {
+                refLow = row.getRefLow();
+                refHigh = row.getRefHigh();
+            }
+        }
+        
+        List<LabSeriesPointDTO> points = selected.stream()
+                .map(p -> new LabSeriesPointDTO(p.getTestId(), p.getVisitId(), p.getTestGivenAt(),
+                        p.getResultValue(), p.getAbnormalFlag()))
+                .collect(Collectors.toList());
+        logger.info("Returning {} of {} points for {} / patient ID: {}", points.size(), rows.size(), testName, patientId);
+        return new LabSeriesDTO(patientId, testName, unit, refLow, refHigh, rows.size(),
+                points.size() < rows.size(), points);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LabWorklistDTO getPendingWorklist(String testName, LocalDate fromDate, LocalDate toDate, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_WORKLIST_PAGE_SIZE));
+        String nameFilter = (testName == null || testName.isBlank()) ? null : testName.trim();
+        LocalDateTime fromTime = fromDate != null ? fromDate.atStartOfDay() : null;
+        LocalDateTime toTime = toDate != null ? toDate.plusDays(1).atStartOfDay() : null;
+        
+        LocalDateTime afterGivenAt = null;
+        Long afterTestId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                afterGivenAt = LocalDateTime.parse(cursor.substring(0, separator));
+                afterTestId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid worklist cursor: " + cursor);
+            }
+        }
+        
+        logger.info("Fetching lab worklist: testName={}, from={}, to={}, cursor={}, limit={}", 
+                nameFilter, fromDate, toDate, cursor, pageSize);
+        
+        // Fetch one extra row to know whether another page exists
+        List<LabTest> rows = labTestRepository.findPendingWorklist(
+                nameFilter, fromTime, toTime, afterGivenAt, afterTestId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            LabTest last = rows.get(rows.size() - 1);
+            nextCursor = last.getTestGivenAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "_" + last.getTestId();
+        }
+        
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long totalPending = 0;
+        for (LabTestRepository.TestNameCount count : labTestRepository.countPendingByTestName(fromTime, toTime)) {
+            counts.put(count.getTestName(), count.getCount());
+            totalPending += count.getCount();
+        }
+        
+        List<LabTestDTO> items = rows.stream().map(this::convertToDTO).collect(Collectors.toList());
+        logger.info("Returning {} worklist items ({} pending in range)", items.size(), totalPending);
+        return new LabWorklistDTO(items, nextCursor, hasMore, counts, totalPending);
+    }
+}
@@ -0,0 +1,72 @@
+package com.arogith.api.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013).
+ *
+ * Keeps the first and last points and, for every bucket in between, the point forming
+ * the largest triangle with the previously kept point and the average of the next bucket.
+ * Peaks and troughs survive, which matters for lab trends where the outliers are the story.
+ */
+public final class LttbDownsampler {
+
+    private LttbDownsampler() {
+    }
+
+    public static <T> List<T> downsample(List<T> points, int threshold,
+            ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        int size = points.size();
+        if (threshold >= size || threshold < 3) {
+            return points;
+        }
+
+        List<T> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int a = 0;
+        sampled.add(points.get(a));
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // Average of the next bucket (the last point for the final bucket)
+            int nextStart = (int) Math.floor((i + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((i + 2) * bucketSize) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += x.applyAsDouble(points.get(j));
+                avgY += y.applyAsDouble(points.get(j));
+            }
+            int nextLength = nextEnd - nextStart;
+            if (nextLength > 0) {
+                avgX /= nextLength;
+                avgY /= nextLength;
+            } else {
+                avgX = x.applyAsDouble(points.get(size - 1));
+                avgY = y.applyAsDouble(points.get(size - 1));
+            }
+
+            // Pick the point in the current bucket with the largest triangle area
+            int start = (int) Math.floor(i * bucketSize) + 1;
+            int end = (int) Math.floor((i + 1) * bucketSize) + 1;
+            double ax = x.applyAsDouble(points.get(a));
+            double ay = y.applyAsDouble(points.get(a));
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int j = start; j < end; j++) {
+                double area = Math.abs((ax - avgX) * (y.applyAsDouble(points.get(j)) - ay)
+                        - (ax - x.applyAsDouble(points.get(j))) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = j;
+                }
+            }
+            sampled.add(points.get(maxIndex));
+            a = maxIndex;
+        }
+
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+}
@@ -1,13 +1,19 @@
 package com.arogith.api.service.impl;
 
+import com.arogith.api.cache.SecondLevelCache;
 import com.arogith.api.dto.PatientDTO;
 import com.arogith.api.dto.PatientRegistrationDTO;
 import com.arogith.api.dto.PatientResponseDTO;
 import com.arogith.api.model.Patient;
+import com.arogith.api.model.PatientPhoto;
 import com.arogith.api.model.Visit;
+import com.arogith.api.repository.PatientPhotoRepository;
 import com.arogith.api.repository.PatientRepository;
 import com.arogith.api.repository.VisitRepository;
+import com.arogith.api.service.ChangeEventService;
+import com.arogith.api.service.DoctorAssignmentService;
 import com.arogith.api.service.PatientService;
+import com.arogith.api.service.VisitWorkloadService;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,7 +24,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,30 +35,47 @@ public class PatientServiceImpl implements PatientService {
 
     private static final Logger logger = LoggerFactory.getLogger(PatientServiceImpl.class);
     private final PatientRepository patientRepository;
+    private final PatientPhotoRepository photoRepository;
     private final VisitRepository visitRepository;
+    private final VisitWorkloadService workloadService;
+    private final DoctorAssignmentService assignmentService;
+    private final SecondLevelCache secondLevelCache;
+    private final ChangeEventService changeEventService;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm a");
+    // Stays well below PostgreSQL's bind parameter limit
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
 
     @Autowired
-    public PatientServiceImpl(PatientRepository patientRepository, VisitRepository visitRepository) {
+    public PatientServiceImpl(PatientRepository patientRepository, PatientPhotoRepository photoRepository,
+                              VisitRepository visitRepository, VisitWorkloadService workloadService,
+                              DoctorAssignmentService assignmentService, SecondLevelCache secondLevelCache,
+                              ChangeEventService changeEventService) {
         this.patientRepository = patientRepository;
+        this.photoRepository = photoRepository;
         this.visitRepository = visitRepository;
+        this.workloadService = workloadService;
+        this.assignmentService = assignmentService;
+        this.secondLevelCache = secondLevelCache;
+        this.changeEventService = changeEventService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PatientDTO> getAllPatients() {
         logger.info("Fetching all patients");
         List<Patient> patients = patientRepository.findAll();
         logger.info("Found {} patients in database", patients.size());
-        return patients.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return convertToDTOs(patients);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PatientDTO getPatientById(String patientId) {
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new EntityNotFoundException("Patient not found with ID: " + patientId));
-        return convertToDTO(patient);
+        return convertToDTO(patient, findPhoto(patientId), findLatestVisit(patientId));
     }
 
     @Override
@@ -60,13 +85,14 @@ public class PatientServiceImpl implements PatientService {
                 .orElseThrow(() -> new EntityNotFoundException("Patient not found with ID: " + patientId));
         
         // Force refresh from the database to ensure we have the latest visit data
-        List<Visit> latestVisits = visitRepository.findLatestVisitsByPatientId(patientId);
-        logger.info("Found {} recent visits for patient ID: {}", latestVisits.size(), patientId);
+        Visit latestVisit = findLatestVisit(patientId);
+        logger.info("Found {} recent visits for patient ID: {}", latestVisit != null ? 1 : 0, patientId);
         
-        return convertToDTO(patient);
+        return convertToDTO(patient, findPhoto(patientId), latestVisit);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PatientDTO> getPatientsByVisitDateCategory(String category) {
         List<Visit> visits;
         
@@ -88,7 +114,7 @@ public class PatientServiceImpl implements PatientService {
                 .distinct()
                 .collect(Collectors.toList());
         
-        return patients.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return convertToDTOs(patients);
     }
 
     @Override
@@ -112,6 +138,7 @@ public class PatientServiceImpl implements PatientService {
         
         Patient patient;
         boolean isNewPatient = false;
+        byte[] photo = null;
         
         if (existingPatientByAadhar.isPresent()) {
             // Patient with this Aadhar already exists
@@ -162,8 +189,7 @@ public class PatientServiceImpl implements PatientService {
                         base64Image = base64Image.split(",")[1];
                     }
                     // Decode the Base64 string
-                    byte[] decodedPhoto = Base64.getDecoder().decode(base64Image);
-                    patient.setPhoto(decodedPhoto);
+                    photo = Base64.getDecoder().decode(base64Image);
                     logger.info("Photo processed successfully");
                 } catch (IllegalArgumentException e) {
                     logger.error("Invalid Base64 encoding in photo: {}", e.getMessage());
@@ -180,6 +206,11 @@ public class PatientServiceImpl implements PatientService {
             // Save the patient to generate the ID
             patient = patientRepository.save(patient);
             logger.info("Patient saved with ID: {}", patient.getPatientId());
+            if (photo != null) {
+                // The photo is written as an update of the row inserted here
+                patientRepository.flush();
+                photoRepository.save(new PatientPhoto(patient.getPatientId(), photo));
+            }
         }
         
         // Create a new visit record (for both new and existing patients)
@@ -195,10 +226,25 @@ public class PatientServiceImpl implements PatientService {
         visit.setStatus(registrationDTO.getStatus());
         visit.setVisitDate(LocalDateTime.now());
         
+        // Assign a doctor; saved with the visit, and the queue count is released if this transaction rolls back
+        if (registrationDTO.getDoctorId() != null && !registrationDTO.getDoctorId().isBlank()) {
+            visit.setDoctorId(registrationDTO.getDoctorId());
+            assignmentService.reserve(registrationDTO.getDoctorId());
+        } else {
+            assignmentService.assign(registrationDTO.getDepartment()).ifPresentOrElse(
+                visit::setDoctorId,
+                () -> logger.info("No available doctor for department {}; visit left unassigned",
+                                  registrationDTO.getDepartment()));
+        }
+        
         logger.info("Saving visit for patient");
+        workloadService.stampDepartment(visit);
         // Save the visit
         Visit savedVisit = visitRepository.save(visit);
         logger.info("Visit saved with ID: {}", savedVisit.getVisitId());
+        workloadService.recordChange(null, workloadService.contributionOf(savedVisit));
+        // The visits insert trigger bumps patients.total_visits behind Hibernate's back
+        secondLevelCache.evictAfterCommit(Patient.class, patient.getPatientId());
         
         // Only increment total_visits for existing patients
         // For new patients, leave total_visits at 0 until a prescription is explicitly saved
@@ -209,17 +255,25 @@ public class PatientServiceImpl implements PatientService {
             patient = patientRepository.save(patient);
         }
         
+        if (isNewPatient) {
+            changeEventService.patientRegistered(patient);
+        }
+        changeEventService.visitCreated(savedVisit);
+        
         // Convert patient to DTO
         PatientDTO patientDTO = getPatientById(patient.getPatientId());
         
         // Create and return the appropriate response
+        PatientResponseDTO response;
         if (isNewPatient) {
             logger.info("Patient registration process completed successfully for new patient");
-            return PatientResponseDTO.forNewPatient(patientDTO);
+            response = PatientResponseDTO.forNewPatient(patientDTO);
         } else {
             logger.info("Patient visit added successfully for existing patient");
-            return PatientResponseDTO.forExistingPatient(patientDTO);
+            response = PatientResponseDTO.forExistingPatient(patientDTO);
         }
+        response.setAssignedDoctorId(savedVisit.getDoctorId());
+        return response;
     }
 
     @Override
@@ -260,7 +314,7 @@ public class PatientServiceImpl implements PatientService {
                     base64Image = base64Image.split(",")[1];
                 }
                 byte[] decodedPhoto = Base64.getDecoder().decode(base64Image);
-                patient.setPhoto(decodedPhoto);
+                photoRepository.save(new PatientPhoto(patientId, decodedPhoto));
             } catch (Exception e) {
                 logger.error("Error processing photo: {}", e.getMessage(), e);
                 // Continue without updating photo
@@ -271,10 +325,11 @@ public class PatientServiceImpl implements PatientService {
         Patient updatedPatient = patientRepository.save(patient);
         logger.info("Patient updated successfully");
         
-        return convertToDTO(updatedPatient);
+        return convertToDTO(updatedPatient, findPhoto(patientId), findLatestVisit(patientId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PatientDTO> searchPatients(String query) {
         if (query == null || query.trim().isEmpty()) {
             return getAllPatients();
@@ -292,8 +347,7 @@ public class PatientServiceImpl implements PatientService {
                         (patient.getAadharNumber() != null && 
                          patient.getAadharNumber().contains(query))
                 )
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.collectingAndThen(Collectors.toList(), this::convertToDTOs));
     }
 
     @Override
@@ -316,7 +370,7 @@ public class PatientServiceImpl implements PatientService {
                     visit.setTemperature("98.6°F");
                 }
                 
-                visitRepository.save(visit);
+                changeEventService.visitUpdated(visitRepository.save(visit));
                 updatedCount++;
                 logger.info("Updated temperature for visit ID: {} to {}", visit.getVisitId(), visit.getTemperature());
             }
@@ -326,8 +380,38 @@ public class PatientServiceImpl implements PatientService {
         return updatedCount;
     }
 
-    // Helper method to convert Patient entity to PatientDTO
-    private PatientDTO convertToDTO(Patient patient) {
+    private byte[] findPhoto(String patientId) {
+        return photoRepository.findById(patientId).map(PatientPhoto::getPhoto).orElse(null);
+    }
+
+    private Visit findLatestVisit(String patientId) {
+        List<Visit> visits = visitRepository.findLatestVisitsByPatientId(patientId);
+        return visits.isEmpty() ? null : visits.get(0);
+    }
+
+    // Photos and latest visits for a list are read in chunks rather than looked up one patient at a time
+    private List<PatientDTO> convertToDTOs(List<Patient> patients) {
+        Map<String, byte[]> photos = new HashMap<>();
+        Map<String, Visit> latestVisits = new HashMap<>();
+        for (int from = 0; from < patients.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> ids = patients.subList(from, Math.min(patients.size(), from + LOOKUP_CHUNK_SIZE)).stream()
+                    .map(Patient::getPatientId)
+                    .collect(Collectors.toList());
+            for (Object[] row : photoRepository.findPhotos(ids)) {
+                photos.put((String) row[0], (byte[]) row[1]);
+            }
+            for (Visit visit : visitRepository.findLatestVisitsByPatientIds(ids)) {
+                latestVisits.put(visit.getPatientId(), visit);
+            }
+        }
+        return patients.stream()
+                .map(patient -> convertToDTO(patient, photos.get(patient.getPatientId()),
+                        latestVisits.get(patient.getPatientId())))
+                .collect(Collectors.toList());
+    }
+
+    // Helper method to convert Patient entity to PatientDTO; latestVisit fills the visit fields when present
+    private PatientDTO convertToDTO(Patient patient, byte[] photo, Visit latestVisit) {
         PatientDTO dto = new PatientDTO();
         dto.setPatientId(patient.getPatientId());
         dto.setSurname(patient.getSurname());
@@ -342,14 +426,11 @@ public class PatientServiceImpl implements PatientService {
         dto.setTotalVisits(patient.getTotalVisits());
         
         // Set photo as Base64 string if available
-        if (patient.getPhoto() != null) {
-            dto.setPhoto("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(patient.getPhoto()));
+        if (photo != null) {
+            dto.setPhoto("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(photo));
         }
         
-        // Retrieve the most recent visit to populate additional fields
-        List<Visit> visits = visitRepository.findLatestVisitsByPatientId(patient.getPatientId());
-        if (!visits.isEmpty()) {
-            Visit latestVisit = visits.get(0);
+        if (latestVisit != null) {
             dto.setRegNo(latestVisit.getRegNo());
             dto.setOpNo(latestVisit.getOpNo());
             dto.setBp(latestVisit.getBp());
@@ -0,0 +1,59 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.cache.ResourceVersion;
+import com.arogith.api.repository.ResourceVersionRepository;
+import com.arogith.api.service.ResourceVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Read-only so that, with a read replica, the version comes from the same server as the body it
+// tags; a version from the primary could label a body the replica has not caught up with yet
+@Service
+@Transactional(readOnly = true)
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final ResourceVersionRepository versionRepository;
+
+    @Autowired
+    public ResourceVersionServiceImpl(ResourceVersionRepository versionRepository) {
+        this.versionRepository = versionRepository;
+    }
+
+    @Override
+    public Optional<ResourceVersion> getPatientVersion(String patientId) {
+        return versionRepository.findPatient(patientId);
+    }
+
+    @Override
+    public Optional<ResourceVersion> getVisitVersion(Long visitId) {
+        return versionRepository.findVisit(visitId);
+    }
+
+    @Override
+    public ResourceVersion getVisitsByPatientVersion(String patientId) {
+        return versionRepository.findVisitsByPatient(patientId);
+    }
+
+    @Override
+    public ResourceVersion getTodayVisitsVersion() {
+        return versionRepository.findTodayVisits();
+    }
+
+    @Override
+    public ResourceVersion getYesterdayVisitsVersion() {
+        return versionRepository.findYesterdayVisits();
+    }
+
+    @Override
+    public Optional<ResourceVersion> getLabTestVersion(Long testId) {
+        return versionRepository.findLabTest(testId);
+    }
+
+    @Override
+    public ResourceVersion getLabTestsByVisitVersion(Long visitId) {
+        return versionRepository.findLabTestsByVisit(visitId);
+    }
+}
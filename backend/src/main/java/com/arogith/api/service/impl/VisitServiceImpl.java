@@ -1,12 +1,17 @@
 package com.arogith.api.service.impl;
 
+import com.arogith.api.cache.SecondLevelCache;
 import com.arogith.api.dto.LabTestDTO;
 import com.arogith.api.dto.VisitDTO;
 import com.arogith.api.model.Patient;
 import com.arogith.api.model.Visit;
 import com.arogith.api.repository.PatientRepository;
 import com.arogith.api.repository.VisitRepository;
+import com.arogith.api.repository.VisitWorkloadRepository.Contribution;
+import com.arogith.api.service.ChangeEventService;
+import com.arogith.api.service.DoctorService;
 import com.arogith.api.service.VisitService;
+import com.arogith.api.service.VisitWorkloadService;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,17 +31,28 @@ public class VisitServiceImpl implements VisitService {
     private static final Logger logger = LoggerFactory.getLogger(VisitServiceImpl.class);
     private final VisitRepository visitRepository;
     private final PatientRepository patientRepository;
+    private final DoctorService doctorService;
+    private final VisitWorkloadService workloadService;
+    private final SecondLevelCache secondLevelCache;
+    private final ChangeEventService changeEventService;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm a");
 
     @Autowired
-    public VisitServiceImpl(VisitRepository visitRepository, PatientRepository patientRepository) {
+    public VisitServiceImpl(VisitRepository visitRepository, PatientRepository patientRepository,
+                            DoctorService doctorService, VisitWorkloadService workloadService,
+                            SecondLevelCache secondLevelCache, ChangeEventService changeEventService) {
         this.visitRepository = visitRepository;
         this.patientRepository = patientRepository;
+        this.doctorService = doctorService;
+        this.workloadService = workloadService;
+        this.secondLevelCache = secondLevelCache;
+        this.changeEventService = changeEventService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<VisitDTO> getAllVisits() {
         logger.info("Fetching all visits");
         List<Visit> visits = visitRepository.findAll();
@@ -45,6 +61,7 @@ public class VisitServiceImpl implements VisitService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public VisitDTO getVisitById(Long visitId) {
         logger.info("Fetching visit with ID: {}", visitId);
         Visit visit = visitRepository.findById(visitId)
@@ -54,6 +71,7 @@ public class VisitServiceImpl implements VisitService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<VisitDTO> getVisitsByPatientId(String patientId) {
         logger.info("Fetching visits for patient ID: {}", patientId);
         List<Visit> visits = visitRepository.findByPatientPatientId(patientId);
@@ -62,6 +80,7 @@ public class VisitServiceImpl implements VisitService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<VisitDTO> getTodayVisits() {
         logger.info("Fetching today's visits");
         List<Visit> visits = visitRepository.findTodayVisits();
@@ -70,6 +89,7 @@ public class VisitServiceImpl implements VisitService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<VisitDTO> getYesterdayVisits() {
         logger.info("Fetching yesterday's visits");
         List<Visit> visits = visitRepository.findYesterdayVisits();
@@ -101,9 +121,14 @@ public class VisitServiceImpl implements VisitService {
         visit.setPrescription(visitDTO.getPrescription());
         visit.setNotes(visitDTO.getNotes());
         visit.setVisitDate(LocalDateTime.now());
+        workloadService.stampDepartment(visit);
         
         Visit savedVisit = visitRepository.save(visit);
         logger.info("Visit created with ID: {}", savedVisit.getVisitId());
+        workloadService.recordChange(null, workloadService.contributionOf(savedVisit));
+        // The visits insert trigger bumps patients.total_visits behind Hibernate's back
+        secondLevelCache.evictAfterCommit(Patient.class, patientId);
+        changeEventService.visitCreated(savedVisit);
         
         return convertToDTO(savedVisit);
     }
@@ -114,8 +139,9 @@ public class VisitServiceImpl implements VisitService {
         logger.info("Updating visit with ID: {}", visitId);
         logger.info("Received doctorId in DTO: {}", visitDTO.getDoctorId());
         
-        Visit visit = visitRepository.findById(visitId)
+        Visit visit = visitRepository.findByIdForUpdate(visitId)
                 .orElseThrow(() -> new EntityNotFoundException("Visit not found with ID: " + visitId));
+        Contribution workloadBefore = workloadService.contributionOf(visit);
         
         // Update fields if provided
         if (visitDTO.getBp() != null) {
@@ -164,8 +190,11 @@ public class VisitServiceImpl implements VisitService {
             visit.setNotes(visitDTO.getNotes());
             logger.info("Updated notes for visit ID: {}", visitId);
         }
+        workloadService.stampDepartment(visit);
         Visit updatedVisit = visitRepository.save(visit);
         logger.info("Visit updated with ID: {}", updatedVisit.getVisitId());
+        workloadService.recordChange(workloadBefore, workloadService.contributionOf(updatedVisit));
+        changeEventService.visitUpdated(updatedVisit);
         return convertToDTO(updatedVisit);
     }
     
@@ -201,6 +230,7 @@ public class VisitServiceImpl implements VisitService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<VisitDTO> getVisitsByDoctorId(String doctorId) {
         List<Visit> visits = visitRepository.findByDoctorId(doctorId);
         return visits.stream()
@@ -214,9 +244,9 @@ public class VisitServiceImpl implements VisitService {
         dto.setVisitId(visit.getVisitId());
         dto.setPatientId(visit.getPatientId());
         dto.setDoctorId(visit.getDoctorId());
-        if (visit.getDoctor() != null) {
-            dto.setDoctorName(visit.getDoctor().getName());
-        }
+        // Served from the doctor directory cache instead of lazy-loading visit.doctor per row
+        doctorService.findDoctorSummary(visit.getDoctorId())
+                .ifPresent(doctor -> dto.setDoctorName(doctor.getName()));
         dto.setOpNo(visit.getOpNo());
         dto.setRegNo(visit.getRegNo());
         dto.setBp(visit.getBp());
@@ -246,6 +276,11 @@ public class VisitServiceImpl implements VisitService {
                     labTestDTO.setResult(labTest.getResult());
                     labTestDTO.setReferenceRange(labTest.getReferenceRange());
                     labTestDTO.setStatus(labTest.getStatus());
+                    labTestDTO.setResultValue(labTest.getResultValue());
+                    labTestDTO.setResultUnit(labTest.getResultUnit());
+                    labTestDTO.setReferenceLow(labTest.getRefLow());
+                    labTestDTO.setReferenceHigh(labTest.getRefHigh());
+                    labTestDTO.setAbnormalFlag(labTest.getAbnormalFlag());
                     return labTestDTO;
                 })
                 .collect(Collectors.toList());
@@ -0,0 +1,142 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.dto.DoctorSummaryDTO;
+import com.arogith.api.dto.VisitWorkloadDTO;
+import com.arogith.api.dto.WorkloadSummaryDTO;
+import com.arogith.api.event.VisitWorkloadChangedEvent;
+import com.arogith.api.model.Visit;
+import com.arogith.api.repository.VisitWorkloadRepository;
+import com.arogith.api.repository.VisitWorkloadRepository.Contribution;
+import com.arogith.api.service.DoctorService;
+import com.arogith.api.service.VisitWorkloadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the visit_workload_daily rollup incrementally and serves reports from it.
+ *
+ * A visit contributes one count to the row for (visit day, doctor, doctor's department,
+ * visit status), plus one pending prescription while it has none. On every visit write
+ * the old contribution is subtracted and the new one added in the same transaction, so
+ * dashboards read a few hundred pre-aggregated rows instead of scanning visits.
+ * The department is the doctor's department at the time of the write. It is stored on
+ * the visit, so the old contribution is subtracted from the row it was added to even
+ * after the doctor has moved to another department.
+ */
+@Service
+public class VisitWorkloadServiceImpl implements VisitWorkloadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisitWorkloadServiceImpl.class);
+    private static final long MAX_REPORT_DAYS = 366;
+    private static final String NONE = "";
+
+    private final VisitWorkloadRepository workloadRepository;
+    private final DoctorService doctorService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public VisitWorkloadServiceImpl(VisitWorkloadRepository workloadRepository, DoctorService doctorService,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.workloadRepository = workloadRepository;
+        this.doctorService = doctorService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Contribution contributionOf(Visit visit) {
+        if (visit == null || visit.getVisitDate() == null) {
+            return null;
+        }
+        String doctorId = visit.getDoctorId() != null ? visit.getDoctorId() : NONE;
+        // Visits inserted outside the application have no stored department
+        String department = visit.getWorkloadDepartment() != null
+                ? visit.getWorkloadDepartment()
+                : currentDepartment(visit.getDoctorId());
+        String status = visit.getStatus() != null ? visit.getStatus().trim() : NONE;
+        boolean pendingPrescription = visit.getPrescription() == null || visit.getPrescription().isBlank();
+        return new Contribution(visit.getVisitDate().toLocalDate(), doctorId, department, status, pendingPrescription);
+    }
+
+    @Override
+    public void stampDepartment(Visit visit) {
+        visit.setWorkloadDepartment(currentDepartment(visit.getDoctorId()));
+    }
+
+    @Override
+    public void recordChange(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            workloadRepository.apply(before, -1);
+        }
+        if (after != null) {
+            workloadRepository.apply(after, 1);
+        }
+        eventPublisher.publishEvent(new VisitWorkloadChangedEvent(before, after));
+    }
+
+    @Override
+    public List<VisitWorkloadDTO> getWorkloadRows(LocalDate from, LocalDate to, String doctorId, String department) {
+        validateRange(from, to);
+        return workloadRepository.findRows(from, to, blankToNull(doctorId), blankToNull(department));
+    }
+
+    @Override
+    public List<WorkloadSummaryDTO> getDoctorDailySummary(LocalDate from, LocalDate to, String department) {
+        validateRange(from, to);
+        List<WorkloadSummaryDTO> summary = workloadRepository.summarizeByDoctorAndDay(from, to, blankToNull(department));
+        for (WorkloadSummaryDTO row : summary) {
+            if (!NONE.equals(row.getDoctorId())) {
+                doctorService.findDoctorSummary(row.getDoctorId())
+                        .ifPresent(doctor -> row.setDoctorName(doctor.getName()));
+            }
+        }
+        return summary;
+    }
+
+    @Override
+    public List<WorkloadSummaryDTO> getDepartmentSummary(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return workloadRepository.summarizeByDepartment(from, to);
+    }
+
+    @Override
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        int rows = workloadRepository.rebuild(from, to);
+        logger.info("Rebuilt visit workload rollup for {} to {}: {} rows", from, to, rows);
+        return rows;
+    }
+
+    // Served from the doctor directory cache
+    private String currentDepartment(String doctorId) {
+        String department = doctorService.findDoctorSummary(doctorId)
+                .map(DoctorSummaryDTO::getDepartment)
+                .orElse(NONE);
+        return department != null ? department : NONE;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_REPORT_DAYS + " days");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,132 @@
+package com.arogith.api.sse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * One subscriber's outgoing events, opened by {@link SseDispatcher}.
+ *
+ * offer never blocks: it queues the event and, unless a drain is already running, starts
+ * one on the dispatcher's threads. The queue outlives each scheduler run, so a client that
+ * stops reading fills it; past capacity the backlog is replaced by a single catch-up event.
+ * If the dispatcher is saturated the events stay queued and the drain is retried by the
+ * next offer or keepAlive.
+ */
+public class SseChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseChannel.class);
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final LongFunction<SseEmitter.SseEventBuilder> catchUp;
+    private final ExecutorService senders;
+    private final LongAdder sent;
+    private final LongAdder dropped;
+    private final LongAdder deferred;
+    private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+    private long missed;
+    private boolean draining;
+    private boolean closed;
+    private volatile long lastSentAt = System.currentTimeMillis();
+
+    SseChannel(SseEmitter emitter, int capacity, LongFunction<SseEmitter.SseEventBuilder> catchUp,
+               ExecutorService senders, LongAdder sent, LongAdder dropped, LongAdder deferred) {
+        this.emitter = emitter;
+        this.capacity = Math.max(1, capacity);
+        this.catchUp = catchUp;
+        this.senders = senders;
+        this.sent = sent;
+        this.dropped = dropped;
+        this.deferred = deferred;
+    }
+
+    // Returns false once the connection is gone; the caller then forgets the subscriber
+    public synchronized boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed) {
+            return false;
+        }
+        if (queue.size() >= capacity) {
+            // The catch-up event supersedes everything queued and this event too
+            missed += queue.size() + 1;
+            dropped.add(queue.size() + 1);
+            queue.clear();
+        } else {
+            queue.addLast(event);
+        }
+        startDrain();
+        return true;
+    }
+
+    // Queues a comment when nothing has been sent for the interval, so proxies keep the connection open;
+    // a backlog left by a rejected drain is retried instead
+    public boolean keepAlive(long now, long intervalMs) {
+        synchronized (this) {
+            if (!draining && (missed > 0 || !queue.isEmpty())) {
+                startDrain();
+                return !closed;
+            }
+            if (draining || now - lastSentAt < intervalMs) {
+                return !closed;
+            }
+        }
+        return offer(SseEmitter.event().comment("keepalive"));
+    }
+
+    private void startDrain() {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        try {
+            senders.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining = false;
+            if (senders.isShutdown()) {
+                closed = true;
+            } else {
+                // Every sender is busy: keep the backlog for the next offer or keepAlive
+                deferred.increment();
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            SseEmitter.SseEventBuilder next;
+            long missedNow = 0;
+            synchronized (this) {
+                if (missed > 0) {
+                    missedNow = missed;
+                    missed = 0;
+                }
+                next = missedNow > 0 ? null : queue.pollFirst();
+                if (missedNow == 0 && next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                emitter.send(missedNow > 0 ? catchUp.apply(missedNow) : next);
+                sent.increment();
+                lastSentAt = System.currentTimeMillis();
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Dropping SSE subscriber: {}", e.getMessage());
+                synchronized (this) {
+                    closed = true;
+                    draining = false;
+                    queue.clear();
+                }
+                emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+}
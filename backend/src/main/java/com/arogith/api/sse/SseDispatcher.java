@@ -0,0 +1,82 @@
+package com.arogith.api.sse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Delivers server-sent events off the scheduler.
+ *
+ * The notification and presence jobs share the scheduler pool with the outbox relay, the
+ * replica lag probe and the assignment reconcile, so they only hand events to a
+ * {@link SseChannel}; the blocking emitter.send runs on this dispatcher's own threads.
+ * A channel is drained by at most one thread at a time, so a stalled client ties up one
+ * sender thread and its own queue, never the scheduler or other subscribers.
+ *
+ * The sender pool and its queue of channels waiting for a thread are both fixed. When both
+ * are full the drain is rejected and the channel simply keeps its (bounded) backlog; the
+ * next offer or keep-alive tries again, and overflow in the meantime coalesces into the
+ * channel's catch-up event as usual.
+ */
+@Component
+public class SseDispatcher implements MeterBinder {
+
+    private final ThreadPoolExecutor senders;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+
+    public SseDispatcher(@Value("${sse.sender-threads:8}") int senderThreads,
+                         @Value("${sse.sender-queue-capacity:1024}") int senderQueueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sse-send-");
+        threadFactory.setDaemon(true);
+        // The default AbortPolicy: a rejected drain is left to the channel to retry
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(senderQueueCapacity), threadFactory);
+        this.senders.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Opens a channel onto the emitter. When the subscriber falls more than capacity events
+     * behind, its backlog is discarded and the next event it gets is catchUp(events missed).
+     */
+    public SseChannel open(SseEmitter emitter, int capacity, LongFunction<SseEmitter.SseEventBuilder> catchUp) {
+        return new SseChannel(emitter, capacity, catchUp, senders, sent, dropped, deferred);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("app.sse.sent", sent, LongAdder::sum)
+                .description("Server-sent events written to subscribers")
+                .register(registry);
+        FunctionCounter.builder("app.sse.dropped", dropped, LongAdder::sum)
+                .description("Server-sent events discarded because the subscriber fell behind")
+                .register(registry);
+        FunctionCounter.builder("app.sse.deferred", deferred, LongAdder::sum)
+                .description("Channel drains put off because every sender thread and queue slot was taken")
+                .register(registry);
+        Gauge.builder("app.sse.senders", senders, ThreadPoolExecutor::getActiveCount)
+                .description("Threads currently writing server-sent events")
+                .register(registry);
+        Gauge.builder("app.sse.waiting", senders, s -> s.getQueue().size())
+                .description("Channels waiting for a sender thread")
+                .register(registry);
+    }
+}
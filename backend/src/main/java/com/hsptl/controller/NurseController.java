@@ -1,16 +1,20 @@
 package com.hsptl.controller;
 
-import com.hsptl.model.Nurse;
+import com.arogith.api.cache.DirectoryListing;
 import com.hsptl.dto.NurseCreateDTO;
+import com.hsptl.dto.NursePageDTO;
+import com.hsptl.dto.NurseSummaryDTO;
 import com.hsptl.service.NurseService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
 
@@ -26,25 +30,45 @@ public class NurseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Nurse>> getAllNurses() {
+    public ResponseEntity<List<NurseSummaryDTO>> getAllNurses(@RequestParam(required = false) String status,
+                                                              @RequestParam(required = false) String role) {
         try {
-            logger.info("Fetching all nurses");
-            List<Nurse> nurses = nurseService.getAllNurses();
-            logger.info("Found {} nurses", nurses.size());
-            return ResponseEntity.ok(nurses);
+            logger.info("Fetching all nurses: status={}, role={}", status, role);
+            DirectoryListing<NurseSummaryDTO> nurses = nurseService.getNurseDirectory(status, role);
+            logger.info("Found {} nurses", nurses.getItems().size());
+            return directoryResponse(nurses, nurses.getItems());
         } catch (Exception e) {
             logger.error("Error fetching nurses", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    // Paginated variant, selected when a page parameter is present
+    @GetMapping(params = "page")
+    public ResponseEntity<?> getNursePage(@RequestParam(required = false) String status,
+                                          @RequestParam(required = false) String role,
+                                          @RequestParam int page,
+                                          @RequestParam(defaultValue = "50") int size) {
+        try {
+            logger.info("Fetching nurse page: status={}, role={}, page={}, size={}", status, role, page, size);
+            DirectoryListing<NurseSummaryDTO> nurses = nurseService.getNursePage(status, role, page, size);
+            return directoryResponse(nurses,
+                    new NursePageDTO(nurses.getItems(), page, size, nurses.getTotalElements()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error fetching nurse page", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/active")
-    public ResponseEntity<List<Nurse>> getActiveNurses() {
+    public ResponseEntity<List<NurseSummaryDTO>> getActiveNurses() {
         try {
             logger.info("Fetching active nurses");
-            List<Nurse> activeNurses = nurseService.getActiveNurses();
-            logger.info("Found {} active nurses", activeNurses.size());
-            return ResponseEntity.ok(activeNurses);
+            DirectoryListing<NurseSummaryDTO> activeNurses = nurseService.getActiveNurseDirectory();
+            logger.info("Found {} active nurses", activeNurses.getItems().size());
+            return directoryResponse(activeNurses, activeNurses.getItems());
         } catch (Exception e) {
             logger.error("Error fetching active nurses", e);
             return ResponseEntity.internalServerError().build();
@@ -52,14 +76,22 @@ public class NurseController {
     }
 
     @PostMapping
-    public ResponseEntity<Nurse> createNurse(@RequestBody NurseCreateDTO request) {
+    public ResponseEntity<NurseSummaryDTO> createNurse(@RequestBody NurseCreateDTO request) {
         try {
             logger.info("Creating nurse");
-            Nurse nurse = nurseService.createNurse(request);
+            NurseSummaryDTO nurse = nurseService.createNurse(request);
             return ResponseEntity.ok(nurse);
         } catch (Exception e) {
             logger.error("Error creating nurse", e);
             return ResponseEntity.internalServerError().build();
         }
     }
-} 
\ No newline at end of file
+
+    // Spring answers a matching If-None-Match with 304 and no body
+    private static <T> ResponseEntity<T> directoryResponse(DirectoryListing<NurseSummaryDTO> listing, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(listing.getEtag())
+                .body(body);
+    }
+}
@@ -0,0 +1,119 @@
+package com.hsptl.dto;
+
+public class NurseLoginDTO {
+    // Login request
+    private String nurseId;
+    private String password;
+
+    // Login response
+    private String name;
+    private String email;
+    private String role;
+    private String status;
+    private boolean authenticated;
+    private String message;
+    private String accessToken;
+    private String refreshToken;
+    private Long expiresIn;
+
+    public NurseLoginDTO() {
+    }
+
+    public NurseLoginDTO(String nurseId, String name, String email, String role, String status, boolean authenticated, String message) {
+        this.nurseId = nurseId;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.status = status;
+        this.authenticated = authenticated;
+        this.message = message;
+    }
+
+    public String getNurseId() {
+        return nurseId;
+    }
+
+    public void setNurseId(String nurseId) {
+        this.nurseId = nurseId;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    public void setAuthenticated(boolean authenticated) {
+        this.authenticated = authenticated;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
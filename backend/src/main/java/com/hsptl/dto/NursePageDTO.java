@@ -0,0 +1,39 @@
+package com.hsptl.dto;
+
+import java.util.List;
+
+public class NursePageDTO {
+    private final List<NurseSummaryDTO> items;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+
+    public NursePageDTO(List<NurseSummaryDTO> items, int page, int size, long totalElements) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = size == 0 ? 0 : (int) ((totalElements + size - 1) / size);
+    }
+
+    public List<NurseSummaryDTO> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+}
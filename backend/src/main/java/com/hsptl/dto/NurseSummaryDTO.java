@@ -0,0 +1,50 @@
+package com.hsptl.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Public nurse fields for directory listings (never includes password).
+ * Built directly by repository queries, so no managed entities are loaded.
+ */
+public class NurseSummaryDTO {
+    private final String nurseId;
+    private final String name;
+    private final String email;
+    private final String role;
+    private final String status;
+    private final LocalDateTime createdAt;
+
+    public NurseSummaryDTO(String nurseId, String name, String email, String role, String status,
+                           LocalDateTime createdAt) {
+        this.nurseId = nurseId;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public String getNurseId() {
+        return nurseId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
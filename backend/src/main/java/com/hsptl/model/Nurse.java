@@ -1,6 +1,8 @@
 package com.hsptl.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "nurse")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "nurse")
 public class Nurse {
     @Id
     @Column(name = "nurse_id", nullable = false, length = 50)
@@ -1,10 +1,29 @@
 package com.hsptl.repository;
 
+import com.hsptl.dto.NurseSummaryDTO;
 import com.hsptl.model.Nurse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface NurseRepository extends JpaRepository<Nurse, String> {
     List<Nurse> findByStatus(String status);
     boolean existsByNurseId(String nurseId);
-} 
\ No newline at end of file
+
+    // Directory projections; null filters match everything
+    @Query(value = "SELECT new com.hsptl.dto.NurseSummaryDTO(n.nurseId, n.name, n.email, n.role, n.status, n.createdAt) " +
+                   "FROM Nurse n " +
+                   "WHERE (:status IS NULL OR n.status = :status) AND (:role IS NULL OR n.role = :role)",
+           countQuery = "SELECT COUNT(n) FROM Nurse n " +
+                        "WHERE (:status IS NULL OR n.status = :status) AND (:role IS NULL OR n.role = :role)")
+    Page<NurseSummaryDTO> findSummaries(@Param("status") String status, @Param("role") String role, Pageable pageable);
+
+    @Query("SELECT new com.hsptl.dto.NurseSummaryDTO(n.nurseId, n.name, n.email, n.role, n.status, n.createdAt) " +
+           "FROM Nurse n " +
+           "WHERE (:status IS NULL OR n.status = :status) AND (:role IS NULL OR n.role = :role)")
+    List<NurseSummaryDTO> findSummaries(@Param("status") String status, @Param("role") String role, Sort sort);
+}
@@ -1,46 +1,135 @@
 package com.hsptl.service;
 
+import com.arogith.api.cache.CacheRegistry;
+import com.arogith.api.cache.DirectoryListing;
+import com.arogith.api.cache.TtlCache;
+import com.arogith.api.id.StaffIdGenerator;
+import com.arogith.api.security.AuthenticatedUser;
+import com.arogith.api.security.PasswordService;
+import com.arogith.api.security.TokenService;
 import com.hsptl.model.Nurse;
 import com.hsptl.dto.NurseCreateDTO;
+import com.hsptl.dto.NurseLoginDTO;
+import com.hsptl.dto.NurseSummaryDTO;
 import com.hsptl.repository.NurseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Optional;
 
 @Service
 public class NurseService {
     
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final Sort DIRECTORY_ORDER = Sort.by("name", "nurseId");
+
     private final NurseRepository nurseRepository;
+    private final PasswordService passwordService;
+    private final TokenService tokenService;
+    private final StaffIdGenerator staffIdGenerator;
+    // Keyed by status|role|page|size; any write invalidates every entry
+    private final TtlCache<String, DirectoryListing<NurseSummaryDTO>> directoryCache;
 
     @Autowired
-    public NurseService(NurseRepository nurseRepository) {
+    public NurseService(NurseRepository nurseRepository, PasswordService passwordService, TokenService tokenService,
+                        StaffIdGenerator staffIdGenerator, CacheRegistry cacheRegistry,
+                        @Value("${directory.cache.ttl-ms:300000}") long cacheTtlMs,
+                        @Value("${directory.cache.max-size:1000}") int cacheMaxSize) {
         this.nurseRepository = nurseRepository;
+        this.passwordService = passwordService;
+        this.tokenService = tokenService;
+        this.staffIdGenerator = staffIdGenerator;
+        this.directoryCache = cacheRegistry.create("nurse-directory", cacheMaxSize, cacheTtlMs);
+    }
+
+    public Optional<Nurse> getNurseById(String nurseId) {
+        return nurseRepository.findById(nurseId);
+    }
+
+    @Transactional
+    public NurseLoginDTO authenticateNurse(NurseLoginDTO loginRequest) {
+        Optional<Nurse> nurseOptional = loginRequest.getNurseId() != null
+                ? nurseRepository.findById(loginRequest.getNurseId())
+                : Optional.empty();
+        if (nurseOptional.isEmpty()) {
+            return new NurseLoginDTO(loginRequest.getNurseId(), null, null, null, null, false, "Nurse ID not found");
+        }
+
+        Nurse nurse = nurseOptional.get();
+        if (!passwordService.matches(loginRequest.getPassword(), nurse.getPassword())) {
+            return new NurseLoginDTO(nurse.getNurseId(), nurse.getName(), nurse.getEmail(), nurse.getRole(),
+                    nurse.getStatus(), false, "Invalid password");
+        }
+        if (passwordService.needsUpgrade(nurse.getPassword())) {
+            nurse.setPassword(passwordService.hash(loginRequest.getPassword()));
+        }
+
+        NurseLoginDTO response = new NurseLoginDTO(nurse.getNurseId(), nurse.getName(), nurse.getEmail(),
+                nurse.getRole(), nurse.getStatus(), true, "Authentication successful");
+        AuthenticatedUser user = new AuthenticatedUser(nurse.getNurseId(), AuthenticatedUser.KIND_NURSE,
+                nurse.getRole(), nurse.getName(), null);
+        response.setAccessToken(tokenService.issueAccessToken(user));
+        response.setRefreshToken(tokenService.issueRefreshToken(user));
+        response.setExpiresIn(tokenService.getAccessTtlSeconds());
+        return response;
     }
 
-    public List<Nurse> getActiveNurses() {
-        return nurseRepository.findByStatus("Active");
+    public DirectoryListing<NurseSummaryDTO> getNurseDirectory() {
+        return getNurseDirectory(null, null);
     }
 
-    public List<Nurse> getAllNurses() {
-        return nurseRepository.findAll();
+    public DirectoryListing<NurseSummaryDTO> getActiveNurseDirectory() {
+        return getNurseDirectory("Active", null);
     }
 
-    public Nurse createNurse(NurseCreateDTO createRequest) {
+    // Whole filtered roster, for the unpaginated endpoints
+    public DirectoryListing<NurseSummaryDTO> getNurseDirectory(String status, String role) {
+        String statusFilter = blankToNull(status);
+        String roleFilter = blankToNull(role);
+        return directoryCache.get(statusFilter + "|" + roleFilter, key -> DirectoryListing.of(
+                nurseRepository.findSummaries(statusFilter, roleFilter, DIRECTORY_ORDER), NurseService::fingerprint));
+    }
+
+    public DirectoryListing<NurseSummaryDTO> getNursePage(String status, String role, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String statusFilter = blankToNull(status);
+        String roleFilter = blankToNull(role);
+        return directoryCache.get(statusFilter + "|" + roleFilter + "|" + page + "|" + size, key -> {
+            Page<NurseSummaryDTO> result = nurseRepository.findSummaries(statusFilter, roleFilter,
+                    PageRequest.of(page, size, DIRECTORY_ORDER));
+            return DirectoryListing.of(result.getContent(), result.getTotalElements(), NurseService::fingerprint);
+        });
+    }
+
+    public NurseSummaryDTO createNurse(NurseCreateDTO createRequest) {
         Nurse nurse = new Nurse();
-        nurse.setNurseId(generateNurseId());
+        nurse.setNurseId(staffIdGenerator.nextNurseId());
         nurse.setName(createRequest.getName());
         nurse.setEmail(createRequest.getEmail());
-        nurse.setPassword(createRequest.getPassword());
+        nurse.setPassword(passwordService.hash(createRequest.getPassword()));
         nurse.setRole(createRequest.getRole() != null ? createRequest.getRole() : "NURSE");
         nurse.setStatus(createRequest.getStatus() != null ? createRequest.getStatus() : "Active");
-        return nurseRepository.save(nurse);
+        Nurse saved = nurseRepository.save(nurse);
+        directoryCache.invalidateAll();
+        return new NurseSummaryDTO(saved.getNurseId(), saved.getName(), saved.getEmail(), saved.getRole(),
+                saved.getStatus(), saved.getCreatedAt());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 
-    private String generateNurseId() {
-        String id;
-        do {
-            id = "N" + System.currentTimeMillis();
-        } while (nurseRepository.existsByNurseId(id));
-        return id;
+    private static String fingerprint(NurseSummaryDTO n) {
+        return String.join("|", n.getNurseId(), String.valueOf(n.getName()), String.valueOf(n.getEmail()),
+                String.valueOf(n.getRole()), String.valueOf(n.getStatus()), String.valueOf(n.getCreatedAt()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,97 @@
+-- Pre-migration baseline for a fresh database: the tables that V1__baseline.sql assumes
+-- already exist. Apply this and then every db/migration script in version order to get
+-- the current schema, as the backend tests' TestDatabase does. It should end up identical
+-- to schema.sql, which the load test applies directly.
+CREATE SEQUENCE IF NOT EXISTS patient_id_seq START 1;
+CREATE SEQUENCE IF NOT EXISTS op_no_seq START 1;
+CREATE SEQUENCE IF NOT EXISTS reg_no_seq START 1;
+
+CREATE TABLE IF NOT EXISTS doctor (
+    doctor_id VARCHAR(50) PRIMARY KEY,
+    name VARCHAR(100),
+    email VARCHAR(100) UNIQUE,
+    password TEXT NOT NULL,
+    role VARCHAR(50) DEFAULT 'DOCTOR',
+    status VARCHAR(20),
+    department VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS nurse (
+    nurse_id VARCHAR(50) PRIMARY KEY,
+    name VARCHAR(100),
+    email VARCHAR(100) UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(50) DEFAULT 'NURSE',
+    status VARCHAR(20),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS patients (
+    patient_id VARCHAR(255) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    surname VARCHAR(255) NOT NULL,
+    father_name VARCHAR(255),
+    gender VARCHAR(255),
+    age INT,
+    address TEXT,
+    blood_group VARCHAR(255),
+    phone_number VARCHAR(255),
+    aadhar_number VARCHAR(255) NOT NULL UNIQUE,
+    photo BYTEA,
+    total_visits INT DEFAULT 0,
+    op_no VARCHAR(255) UNIQUE,
+    reg_no VARCHAR(255) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS visits (
+    visit_id SERIAL PRIMARY KEY,
+    patient_id VARCHAR(10) REFERENCES patients(patient_id),
+    op_no VARCHAR(10),
+    reg_no VARCHAR(10),
+    bp VARCHAR(10),
+    weight VARCHAR(10),
+    temperature VARCHAR(10),
+    symptoms TEXT,
+    complaint TEXT,
+    status VARCHAR(10) CHECK (status IN ('Active', 'Critical')),
+    prescription TEXT,
+    visit_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS labtests (
+    test_id SERIAL PRIMARY KEY,
+    visit_id INT REFERENCES visits(visit_id),
+    test_name VARCHAR(100),
+    result VARCHAR(100),
+    reference_range VARCHAR(100),
+    status VARCHAR(20)
+);
+
+CREATE OR REPLACE FUNCTION format_op_no() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.op_no := 'P' || LPAD(NEXTVAL('op_no_seq')::TEXT, 3, '0');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION format_reg_no() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.reg_no := 'R' || LPAD(NEXTVAL('reg_no_seq')::TEXT, 3, '0');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION update_total_visits() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE patients SET total_visits = total_visits + 1 WHERE patient_id = NEW.patient_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_format_op_no ON visits;
+CREATE TRIGGER trg_format_op_no BEFORE INSERT ON visits FOR EACH ROW EXECUTE FUNCTION format_op_no();
+DROP TRIGGER IF EXISTS trg_format_reg_no ON visits;
+CREATE TRIGGER trg_format_reg_no BEFORE INSERT ON visits FOR EACH ROW EXECUTE FUNCTION format_reg_no();
+DROP TRIGGER IF EXISTS trg_update_total_visits ON visits;
+CREATE TRIGGER trg_update_total_visits AFTER INSERT ON visits FOR EACH ROW EXECUTE FUNCTION update_total_visits();
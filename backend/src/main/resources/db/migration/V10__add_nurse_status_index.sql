@@ -0,0 +1,3 @@
+-- Nurse directory filters by status (and role) and sorts by name
+CREATE INDEX IF NOT EXISTS idx_nurse_status_name
+    ON nurse (status, name);
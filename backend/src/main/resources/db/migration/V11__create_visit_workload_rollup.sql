@@ -0,0 +1,28 @@
+-- Daily visit workload per doctor / department / visit status, maintained incrementally
+-- by the application on visit create and update. '' stands for "not assigned".
+CREATE TABLE IF NOT EXISTS visit_workload_daily (
+    day DATE NOT NULL,
+    doctor_id VARCHAR(50) NOT NULL DEFAULT '',
+    department VARCHAR(100) NOT NULL DEFAULT '',
+    status VARCHAR(20) NOT NULL DEFAULT '',
+    visit_count INTEGER NOT NULL DEFAULT 0,
+    pending_prescriptions INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, doctor_id, department, status)
+);
+
+CREATE INDEX IF NOT EXISTS idx_visit_workload_doctor_day
+    ON visit_workload_daily (doctor_id, day);
+
+-- Backfill from existing visits
+INSERT INTO visit_workload_daily (day, doctor_id, department, status, visit_count, pending_prescriptions)
+SELECT CAST(v.visit_date AS DATE),
+       COALESCE(v.doctor_id, ''),
+       COALESCE(d.department, ''),
+       COALESCE(TRIM(v.status), ''),
+       COUNT(*),
+       COUNT(*) FILTER (WHERE v.prescription IS NULL OR TRIM(v.prescription) = '')
+FROM visits v
+LEFT JOIN doctor d ON d.doctor_id = v.doctor_id
+WHERE v.visit_date IS NOT NULL
+GROUP BY 1, 2, 3, 4
+ON CONFLICT DO NOTHING;
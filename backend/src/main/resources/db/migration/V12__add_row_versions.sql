@@ -0,0 +1,55 @@
+-- Row versions for conditional GETs (ETag / Last-Modified). Maintained by a trigger rather
+-- than by the application so JDBC bulk updates and other triggers bump them too; updates
+-- that change nothing leave the version alone.
+ALTER TABLE patients
+    ADD COLUMN IF NOT EXISTS row_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+ALTER TABLE visits
+    ADD COLUMN IF NOT EXISTS row_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+ALTER TABLE labtests
+    ADD COLUMN IF NOT EXISTS row_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+ALTER TABLE doctor
+    ADD COLUMN IF NOT EXISTS row_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE OR REPLACE FUNCTION bump_row_version() RETURNS trigger AS $$
+BEGIN
+    NEW.row_version := OLD.row_version + 1;
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_patients_row_version ON patients;
+CREATE TRIGGER trg_patients_row_version
+    BEFORE UPDATE ON patients
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
+DROP TRIGGER IF EXISTS trg_visits_row_version ON visits;
+CREATE TRIGGER trg_visits_row_version
+    BEFORE UPDATE ON visits
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
+DROP TRIGGER IF EXISTS trg_labtests_row_version ON labtests;
+CREATE TRIGGER trg_labtests_row_version
+    BEFORE UPDATE ON labtests
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
+DROP TRIGGER IF EXISTS trg_doctor_row_version ON doctor;
+CREATE TRIGGER trg_doctor_row_version
+    BEFORE UPDATE ON doctor
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
+-- The list fingerprints look up lab tests per visit...
+CREATE INDEX IF NOT EXISTS idx_labtests_visit_id ON labtests (visit_id);
+-- ...and the latest visit per patient
+CREATE INDEX IF NOT EXISTS idx_visits_patient_date ON visits (patient_id, visit_date DESC);
@@ -0,0 +1,26 @@
+-- Transactional outbox: change events written in the same transaction as the change itself.
+-- event_id orders inserts; stream_position is assigned by the relay once the event is
+-- committed, gap-free and in commit order, and is the cursor consumers and sinks replay from.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    event_id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id VARCHAR(50) NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    stream_position BIGINT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_outbox_events_position
+    ON outbox_events (stream_position);
+
+-- Events the relay has not sequenced yet
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unsequenced
+    ON outbox_events (event_id) WHERE stream_position IS NULL;
+
+-- Last stream_position each sink has acknowledged
+CREATE TABLE IF NOT EXISTS outbox_sink_cursors (
+    sink VARCHAR(50) PRIMARY KEY,
+    stream_position BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
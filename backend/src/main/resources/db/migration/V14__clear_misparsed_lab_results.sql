@@ -0,0 +1,10 @@
+-- Before this fix a result such as "120/80 mmHg" or "12-15" was read as its leading number
+-- with the rest as unit, by V7's backfill and on every write since. Such results are not a
+-- single value: clear the value and flag, and take the unit from the reference range as
+-- LabResultInterpreter does when the result is not numeric.
+UPDATE labtests SET
+    result_value = NULL,
+    abnormal_flag = NULL,
+    result_unit = NULLIF(LEFT(btrim(substring(reference_range FROM '^\s*[-+]?[0-9]*\.?[0-9]+\s*(?:-|–|to)\s*[-+]?[0-9]*\.?[0-9]+\s*(.*)$')), 20), '')
+WHERE result_value IS NOT NULL
+  AND result !~ '^\s*[<>]?=?\s*[-+]?[0-9]*\.?[0-9]+\s*([^-/0-9.,:[:space:]].*)?$';
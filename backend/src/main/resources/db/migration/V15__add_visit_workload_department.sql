@@ -0,0 +1,13 @@
+-- Department each visit is counted under in visit_workload_daily (V11), recorded when the
+-- visit is written. A later update subtracts the visit from this department even if its
+-- doctor has moved to another one since. NULL for visits inserted outside the application,
+-- which are counted under their doctor's department.
+ALTER TABLE visits ADD COLUMN IF NOT EXISTS workload_department VARCHAR(100);
+
+-- Existing visits: the department the V11 backfill and rollup rebuilds used
+UPDATE visits v SET workload_department = COALESCE(d.department, '')
+FROM doctor d
+WHERE d.doctor_id = v.doctor_id AND v.workload_department IS NULL;
+
+UPDATE visits SET workload_department = ''
+WHERE doctor_id IS NULL AND workload_department IS NULL;
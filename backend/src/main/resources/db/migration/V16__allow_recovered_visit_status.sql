@@ -0,0 +1,7 @@
+-- The UI's visit statuses are Active, Critical and Recovered (project/src/types.ts), and
+-- DoctorAssignmentService closes a visit when it is marked Recovered, but the original
+-- CHECK only accepted Active and Critical, so discharging a patient was rejected.
+-- NOT VALID: existing rows are not rechecked, new and updated rows are.
+ALTER TABLE visits DROP CONSTRAINT IF EXISTS visits_status_check;
+ALTER TABLE visits ADD CONSTRAINT visits_status_check
+    CHECK (status IN ('Active', 'Critical', 'Recovered')) NOT VALID;
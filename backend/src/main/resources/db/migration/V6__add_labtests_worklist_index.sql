@@ -0,0 +1,10 @@
+-- Partial index backing the lab bench worklist (pending / in-progress tests, oldest first).
+-- Only open tests are indexed, so the index size tracks the open backlog rather than total history.
+-- Backfill missing order timestamps first so keyset pagination on (test_given_at, test_id) is total.
+UPDATE labtests
+SET test_given_at = COALESCE(result_updated_at, CURRENT_TIMESTAMP)
+WHERE test_given_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_labtests_worklist
+    ON labtests (test_given_at, test_id)
+    WHERE lower(status) IN ('pending', 'in progress');
@@ -0,0 +1,45 @@
+-- Structured lab results: parsed numeric value, unit, reference bounds and an abnormal flag.
+-- abnormal_flag: N = normal, L / H = below / above range, LL / HH = beyond critical limits,
+-- NULL = not numeric or no usable reference range.
+ALTER TABLE labtests
+    ADD COLUMN IF NOT EXISTS result_value NUMERIC,
+    ADD COLUMN IF NOT EXISTS result_unit VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS ref_low NUMERIC,
+    ADD COLUMN IF NOT EXISTS ref_high NUMERIC,
+    ADD COLUMN IF NOT EXISTS abnormal_flag VARCHAR(2);
+
+-- Backfill existing rows with the same rules LabResultInterpreter applies on write
+UPDATE labtests SET
+    result_value = CAST(substring(result FROM '^\s*[<>]?=?\s*([-+]?[0-9]*\.?[0-9]+)') AS NUMERIC),
+    result_unit = NULLIF(LEFT(btrim(substring(result FROM '^\s*[<>]?=?\s*[-+]?[0-9]*\.?[0-9]+\s*(.*)$')), 20), '')
+WHERE result ~ '^\s*[<>]?=?\s*[-+]?[0-9]*\.?[0-9]+';
+
+UPDATE labtests SET
+    ref_low = CAST(substring(reference_range FROM '^\s*([-+]?[0-9]*\.?[0-9]+)\s*(?:-|–|to)\s*[-+]?[0-9]*\.?[0-9]+') AS NUMERIC),
+    ref_high = CAST(substring(reference_range FROM '^\s*[-+]?[0-9]*\.?[0-9]+\s*(?:-|–|to)\s*([-+]?[0-9]*\.?[0-9]+)') AS NUMERIC),
+    result_unit = COALESCE(result_unit, NULLIF(LEFT(btrim(substring(reference_range FROM '^\s*[-+]?[0-9]*\.?[0-9]+\s*(?:-|–|to)\s*[-+]?[0-9]*\.?[0-9]+\s*(.*)$')), 20), ''))
+WHERE reference_range ~ '^\s*[-+]?[0-9]*\.?[0-9]+\s*(-|–|to)\s*[-+]?[0-9]*\.?[0-9]+';
+
+UPDATE labtests SET
+    ref_high = CAST(substring(reference_range FROM '^\s*(?:<=?|≤|up to)\s*([-+]?[0-9]*\.?[0-9]+)') AS NUMERIC)
+WHERE reference_range ~ '^\s*(<=?|≤|up to)\s*[-+]?[0-9]*\.?[0-9]+';
+
+UPDATE labtests SET
+    ref_low = CAST(substring(reference_range FROM '^\s*(?:>=?|≥)\s*([-+]?[0-9]*\.?[0-9]+)') AS NUMERIC)
+WHERE reference_range ~ '^\s*(>=?|≥)\s*[-+]?[0-9]*\.?[0-9]+';
+
+UPDATE labtests SET abnormal_flag = CASE
+        WHEN ref_low IS NOT NULL AND result_value < ref_low THEN 'L'
+        WHEN ref_high IS NOT NULL AND result_value > ref_high THEN 'H'
+        ELSE 'N'
+    END
+WHERE result_value IS NOT NULL AND (ref_low IS NOT NULL OR ref_high IS NOT NULL);
+
+-- Abnormal results by day and by patient; normal and unparsed rows stay out of both indexes
+CREATE INDEX IF NOT EXISTS idx_labtests_abnormal_by_day
+    ON labtests (result_updated_at)
+    WHERE abnormal_flag <> 'N';
+
+CREATE INDEX IF NOT EXISTS idx_labtests_abnormal_by_patient
+    ON labtests (patient_id, result_updated_at)
+    WHERE abnormal_flag <> 'N';
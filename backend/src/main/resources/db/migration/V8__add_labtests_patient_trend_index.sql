@@ -0,0 +1,3 @@
+-- Per-patient analyte series (GET /api/patients/{id}/labs/{testName}/series)
+CREATE INDEX IF NOT EXISTS idx_labtests_patient_test_time
+    ON labtests (patient_id, test_name, test_given_at);
@@ -0,0 +1,44 @@
+-- Lab test catalog: canonical test names, panels, units and default reference / critical limits.
+-- Loaded into memory by LabTestCatalogServiceImpl; edits are picked up on the next refresh or POST /api/lab-catalog/reload.
+CREATE TABLE IF NOT EXISTS lab_test_catalog (
+    code VARCHAR(30) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    panel VARCHAR(100),
+    aliases VARCHAR(255),
+    unit VARCHAR(20),
+    ref_low NUMERIC,
+    ref_high NUMERIC,
+    critical_low NUMERIC,
+    critical_high NUMERIC,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO lab_test_catalog (code, name, panel, aliases, unit, ref_low, ref_high, critical_low, critical_high) VALUES
+    ('GLU-F',  'Fasting Blood Sugar',     NULL,            'FBS,Fasting Glucose',          'mg/dL',       70,   100,  40,   400),
+    ('GLU-PP', 'Post Prandial Blood Sugar', NULL,          'PPBS,PP Glucose',              'mg/dL',       70,   140,  40,   400),
+    ('GLU-R',  'Random Blood Sugar',      NULL,            'RBS,Random Glucose',           'mg/dL',       70,   140,  40,   400),
+    ('HBA1C',  'HbA1c',                   NULL,            'Glycated Hemoglobin,A1c',      '%',           4.0,  5.6,  NULL, NULL),
+    ('HB',     'Hemoglobin',              'CBC',           'Hb,Haemoglobin',               'g/dL',        12.0, 17.5, 7,    20),
+    ('WBC',    'Total WBC Count',         'CBC',           'TLC,WBC',                      'cells/cumm',  4000, 11000, 2000, 30000),
+    ('RBC',    'RBC Count',               'CBC',           'Red Cell Count',               'million/cumm', 4.0, 6.0,  NULL, NULL),
+    ('PLT',    'Platelet Count',          'CBC',           'Platelets',                    'lakhs/cumm',  1.5,  4.5,  0.5,  10),
+    ('ESR',    'ESR',                     NULL,            'Erythrocyte Sedimentation Rate', 'mm/hr',     0,    20,   NULL, NULL),
+    ('CREAT',  'Serum Creatinine',        'RFT',           'Creatinine',                   'mg/dL',       0.6,  1.3,  NULL, 10),
+    ('UREA',   'Blood Urea',              'RFT',           'Urea',                         'mg/dL',       15,   45,   NULL, 200),
+    ('UA',     'Uric Acid',               'RFT',           'Serum Uric Acid',              'mg/dL',       3.5,  7.2,  NULL, NULL),
+    ('NA',     'Sodium',                  'Electrolytes',  'Na,Serum Sodium',              'mmol/L',      135,  145,  120,  160),
+    ('K',      'Potassium',               'Electrolytes',  'Serum Potassium',              'mmol/L',      3.5,  5.1,  2.5,  6.5),
+    ('CL',     'Chloride',                'Electrolytes',  'Cl,Serum Chloride',            'mmol/L',      98,   107,  NULL, NULL),
+    ('TBIL',   'Total Bilirubin',         'LFT',           'Bilirubin,T.Bil',              'mg/dL',       0.3,  1.2,  NULL, 15),
+    ('SGOT',   'SGOT',                    'LFT',           'AST',                          'U/L',         5,    40,   NULL, NULL),
+    ('SGPT',   'SGPT',                    'LFT',           'ALT',                          'U/L',         7,    56,   NULL, NULL),
+    ('ALP',    'Alkaline Phosphatase',    'LFT',           'Alk Phos',                     'U/L',         44,   147,  NULL, NULL),
+    ('ALB',    'Albumin',                 'LFT',           'Serum Albumin',                'g/dL',        3.5,  5.0,  NULL, NULL),
+    ('CHOL',   'Total Cholesterol',       'Lipid Profile', 'Cholesterol',                  'mg/dL',       NULL, 200,  NULL, NULL),
+    ('TG',     'Triglycerides',           'Lipid Profile', 'Serum Triglycerides',          'mg/dL',       NULL, 150,  NULL, NULL),
+    ('HDL',    'HDL Cholesterol',         'Lipid Profile', 'HDL-C',                        'mg/dL',       40,   NULL, NULL, NULL),
+    ('LDL',    'LDL Cholesterol',         'Lipid Profile', 'LDL-C',                        'mg/dL',       NULL, 100,  NULL, NULL),
+    ('TSH',    'TSH',                     'Thyroid Profile', 'Thyroid Stimulating Hormone', 'uIU/mL',     0.4,  4.0,  NULL, NULL),
+    ('CRP',    'C-Reactive Protein',      NULL,            'CRP Quantitative',             'mg/L',        NULL, 6,    NULL, NULL)
+ON CONFLICT (code) DO NOTHING;
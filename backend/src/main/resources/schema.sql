@@ -2,6 +2,29 @@ CREATE SEQUENCE IF NOT EXISTS patient_id_seq START 1;
 CREATE SEQUENCE IF NOT EXISTS op_no_seq START 1;
 CREATE SEQUENCE IF NOT EXISTS reg_no_seq START 1;
 
+CREATE TABLE IF NOT EXISTS doctor (
+    doctor_id VARCHAR(50) PRIMARY KEY,
+    name VARCHAR(100),
+    email VARCHAR(100) UNIQUE,
+    password TEXT NOT NULL,
+    role VARCHAR(50) DEFAULT 'DOCTOR',
+    status VARCHAR(20),
+    department VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    row_version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS nurse (
+    nurse_id VARCHAR(50) PRIMARY KEY,
+    name VARCHAR(100),
+    email VARCHAR(100) UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(50) DEFAULT 'NURSE',
+    status VARCHAR(20),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 CREATE TABLE IF NOT EXISTS patients (
     patient_id VARCHAR(255) PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
@@ -9,14 +32,16 @@ CREATE TABLE IF NOT EXISTS patients (
     father_name VARCHAR(255),
     gender VARCHAR(255),
     age INT,
-    address VARCHAR(255),
+    address TEXT,
     blood_group VARCHAR(255),
     phone_number VARCHAR(255),
     aadhar_number VARCHAR(255) NOT NULL UNIQUE,
-    photo VARCHAR(255),
+    photo BYTEA,
     total_visits INT DEFAULT 0,
     op_no VARCHAR(255) UNIQUE,
-    reg_no VARCHAR(255) UNIQUE
+    reg_no VARCHAR(255) UNIQUE,
+    row_version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
 );
 
 CREATE TABLE IF NOT EXISTS visits (
@@ -30,12 +55,18 @@ CREATE TABLE IF NOT EXISTS visits (
     temperature VARCHAR(10),
     symptoms TEXT,
     complaint TEXT,
-    status VARCHAR(10) CHECK (status IN ('Active', 'Critical')),
+    status VARCHAR(10) CONSTRAINT visits_status_check CHECK (status IN ('Active', 'Critical', 'Recovered')),
     prescription TEXT,
     notes TEXT,
-    visit_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    visit_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    row_version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    workload_department VARCHAR(100)
 );
 
+CREATE INDEX IF NOT EXISTS idx_visits_patient_date
+    ON visits (patient_id, visit_date DESC);
+
 CREATE TABLE IF NOT EXISTS labtests (
     test_id SERIAL PRIMARY KEY,
     visit_id INT REFERENCES visits(visit_id),
@@ -45,30 +76,149 @@ CREATE TABLE IF NOT EXISTS labtests (
     reference_range VARCHAR(100),
     status VARCHAR(20) DEFAULT 'Pending',
     test_given_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    result_updated_at TIMESTAMP
+    result_updated_at TIMESTAMP,
+    result_value NUMERIC,
+    result_unit VARCHAR(20),
+    ref_low NUMERIC,
+    ref_high NUMERIC,
+    abnormal_flag VARCHAR(2),
+    row_version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
 );
 
-CREATE TABLE IF NOT EXISTS doctor (
-    doctor_id VARCHAR(50) PRIMARY KEY,
-    name VARCHAR(100),
-    email VARCHAR(100) UNIQUE,
-    password TEXT NOT NULL,
-    role VARCHAR(50) DEFAULT 'DOCTOR',
-    status VARCHAR(20),
-    department VARCHAR(100),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+CREATE INDEX IF NOT EXISTS idx_labtests_visit_id
+    ON labtests (visit_id);
+
+CREATE INDEX IF NOT EXISTS idx_labtests_worklist
+    ON labtests (test_given_at, test_id)
+    WHERE lower(status) IN ('pending', 'in progress');
+
+CREATE INDEX IF NOT EXISTS idx_labtests_abnormal_by_day
+    ON labtests (result_updated_at)
+    WHERE abnormal_flag <> 'N';
+
+CREATE INDEX IF NOT EXISTS idx_labtests_abnormal_by_patient
+    ON labtests (patient_id, result_updated_at)
+    WHERE abnormal_flag <> 'N';
+
+CREATE INDEX IF NOT EXISTS idx_labtests_patient_test_time
+    ON labtests (patient_id, test_name, test_given_at);
+
+CREATE TABLE IF NOT EXISTS lab_test_catalog (
+    code VARCHAR(30) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    panel VARCHAR(100),
+    aliases VARCHAR(255),
+    unit VARCHAR(20),
+    ref_low NUMERIC,
+    ref_high NUMERIC,
+    critical_low NUMERIC,
+    critical_high NUMERIC,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
-CREATE TABLE IF NOT EXISTS nurse (
-    nurse_id VARCHAR(50) PRIMARY KEY,
-    name VARCHAR(100),
-    email VARCHAR(100) UNIQUE,
-    password VARCHAR(255) NOT NULL,
-    role VARCHAR(50) DEFAULT 'NURSE',
-    status VARCHAR(20),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+-- Seed rows as in V9; LabTestCatalogServiceImpl serves an empty catalog without them
+INSERT INTO lab_test_catalog (code, name, panel, aliases, unit, ref_low, ref_high, critical_low, critical_high) VALUES
+    ('GLU-F',  'Fasting Blood Sugar',     NULL,            'FBS,Fasting Glucose',          'mg/dL',       70,   100,  40,   400),
+    ('GLU-PP', 'Post Prandial Blood Sugar', NULL,          'PPBS,PP Glucose',              'mg/dL',       70,   140,  40,   400),
+    ('GLU-R',  'Random Blood Sugar',      NULL,            'RBS,Random Glucose',           'mg/dL',       70,   140,  40,   400),
+    ('HBA1C',  'HbA1c',                   NULL,            'Glycated Hemoglobin,A1c',      '%',           4.0,  5.6,  NULL, NULL),
+    ('HB',     'Hemoglobin',              'CBC',           'Hb,Haemoglobin',               'g/dL',        12.0, 17.5, 7,    20),
+    ('WBC',    'Total WBC Count',         'CBC',           'TLC,WBC',                      'cells/cumm',  4000, 11000, 2000, 30000),
+    ('RBC',    'RBC Count',               'CBC',           'Red Cell Count',               'million/cumm', 4.0, 6.0,  NULL, NULL),
+    ('PLT',    'Platelet Count',          'CBC',           'Platelets',                    'lakhs/cumm',  1.5,  4.5,  0.5,  10),
+    ('ESR',    'ESR',                     NULL,            'Erythrocyte Sedimentation Rate', 'mm/hr',     0,    20,   NULL, NULL),
+    ('CREAT',  'Serum Creatinine',        'RFT',           'Creatinine',                   'mg/dL',       0.6,  1.3,  NULL, 10),
+    ('UREA',   'Blood Urea',              'RFT',           'Urea',                         'mg/dL',       15,   45,   NULL, 200),
+    ('UA',     'Uric Acid',               'RFT',           'Serum Uric Acid',              'mg/dL',       3.5,  7.2,  NULL, NULL),
+    ('NA',     'Sodium',                  'Electrolytes',  'Na,Serum Sodium',              'mmol/L',      135,  145,  120,  160),
+    ('K',      'Potassium',               'Electrolytes',  'Serum Potassium',              'mmol/L',      3.5,  5.1,  2.5,  6.5),
+    ('CL',     'Chloride',                'Electrolytes',  'Cl,Serum Chloride',            'mmol/L',      98,   107,  NULL, NULL),
+    ('TBIL',   'Total Bilirubin',         'LFT',           'Bilirubin,T.Bil',              'mg/dL',       0.3,  1.2,  NULL, 15),
+    ('SGOT',   'SGOT',                    'LFT',           'AST',                          'U/L',         5,    40,   NULL, NULL),
+    ('SGPT',   'SGPT',                    'LFT',           'ALT',                          'U/L',         7,    56,   NULL, NULL),
+    ('ALP',    'Alkaline Phosphatase',    'LFT',           'Alk Phos',                     'U/L',         44,   147,  NULL, NULL),
+    ('ALB',    'Albumin',                 'LFT',           'Serum Albumin',                'g/dL',        3.5,  5.0,  NULL, NULL),
+    ('CHOL',   'Total Cholesterol',       'Lipid Profile', 'Cholesterol',                  'mg/dL',       NULL, 200,  NULL, NULL),
+    ('TG',     'Triglycerides',           'Lipid Profile', 'Serum Triglycerides',          'mg/dL',       NULL, 150,  NULL, NULL),
+    ('HDL',    'HDL Cholesterol',         'Lipid Profile', 'HDL-C',                        'mg/dL',       40,   NULL, NULL, NULL),
+    ('LDL',    'LDL Cholesterol',         'Lipid Profile', 'LDL-C',                        'mg/dL',       NULL, 100,  NULL, NULL),
+    ('TSH',    'TSH',                     'Thyroid Profile', 'Thyroid Stimulating Hormone', 'uIU/mL',     0.4,  4.0,  NULL, NULL),
+    ('CRP',    'C-Reactive Protein',      NULL,            'CRP Quantitative',             'mg/L',        NULL, 6,    NULL, NULL)
+ON CONFLICT (code) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_nurse_status_name
+    ON nurse (status, name);
+
+CREATE TABLE IF NOT EXISTS visit_workload_daily (
+    day DATE NOT NULL,
+    doctor_id VARCHAR(50) NOT NULL DEFAULT '',
+    department VARCHAR(100) NOT NULL DEFAULT '',
+    status VARCHAR(20) NOT NULL DEFAULT '',
+    visit_count INTEGER NOT NULL DEFAULT 0,
+    pending_prescriptions INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, doctor_id, department, status)
+);
+
+CREATE INDEX IF NOT EXISTS idx_visit_workload_doctor_day
+    ON visit_workload_daily (doctor_id, day);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    event_id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id VARCHAR(50) NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    stream_position BIGINT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_outbox_events_position
+    ON outbox_events (stream_position);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unsequenced
+    ON outbox_events (event_id) WHERE stream_position IS NULL;
+
+CREATE TABLE IF NOT EXISTS outbox_sink_cursors (
+    sink VARCHAR(50) PRIMARY KEY,
+    stream_position BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
 );
 
+-- Row versions for conditional GETs, bumped on every effective update (V12)
+CREATE OR REPLACE FUNCTION bump_row_version() RETURNS trigger AS $$
+BEGIN
+    NEW.row_version := OLD.row_version + 1;
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_patients_row_version ON patients;
+CREATE TRIGGER trg_patients_row_version
+    BEFORE UPDATE ON patients
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
+DROP TRIGGER IF EXISTS trg_visits_row_version ON visits;
+CREATE TRIGGER trg_visits_row_version
+    BEFORE UPDATE ON visits
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
+DROP TRIGGER IF EXISTS trg_labtests_row_version ON labtests;
+CREATE TRIGGER trg_labtests_row_version
+    BEFORE UPDATE ON labtests
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
+DROP TRIGGER IF EXISTS trg_doctor_row_version ON doctor;
+CREATE TRIGGER trg_doctor_row_version
+    BEFORE UPDATE ON doctor
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION bump_row_version();
+
 
 -- Add new columns to doctor table
 ALTER TABLE doctor 
@@ -81,28 +231,28 @@ DO $$
 BEGIN
     -- OP No trigger function
     IF NOT EXISTS (SELECT 1 FROM pg_proc WHERE proname = 'format_op_no') THEN
-        CREATE FUNCTION format_op_no() RETURNS TRIGGER AS $$
+        CREATE FUNCTION format_op_no() RETURNS TRIGGER AS $fn$
         BEGIN
             NEW.op_no := 'P' || LPAD(NEXTVAL('op_no_seq')::TEXT, 3, '0');
             RETURN NEW;
         END;
-        $$ LANGUAGE plpgsql;
+        $fn$ LANGUAGE plpgsql;
     END IF;
 
     -- REG No trigger function
     IF NOT EXISTS (SELECT 1 FROM pg_proc WHERE proname = 'format_reg_no') THEN
-        CREATE FUNCTION format_reg_no() RETURNS TRIGGER AS $$
+        CREATE FUNCTION format_reg_no() RETURNS TRIGGER AS $fn$
         BEGIN
             NEW.reg_no := 'R' || LPAD(NEXTVAL('reg_no_seq')::TEXT, 3, '0');
             RETURN NEW;
         END;
-        $$ LANGUAGE plpgsql;
+        $fn$ LANGUAGE plpgsql;
     END IF;
 
     -- Total visits update function
     IF NOT EXISTS (SELECT 1 FROM pg_proc WHERE proname = 'update_total_visits') THEN
         CREATE FUNCTION update_total_visits()
-        RETURNS TRIGGER AS $$
+        RETURNS TRIGGER AS $fn$
         BEGIN
             UPDATE patients
             SET total_visits = total_visits + 1
@@ -110,7 +260,7 @@ BEGIN
             
             RETURN NEW;
         END;
-        $$ LANGUAGE plpgsql;
+        $fn$ LANGUAGE plpgsql;
     END IF;
 END $$;
 
@@ -0,0 +1,164 @@
+package com.arogith.api;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A throwaway PostgreSQL database for integration tests, brought to the current schema the
+ * way a fresh install is: db/baseline-schema.sql, then every db/migration script in version
+ * order. It is created on an embedded server, or on the server given by -Dtest.jdbc-url
+ * (with -Dtest.db-user / -Dtest.db-password) and dropped when the JVM exits.
+ *
+ * Tests that need a database call {@link #isAvailable()} first and are skipped when no
+ * server can be had, e.g. where PostgreSQL refuses to start as root and no -Dtest.jdbc-url is given.
+ */
+public final class TestDatabase {
+
+    private static final Pattern VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+
+    private static TestDatabase instance;
+    private static String unavailableReason;
+
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+
+    private TestDatabase(String jdbcUrl, String user, String password) {
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+    }
+
+    public static synchronized boolean isAvailable() {
+        if (instance == null && unavailableReason == null) {
+            try {
+                instance = create();
+            } catch (IOException | SQLException | RuntimeException e) {
+                unavailableReason = "No test database: " + e.getMessage()
+                        + " (run as a regular user or pass -Dtest.jdbc-url)";
+            }
+        }
+        return instance != null;
+    }
+
+    public static synchronized String unavailableReason() {
+        return unavailableReason;
+    }
+
+    // For @DynamicPropertySource
+    public static void register(DynamicPropertyRegistry registry) {
+        if (!isAvailable()) {
+            throw new IllegalStateException(unavailableReason);
+        }
+        registry.add("spring.datasource.url", () -> instance.jdbcUrl);
+        registry.add("spring.datasource.username", () -> instance.user);
+        registry.add("spring.datasource.password", () -> instance.password);
+    }
+
+    private static TestDatabase create() throws IOException, SQLException {
+        String serverUrl = System.getProperty("test.jdbc-url");
+        String user = System.getProperty("test.db-user", "postgres");
+        String password = System.getProperty("test.db-password", "");
+        if (serverUrl == null || serverUrl.isBlank()) {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting anyway
+                }
+            }));
+            serverUrl = postgres.getJdbcUrl("postgres", "postgres");
+            user = "postgres";
+            password = "postgres";
+        }
+
+        String name = "arogith_test_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        try (Connection connection = DriverManager.getConnection(serverUrl, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        }
+        String adminUrl = serverUrl;
+        String adminUser = user;
+        String adminPassword = password;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (Connection connection = DriverManager.getConnection(adminUrl, adminUser, adminPassword);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+            } catch (SQLException ignored) {
+                // Left behind for the server's owner to remove
+            }
+        }));
+
+        TestDatabase database = new TestDatabase(withDatabase(serverUrl, name), user, password);
+        database.migrate();
+        return database;
+    }
+
+    private void migrate() throws IOException, SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute(read("db/baseline-schema.sql"));
+            for (Path script : migrationScripts()) {
+                statement.execute(Files.readString(script, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static List<Path> migrationScripts() throws IOException {
+        URL location = TestDatabase.class.getClassLoader().getResource("db/migration");
+        if (location == null) {
+            throw new IOException("db/migration not found on the classpath");
+        }
+        try (Stream<Path> files = Files.list(Path.of(location.toURI()))) {
+            return files
+                    .filter(file -> VERSION.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingInt(TestDatabase::version))
+                    .collect(Collectors.toList());
+        } catch (URISyntaxException e) {
+            throw new IOException("Bad migration location " + location, e);
+        }
+    }
+
+    private static int version(Path script) {
+        Matcher matcher = VERSION.matcher(script.getFileName().toString());
+        matcher.matches();
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    // jdbc:postgresql://host:port/db?params with db replaced
+    private static String withDatabase(String url, String database) {
+        int query = url.indexOf('?');
+        String base = query < 0 ? url : url.substring(0, query);
+        String params = query < 0 ? "" : url.substring(query);
+        return base.substring(0, base.lastIndexOf('/') + 1) + database + params;
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream in = TestDatabase.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
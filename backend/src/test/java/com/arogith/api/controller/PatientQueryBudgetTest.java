@@ -0,0 +1,95 @@
+package com.arogith.api.controller;
+
+import com.arogith.api.TestDatabase;
+import com.arogith.api.metrics.SqlStatementTracker;
+import com.arogith.api.metrics.SqlStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the SQL budget of the patient endpoints. The statement count must not grow with the
+ * number of patients: visits and photos are loaded in one query each, not one per patient.
+ */
+@SpringBootTest(properties = "rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class PatientQueryBudgetTest {
+
+    private static final int PATIENTS = 40;
+
+    private static boolean seeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(TestDatabase.isAvailable(), TestDatabase::unavailableReason);
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        for (int i = 1; i <= PATIENTS; i++) {
+            String patientId = String.format("T%03d", i);
+            jdbcTemplate.update(
+                "INSERT INTO patients (patient_id, name, surname, gender, age, aadhar_number, photo) " +
+                "VALUES (?, ?, 'Test', 'F', 30, ?, ?)",
+                patientId, "Patient " + i, String.format("9000%08d", i), i % 2 == 0 ? new byte[] {1, 2, 3} : null);
+            for (int visit = 0; visit < 2; visit++) {
+                jdbcTemplate.update(
+                    "INSERT INTO visits (patient_id, status, visit_date) VALUES (?, 'Active', now() - (? * interval '1 day'))",
+                    patientId, visit);
+            }
+        }
+        seeded = true;
+    }
+
+    @Test
+    void listingPatientsUsesAFixedNumberOfStatements() throws Exception {
+        try (SqlStats sql = SqlStatementTracker.capture()) {
+            mockMvc.perform(get("/api/patients"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(PATIENTS));
+
+            // patients, their photos, their latest visits
+            sql.assertStatementsAtMost(3);
+            sql.assertNoShapeRepeatedMoreThan(1);
+        }
+    }
+
+    @Test
+    void fetchingOnePatientUsesAFixedNumberOfStatements() throws Exception {
+        try (SqlStats sql = SqlStatementTracker.capture()) {
+            mockMvc.perform(get("/api/patients/T002"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.patientId").value("T002"));
+
+            // ETag fingerprint, patient, photo, latest visit
+            sql.assertStatementsAtMost(4);
+            sql.assertNoShapeRepeatedMoreThan(1);
+        }
+    }
+}
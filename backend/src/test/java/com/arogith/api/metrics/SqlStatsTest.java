@@ -0,0 +1,93 @@
+package com.arogith.api.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatsTest {
+
+    @Test
+    void shapeMasksStringAndNumberLiterals() {
+        assertEquals("SELECT * FROM patients WHERE name = ? AND age > ? AND weight < ?",
+                SqlStats.shapeOf("SELECT * FROM patients WHERE name = 'Ravi' AND age > 40 AND weight < 72.5"));
+    }
+
+    @Test
+    void shapeMasksStringsWithEscapedQuotesAndDigits() {
+        assertEquals("SELECT ? FROM patients WHERE address = ?",
+                SqlStats.shapeOf("SELECT 1 FROM patients WHERE address = 'O''Brien Street 12'"));
+    }
+
+    @Test
+    void shapeKeepsDigitsInsideIdentifiers() {
+        assertEquals("SELECT v1.visit_id, p2.patient_id FROM visits v1 JOIN patients p2 ON p2.patient_id = v1.patient_id",
+                SqlStats.shapeOf("SELECT v1.visit_id, p2.patient_id FROM visits v1 JOIN patients p2 ON p2.patient_id = v1.patient_id"));
+    }
+
+    @Test
+    void shapeCollapsesWhitespace() {
+        assertEquals("SELECT * FROM visits WHERE visit_id = ?",
+                SqlStats.shapeOf("  SELECT *\n\tFROM   visits\n WHERE visit_id = ?  "));
+    }
+
+    @Test
+    void shapeCollapsesInListsOfAnyLength() {
+        String two = SqlStats.shapeOf("SELECT * FROM labtests WHERE visit_id IN (?, ?)");
+        String five = SqlStats.shapeOf("SELECT * FROM labtests WHERE visit_id IN (?,?,?, ?,  ?)");
+        String literals = SqlStats.shapeOf("SELECT * FROM labtests WHERE visit_id IN (1, 2, 3)");
+        assertEquals("SELECT * FROM labtests WHERE visit_id IN (?)", two);
+        assertEquals(two, five);
+        assertEquals(two, literals);
+    }
+
+    @Test
+    void shapeLeavesSingleParameterGroupsAlone() {
+        assertEquals("SELECT * FROM visits WHERE visit_id = (?)",
+                SqlStats.shapeOf("SELECT * FROM visits WHERE visit_id = (?)"));
+    }
+
+    @Test
+    void repeatedShapesAreReportedAsPossibleNPlusOne() {
+        try (SqlStats sql = SqlStatementTracker.capture()) {
+            SqlStatementTracker.recordStatement("SELECT * FROM patients", 1_000_000, 3);
+            for (int id = 1; id <= 3; id++) {
+                SqlStatementTracker.recordStatement("SELECT * FROM visits WHERE patient_id = '" + id + "'", 1_000_000, 1);
+            }
+
+            assertEquals(4, sql.getStatements());
+            assertEquals(6, sql.getRows());
+            assertEquals(Map.of("SELECT * FROM visits WHERE patient_id = ?", 3), sql.getRepeatedShapes(1));
+            sql.assertStatementsAtMost(4);
+            sql.assertNoShapeRepeatedMoreThan(3);
+            AssertionError budget = assertThrows(AssertionError.class, () -> sql.assertStatementsAtMost(3));
+            assertTrue(budget.getMessage().contains("at most 3"));
+            AssertionError nPlusOne = assertThrows(AssertionError.class, () -> sql.assertNoShapeRepeatedMoreThan(1));
+            assertTrue(nPlusOne.getMessage().contains("SELECT * FROM visits WHERE patient_id = ?"));
+        }
+    }
+
+    @Test
+    void nestedScopesEachSeeEveryStatement() {
+        try (SqlStats outer = SqlStatementTracker.capture()) {
+            SqlStatementTracker.recordStatement("SELECT 1", 0, 1);
+            try (SqlStats inner = SqlStatementTracker.capture()) {
+                SqlStatementTracker.recordStatement("SELECT 2", 0, 1);
+                assertEquals(1, inner.getStatements());
+            }
+            assertEquals(2, outer.getStatements());
+            assertEquals(outer, SqlStatementTracker.current());
+        }
+        assertNull(SqlStatementTracker.current());
+    }
+
+    @Test
+    void statementsOutsideAScopeAreIgnored() {
+        SqlStatementTracker.recordStatement("SELECT 1", 0, 1);
+        assertNull(SqlStatementTracker.current());
+    }
+}
@@ -0,0 +1,85 @@
+package com.arogith.api.service.impl;
+
+import com.arogith.api.service.impl.LabResultInterpreter.Interpretation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LabResultInterpreterTest {
+
+    @Test
+    void parsesValueAndUnit() {
+        Interpretation i = LabResultInterpreter.interpret("10.5 g/dL", "12-16 g/dL");
+        assertEquals(new BigDecimal("10.5"), i.getValue());
+        assertEquals("g/dL", i.getUnit());
+        assertEquals(new BigDecimal("12"), i.getReferenceLow());
+        assertEquals(new BigDecimal("16"), i.getReferenceHigh());
+        assertEquals(LabResultInterpreter.FLAG_LOW, i.getFlag());
+    }
+
+    @Test
+    void takesTheUnitFromTheRangeWhenTheResultHasNone() {
+        Interpretation i = LabResultInterpreter.interpret("95", "70 - 110 mg/dL");
+        assertEquals(new BigDecimal("95"), i.getValue());
+        assertEquals("mg/dL", i.getUnit());
+        assertEquals(LabResultInterpreter.FLAG_NORMAL, i.getFlag());
+    }
+
+    @Test
+    void acceptsComparatorsAndUnitsWithoutSpace() {
+        Interpretation i = LabResultInterpreter.interpret(">= 250mg/dL", "< 200");
+        assertEquals(new BigDecimal("250"), i.getValue());
+        assertEquals("mg/dL", i.getUnit());
+        assertEquals(LabResultInterpreter.FLAG_HIGH, i.getFlag());
+    }
+
+    @Test
+    void flagsAgainstOneSidedRanges() {
+        assertEquals(LabResultInterpreter.FLAG_LOW, LabResultInterpreter.interpret("35", "> 40 mg/dL").getFlag());
+        assertEquals(LabResultInterpreter.FLAG_NORMAL, LabResultInterpreter.interpret("150", "up to 200").getFlag());
+    }
+
+    @Test
+    void criticalLimitsTakePrecedence() {
+        Interpretation i = LabResultInterpreter.interpret("6.1", "12-16", new BigDecimal("7"), new BigDecimal("20"));
+        assertEquals(LabResultInterpreter.FLAG_CRITICAL_LOW, i.getFlag());
+        i = LabResultInterpreter.interpret("21", "12-16", new BigDecimal("7"), new BigDecimal("20"));
+        assertEquals(LabResultInterpreter.FLAG_CRITICAL_HIGH, i.getFlag());
+    }
+
+    @Test
+    void leavesBloodPressureUninterpreted() {
+        Interpretation i = LabResultInterpreter.interpret("120/80 mmHg", "90-120");
+        assertNull(i.getValue());
+        assertNull(i.getFlag());
+        assertNull(i.getUnit());
+    }
+
+    @Test
+    void leavesRangesAndRatiosUninterpreted() {
+        for (String result : new String[] {"12-15", "12 - 15", "1:40", "120 / 80", "1,200 /uL", "12.5.3"}) {
+            Interpretation i = LabResultInterpreter.interpret(result, "10-20");
+            assertNull(i.getValue(), result);
+            assertNull(i.getFlag(), result);
+        }
+    }
+
+    @Test
+    void leavesTextUninterpreted() {
+        Interpretation i = LabResultInterpreter.interpret("Negative", "Negative");
+        assertNull(i.getValue());
+        assertNull(i.getUnit());
+        assertNull(i.getFlag());
+    }
+
+    @Test
+    void noFlagWithoutUsableRange() {
+        Interpretation i = LabResultInterpreter.interpret("5.4 %", "See report");
+        assertEquals(new BigDecimal("5.4"), i.getValue());
+        assertEquals("%", i.getUnit());
+        assertNull(i.getFlag());
+    }
+}
@@ -0,0 +1,133 @@
+package com.arogith.benchmarks;
+
+import com.arogith.api.model.LabTest;
+import com.arogith.api.model.Patient;
+import com.arogith.api.model.Visit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generators for benchmark fixtures. The same seed always yields the same data,
+ * so runs on different machines (and the committed baseline) measure identical inputs.
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20240101L;
+
+    private static final String[] NAMES = {"Aarav", "Vivaan", "Aditya", "Ananya", "Diya", "Ishaan", "Kavya",
+            "Lakshmi", "Meera", "Nikhil", "Priya", "Rahul", "Sai", "Sneha", "Vikram", "Zara"};
+    private static final String[] SURNAMES = {"Sharma", "Reddy", "Iyer", "Nair", "Patel", "Gupta", "Rao",
+            "Menon", "Das", "Singh", "Kumar", "Joshi"};
+    private static final String[] BLOOD_GROUPS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+    private static final String[] VISIT_STATUSES = {"Waiting", "Active", "Critical", "Recovered", "Completed"};
+    private static final String[] LAB_TESTS = {"Hemoglobin", "Fasting Blood Sugar", "Serum Creatinine",
+            "Total Cholesterol", "TSH", "Platelet Count"};
+    private static final String[] RANGES = {"13.5-17.5 g/dL", "70-100 mg/dL", "0.7-1.3 mg/dL",
+            "<200 mg/dL", "0.4-4.0 mIU/L", "150-450 x10^3/uL"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static List<Patient> patients(int count) {
+        Random random = new Random(SEED);
+        List<Patient> patients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Patient patient = new Patient();
+            patient.setPatientId(String.format("%03d", i + 1));
+            patient.setName(pick(random, NAMES));
+            patient.setSurname(pick(random, SURNAMES));
+            patient.setFatherName(pick(random, NAMES) + " " + patient.getSurname());
+            patient.setAge(1 + random.nextInt(90));
+            patient.setBloodGroup(pick(random, BLOOD_GROUPS));
+            patient.setGender(random.nextBoolean() ? "Male" : "Female");
+            patient.setAadharNumber(String.format("%012d", Math.floorMod(random.nextLong(), 1_000_000_000_000L)));
+            patient.setPhoneNumber("9" + String.format("%09d", random.nextInt(1_000_000_000)));
+            patient.setAddress((1 + random.nextInt(400)) + ", MG Road, Hyderabad");
+            patient.setTotalVisits(random.nextInt(12));
+            patients.add(patient);
+        }
+        return patients;
+    }
+
+    // [patientId, photo] rows as returned by PatientPhotoRepository.findPhotos: every
+    // photoEvery-th patient has a photo of photoBytes (photoEvery = 0 means none)
+    public static List<Object[]> photos(List<Patient> patients, int photoEvery, int photoBytes) {
+        Random random = new Random(SEED + 3);
+        List<Object[]> photos = new ArrayList<>();
+        for (int i = 0; photoEvery > 0 && i < patients.size(); i += photoEvery) {
+            photos.add(new Object[] {patients.get(i).getPatientId(), photo(photoBytes, random.nextLong())});
+        }
+        return photos;
+    }
+
+    public static List<Visit> visits(int count, int labTestsPerVisit) {
+        Random random = new Random(SEED + 1);
+        List<Visit> visits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Visit visit = new Visit();
+            visit.setVisitId((long) i + 1);
+            visit.setPatientId(String.format("%03d", 1 + random.nextInt(Math.max(1, count / 2))));
+            visit.setDoctorId("D" + (1 + random.nextInt(20)));
+            visit.setOpNo("OP" + (1000 + i));
+            visit.setRegNo("REG" + (5000 + i));
+            visit.setBp((100 + random.nextInt(50)) + "/" + (60 + random.nextInt(30)));
+            visit.setWeight((40 + random.nextInt(60)) + " kg");
+            visit.setTemperature("98." + random.nextInt(10) + "°F");
+            visit.setSymptoms("Fever, headache");
+            visit.setComplaint("Persistent fever for " + (1 + random.nextInt(7)) + " days");
+            visit.setStatus(pick(random, VISIT_STATUSES));
+            visit.setPrescription(random.nextBoolean() ? "Paracetamol 500mg BD x 5 days" : null);
+            visit.setNotes("Review after lab results");
+            visit.setVisitDate(EPOCH.plusMinutes(random.nextInt(60 * 24 * 180)));
+            visit.setLabTests(labTests(labTestsPerVisit, visit.getVisitId(), visit.getPatientId(), random));
+            visits.add(visit);
+        }
+        return visits;
+    }
+
+    public static List<LabTest> labTests(int count) {
+        return labTests(count, null, null, new Random(SEED + 2));
+    }
+
+    public static byte[] photo(int bytes, long seed) {
+        byte[] photo = new byte[bytes];
+        new Random(seed).nextBytes(photo);
+        return photo;
+    }
+
+    private static List<LabTest> labTests(int count, Long visitId, String patientId, Random random) {
+        List<LabTest> tests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int kind = random.nextInt(LAB_TESTS.length);
+            LabTest test = new LabTest();
+            test.setTestId(visitId != null ? visitId * 100 + i : (long) i + 1);
+            test.setVisitId(visitId != null ? visitId : (long) 1 + random.nextInt(Math.max(1, count / 3)));
+            test.setPatientId(patientId != null ? patientId : String.format("%03d", 1 + random.nextInt(500)));
+            test.setTestName(LAB_TESTS[kind]);
+            test.setReferenceRange(RANGES[kind]);
+            LocalDateTime given = EPOCH.plusMinutes(random.nextInt(60 * 24 * 180));
+            test.setTestGivenAt(given);
+            if (random.nextInt(3) > 0) {
+                BigDecimal value = BigDecimal.valueOf(random.nextInt(3000), 1);
+                test.setResult(value.toPlainString());
+                test.setResultValue(value);
+                test.setStatus("Completed");
+                test.setResultUpdatedAt(given.plusHours(1 + random.nextInt(48)));
+                test.setAbnormalFlag(random.nextInt(4) == 0 ? "H" : "N");
+            } else {
+                test.setStatus("Pending");
+            }
+            tests.add(test);
+        }
+        return tests;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
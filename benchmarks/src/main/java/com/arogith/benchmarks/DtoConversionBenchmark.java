@@ -0,0 +1,109 @@
+package com.arogith.benchmarks;
+
+import com.arogith.api.dto.DoctorSummaryDTO;
+import com.arogith.api.dto.LabTestDTO;
+import com.arogith.api.dto.PatientDTO;
+import com.arogith.api.dto.VisitDTO;
+import com.arogith.api.model.LabTest;
+import com.arogith.api.model.Patient;
+import com.arogith.api.model.Visit;
+import com.arogith.api.repository.LabTestRepository;
+import com.arogith.api.repository.PatientPhotoRepository;
+import com.arogith.api.repository.PatientRepository;
+import com.arogith.api.repository.VisitRepository;
+import com.arogith.api.service.DoctorService;
+import com.arogith.api.service.impl.LabTestServiceImpl;
+import com.arogith.api.service.impl.PatientServiceImpl;
+import com.arogith.api.service.impl.VisitServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity-to-DTO conversion as done by the list endpoints (GET /api/patients, /api/visits,
+ * /api/labtests), driven through the public service methods with in-memory repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private PatientServiceImpl patientService;
+    private VisitServiceImpl visitService;
+    private LabTestServiceImpl labTestService;
+
+    @Setup
+    public void setUp() {
+        List<Patient> patients = BenchmarkData.patients(rows);
+        List<Object[]> photos = BenchmarkData.photos(patients, 10, 16 * 1024);
+        List<Visit> visits = BenchmarkData.visits(rows, 3);
+        List<LabTest> labTests = BenchmarkData.labTests(rows);
+
+        Map<String, List<Visit>> latestByPatient = visits.stream()
+                .collect(Collectors.groupingBy(Visit::getPatientId));
+        Map<String, Optional<DoctorSummaryDTO>> doctors = new HashMap<>();
+        for (Visit visit : visits) {
+            doctors.computeIfAbsent(visit.getDoctorId(), id -> Optional.of(
+                    new DoctorSummaryDTO(id, "Dr. " + id, id + "@arogith.in", "doctor", "Active", "General", null)));
+        }
+
+        PatientRepository patientRepository = Stubs.of(PatientRepository.class, Map.of(
+                "findAll", args -> patients));
+        PatientPhotoRepository photoRepository = Stubs.of(PatientPhotoRepository.class, Map.of(
+                "findPhotos", args -> photos.stream()
+                        .filter(row -> ((Collection<?>) args[0]).contains(row[0]))
+                        .collect(Collectors.toList())));
+        VisitRepository visitRepository = Stubs.of(VisitRepository.class, Map.of(
+                "findAll", args -> visits,
+                "findLatestVisitsByPatientId", args -> latestByPatient.getOrDefault((String) args[0], List.of()),
+                "findLatestVisitsByPatientIds", args -> ((Collection<?>) args[0]).stream()
+                        .filter(latestByPatient::containsKey)
+                        .map(id -> latestByPatient.get(id).get(0))
+                        .collect(Collectors.toList())));
+        LabTestRepository labTestRepository = Stubs.of(LabTestRepository.class, Map.of(
+                "findAll", args -> labTests));
+        DoctorService doctorService = Stubs.of(DoctorService.class, Map.of(
+                "findDoctorSummary", args -> doctors.getOrDefault((String) args[0], Optional.empty())));
+
+        patientService = new PatientServiceImpl(patientRepository, photoRepository, visitRepository, null, null, null, null);
+        visitService = new VisitServiceImpl(visitRepository, patientRepository, doctorService, null, null, null);
+        labTestService = new LabTestServiceImpl(labTestRepository, visitRepository, null, null, null);
+    }
+
+    @Benchmark
+    public List<PatientDTO> patients() {
+        return patientService.getAllPatients();
+    }
+
+    @Benchmark
+    public List<VisitDTO> visits() {
+        return visitService.getAllVisits();
+    }
+
+    @Benchmark
+    public List<LabTestDTO> labTests() {
+        return labTestService.getAllLabTests();
+    }
+}
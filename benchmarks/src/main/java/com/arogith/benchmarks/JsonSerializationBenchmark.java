@@ -0,0 +1,95 @@
+package com.arogith.benchmarks;
+
+import com.arogith.api.dto.LabTestDTO;
+import com.arogith.api.dto.PatientDTO;
+import com.arogith.api.dto.VisitDTO;
+import com.arogith.api.model.Patient;
+import com.arogith.api.repository.LabTestRepository;
+import com.arogith.api.repository.PatientPhotoRepository;
+import com.arogith.api.repository.PatientRepository;
+import com.arogith.api.repository.VisitRepository;
+import com.arogith.api.service.DoctorService;
+import com.arogith.api.service.impl.LabTestServiceImpl;
+import com.arogith.api.service.impl.PatientServiceImpl;
+import com.arogith.api.service.impl.VisitServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the large list responses, with the mapper configured the way
+ * Spring Boot configures it (registered modules, ISO dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private List<PatientDTO> patients;
+    private List<VisitDTO> visits;
+    private List<LabTestDTO> labTests;
+
+    @Setup
+    public void setUp() {
+        List<Patient> patientRows = BenchmarkData.patients(rows);
+        PatientRepository patientRepository = Stubs.of(PatientRepository.class, Map.of(
+                "findAll", args -> patientRows));
+        // A single chunk of ids at this row count, so every photo row can be returned as is
+        PatientPhotoRepository photoRepository = Stubs.of(PatientPhotoRepository.class, Map.of(
+                "findPhotos", args -> BenchmarkData.photos(patientRows, 10, 16 * 1024)));
+        VisitRepository visitRepository = Stubs.of(VisitRepository.class, Map.of(
+                "findAll", args -> BenchmarkData.visits(rows, 3),
+                "findLatestVisitsByPatientId", args -> List.of(),
+                "findLatestVisitsByPatientIds", args -> List.of()));
+        LabTestRepository labTestRepository = Stubs.of(LabTestRepository.class, Map.of(
+                "findAll", args -> BenchmarkData.labTests(rows)));
+        DoctorService doctorService = Stubs.of(DoctorService.class, Map.of(
+                "findDoctorSummary", args -> Optional.empty()));
+
+        patients = new PatientServiceImpl(patientRepository, photoRepository, visitRepository, null, null, null, null)
+                .getAllPatients();
+        visits = new VisitServiceImpl(visitRepository, patientRepository, doctorService, null, null, null).getAllVisits();
+        labTests = new LabTestServiceImpl(labTestRepository, visitRepository, null, null, null).getAllLabTests();
+    }
+
+    @Benchmark
+    public byte[] patients() throws Exception {
+        return objectMapper.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] visits() throws Exception {
+        return objectMapper.writeValueAsBytes(visits);
+    }
+
+    @Benchmark
+    public byte[] labTests() throws Exception {
+        return objectMapper.writeValueAsBytes(labTests);
+    }
+}
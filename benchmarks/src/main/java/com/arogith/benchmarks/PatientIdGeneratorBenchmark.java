@@ -0,0 +1,94 @@
+package com.arogith.benchmarks;
+
+import com.arogith.api.config.PatientIdGenerator;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.ResultSetReturn;
+import org.hibernate.engine.jdbc.spi.StatementPreparer;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.resource.jdbc.ResourceRegistry;
+import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * PatientIdGenerator minus the database round trip: the session's JDBC coordinator,
+ * statement handling and "%03d" formatting around an in-memory sequence.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatientIdGeneratorBenchmark {
+
+    private final PatientIdGenerator generator = new PatientIdGenerator();
+    private SharedSessionContractImplementor session;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        ResultSet resultSet = Stubs.of(ResultSet.class, Map.of(
+                "next", args -> true,
+                "getLong", args -> ++sequence,
+                "close", args -> null));
+        PreparedStatement statement = Stubs.of(PreparedStatement.class, Map.of(
+                "executeQuery", args -> resultSet,
+                "close", args -> null));
+        Connection connection = Stubs.of(Connection.class, Map.of(
+                "prepareStatement", args -> statement));
+        StatementPreparer preparer = Stubs.of(StatementPreparer.class, Map.of(
+                "prepareStatement", args -> jdbc(() -> connection.prepareStatement((String) args[0]))));
+        ResultSetReturn resultSetReturn = Stubs.of(ResultSetReturn.class, Map.of(
+                "extract", args -> jdbc(() -> ((PreparedStatement) args[0]).executeQuery())));
+        ResourceRegistry resources = Stubs.of(ResourceRegistry.class, Map.of(
+                "release", args -> jdbc(() -> {
+                    ((PreparedStatement) args[0]).close();
+                    return null;
+                })));
+        LogicalConnectionImplementor logicalConnection = Stubs.of(LogicalConnectionImplementor.class, Map.of(
+                "getResourceRegistry", args -> resources));
+        Map<String, Function<Object[], Object>> coordinator = new HashMap<>();
+        coordinator.put("getStatementPreparer", args -> preparer);
+        coordinator.put("getResultSetReturn", args -> resultSetReturn);
+        coordinator.put("getLogicalConnection", args -> logicalConnection);
+        coordinator.put("afterStatementExecution", args -> null);
+        JdbcCoordinator jdbcCoordinator = Stubs.of(JdbcCoordinator.class, coordinator);
+        session = Stubs.of(SharedSessionContractImplementor.class, Map.of(
+                "getJdbcCoordinator", args -> jdbcCoordinator));
+    }
+
+    private static Object jdbc(JdbcCall call) {
+        try {
+            return call.run();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface JdbcCall {
+        Object run() throws SQLException;
+    }
+
+    @Benchmark
+    public Object generate() {
+        return generator.generate(session, null);
+    }
+}
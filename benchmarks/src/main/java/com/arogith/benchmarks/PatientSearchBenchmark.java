@@ -0,0 +1,62 @@
+package com.arogith.benchmarks;
+
+import com.arogith.api.dto.PatientDTO;
+import com.arogith.api.model.Patient;
+import com.arogith.api.repository.PatientPhotoRepository;
+import com.arogith.api.repository.PatientRepository;
+import com.arogith.api.repository.VisitRepository;
+import com.arogith.api.service.impl.PatientServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PatientServiceImpl.searchPatients, which loads every patient and filters in memory.
+ * Queries cover a common name fragment, an Aadhaar prefix and a miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatientSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int patients;
+
+    @Param({"red", "4821", "zzzz"})
+    public String query;
+
+    private PatientServiceImpl patientService;
+
+    @Setup
+    public void setUp() {
+        List<Patient> rows = BenchmarkData.patients(patients);
+        PatientRepository patientRepository = Stubs.of(PatientRepository.class, Map.of(
+                "findAll", args -> rows));
+        PatientPhotoRepository photoRepository = Stubs.of(PatientPhotoRepository.class, Map.of(
+                "findPhotos", args -> List.of()));
+        VisitRepository visitRepository = Stubs.of(VisitRepository.class, Map.of(
+                "findLatestVisitsByPatientId", args -> List.of(),
+                "findLatestVisitsByPatientIds", args -> List.of()));
+        patientService = new PatientServiceImpl(patientRepository, photoRepository, visitRepository, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<PatientDTO> search() {
+        return patientService.searchPatients(query);
+    }
+}
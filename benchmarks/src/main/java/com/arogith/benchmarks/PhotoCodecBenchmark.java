@@ -0,0 +1,57 @@
+package com.arogith.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Patient photo handling: the data-URL encoding done by PatientServiceImpl.convertToDTO
+ * and the split-and-decode done on registration and update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhotoCodecBenchmark {
+
+    private static final String DATA_URL_PREFIX = "data:image/jpeg;base64,";
+
+    @Param({"16384", "262144"})
+    public int photoBytes;
+
+    private byte[] photo;
+    private String dataUrl;
+
+    @Setup
+    public void setUp() {
+        photo = BenchmarkData.photo(photoBytes, BenchmarkData.SEED);
+        dataUrl = DATA_URL_PREFIX + Base64.getEncoder().encodeToString(photo);
+    }
+
+    @Benchmark
+    public String encode() {
+        return DATA_URL_PREFIX + Base64.getEncoder().encodeToString(photo);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        String base64Image = dataUrl;
+        if (base64Image.contains(",")) {
+            base64Image = base64Image.split(",")[1];
+        }
+        return Base64.getDecoder().decode(base64Image);
+    }
+}
@@ -0,0 +1,38 @@
+package com.arogith.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for repository and service interfaces, so the service-layer code
+ * under test runs without Spring or a database. Each stub answers the named methods
+ * from the given map and fails loudly on anything else, which keeps a benchmark from
+ * silently measuring a path it did not set up.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                default:
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName()
+                            + " is not stubbed");
+            }
+        });
+    }
+}
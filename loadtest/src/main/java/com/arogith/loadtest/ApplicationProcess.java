@@ -0,0 +1,138 @@
+package com.arogith.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The backend under test, started from its executable jar in a separate JVM so the load
+ * generator does not compete with it for heap and JIT. Output goes to app.log in the
+ * results directory.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationProcess.class);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private ApplicationProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static ApplicationProcess start(LoadTestOptions options, DatabaseFixture database)
+            throws IOException, InterruptedException {
+        if (!Files.isRegularFile(options.appJar)) {
+            throw new IllegalStateException(options.appJar.toAbsolutePath()
+                    + " not found - build the backend first (mvn -pl backend package) or pass --app-jar");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(options.appJava.toString());
+        command.addAll(Arrays.asList(options.appJvmArgs.trim().split("\\s+")));
+        command.add("-jar");
+        command.add(options.appJar.toAbsolutePath().toString());
+        command.add("--server.port=" + options.appPort);
+        command.add("--spring.datasource.url=" + database.getJdbcUrl());
+        command.add("--spring.datasource.username=" + database.getUser());
+        command.add("--spring.datasource.password=" + database.getPassword());
+        // One client IP generates all traffic; per-IP limits would measure the limiter, not the service
+        command.add("--rate-limit.enabled=false");
+        boolean virtual = LoadTestOptions.EXECUTION_VIRTUAL.equals(options.executionMode());
+        command.add("--spring.threads.virtual.enabled=" + virtual);
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--logging.level.root=WARN");
+        command.add("--logging.level.com.arogith=WARN");
+        command.add("--logging.level.org.hibernate=WARN");
+        // application.properties sets these two to DEBUG by name, which the parent levels do not override
+        command.add("--logging.level.org.hibernate.SQL=WARN");
+        command.add("--logging.level.com.zaxxer.hikari=WARN");
+        if (!options.appArgs.isBlank()) {
+            command.addAll(Arrays.asList(options.appArgs.trim().split("\\s+")));
+        }
+
+        Files.createDirectories(options.outputDir);
+        Path log = options.outputDir.resolve("app.log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        String baseUrl = "http://localhost:" + options.appPort;
+        ApplicationProcess app = new ApplicationProcess(process, baseUrl);
+        logger.info("Starting {} on {} threads (log: {})", options.appJar.getFileName(), options.executionMode(), log);
+        try {
+            app.awaitHealthy();
+            app.verifyExecutionMode(virtual);
+        } catch (RuntimeException | InterruptedException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    long getPid() {
+        return process.pid();
+    }
+
+    // Spring Boot ignores spring.threads.virtual.enabled below JDK 21; do not report such a run as "virtual"
+    private void verifyExecutionMode(boolean virtual) throws InterruptedException {
+        Double active;
+        try (ResourceSampler probe = new ResourceSampler(baseUrl, null)) {
+            active = probe.metric("app.execution.virtual-threads");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read app.execution.virtual-threads", e);
+        }
+        if (active != null && (active > 0) != virtual) {
+            throw new IllegalStateException("Application is running on " + (active > 0 ? "virtual" : "platform")
+                    + " threads but " + (virtual ? "virtual" : "platform") + " was requested"
+                    + (virtual ? " - pass a JDK 21+ java with --app-java" : ""));
+        }
+    }
+
+    private void awaitHealthy() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/api/health"))
+                .timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited during startup with code " + process.exitValue());
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    logger.info("Application is up at {}", baseUrl);
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
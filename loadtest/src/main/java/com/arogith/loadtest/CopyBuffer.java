@@ -0,0 +1,87 @@
+package com.arogith.loadtest;
+
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Rows in PostgreSQL COPY text format (tab-separated, \N for null), sent to the server
+ * in one COPY ... FROM STDIN through the driver's CopyManager.
+ */
+final class CopyBuffer {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String copySql;
+    private final StringBuilder text;
+    private boolean rowStarted;
+    private long rows;
+
+    CopyBuffer(String table, String columns, int expectedRows) {
+        this.copySql = "COPY " + table + " (" + columns + ") FROM STDIN";
+        this.text = new StringBuilder(Math.max(1024, expectedRows * 128));
+    }
+
+    CopyBuffer add(String value) {
+        separator();
+        if (value == null) {
+            text.append("\\N");
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': text.append("\\\\"); break;
+                case '\t': text.append("\\t"); break;
+                case '\n': text.append("\\n"); break;
+                case '\r': text.append("\\r"); break;
+                default: text.append(c);
+            }
+        }
+        return this;
+    }
+
+    CopyBuffer add(long value) {
+        separator();
+        text.append(value);
+        return this;
+    }
+
+    CopyBuffer add(BigDecimal value) {
+        separator();
+        text.append(value == null ? "\\N" : value.toPlainString());
+        return this;
+    }
+
+    CopyBuffer add(LocalDateTime value) {
+        separator();
+        text.append(value == null ? "\\N" : TIMESTAMP.format(value));
+        return this;
+    }
+
+    void endRow() {
+        text.append('\n');
+        rowStarted = false;
+        rows++;
+    }
+
+    long copyTo(Connection connection) throws SQLException, IOException {
+        if (rows == 0) {
+            return 0;
+        }
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, new StringReader(text.toString()));
+    }
+
+    private void separator() {
+        if (rowStarted) {
+            text.append('\t');
+        }
+        rowStarted = true;
+    }
+}
@@ -0,0 +1,94 @@
+package com.arogith.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The database under test: an embedded PostgreSQL started for the run, or an external
+ * one given by --jdbc-url. Either way it gets the backend's schema.sql, the application's
+ * own definition of the current schema, constraints included.
+ */
+final class DatabaseFixture implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseFixture.class);
+    private static final String SCHEMA = "schema.sql";
+
+    private final EmbeddedPostgres embedded;
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+
+    private DatabaseFixture(EmbeddedPostgres embedded, String jdbcUrl, String user, String password) {
+        this.embedded = embedded;
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+    }
+
+    static DatabaseFixture start(LoadTestOptions options) throws IOException, SQLException {
+        DatabaseFixture fixture;
+        if (options.jdbcUrl != null) {
+            logger.info("Using external database {}", options.jdbcUrl);
+            fixture = new DatabaseFixture(null, options.jdbcUrl, options.dbUser, options.dbPassword);
+        } else {
+            // PostgreSQL refuses to run as root; run the harness as a regular user or pass --jdbc-url
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                    .setServerConfig("max_connections", "200")
+                    .setServerConfig("shared_buffers", "256MB")
+                    .start();
+            String url = postgres.getJdbcUrl("postgres", "postgres");
+            logger.info("Started embedded PostgreSQL at {}", url);
+            fixture = new DatabaseFixture(postgres, url, "postgres", "postgres");
+        }
+        fixture.createSchema();
+        return fixture;
+    }
+
+    String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String getUser() {
+        return user;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, user, password);
+    }
+
+    private void createSchema() throws IOException, SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            logger.info("Applying {}", SCHEMA);
+            statement.execute(read(SCHEMA));
+        }
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream in = DatabaseFixture.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + resource + " - is the api jar installed?");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.arogith.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator. Requests are sent at the times the workload scheduled them,
+ * whether or not earlier requests have completed, and latency is measured from that
+ * intended time, so a stalled server shows up as queueing delay instead of silently
+ * lowering the offered load (coordinated omission).
+ *
+ * Requests go out through HttpClient.sendAsync. On a JDK with virtual threads the
+ * client's executor is a virtual-thread-per-task executor; on JDK 17 it falls back to
+ * the client's default pool, which is enough because sending is non-blocking.
+ */
+final class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final LoadTestOptions options;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadGenerator(LoadTestOptions options) {
+        this.options = options;
+        for (String endpoint : Workload.ENDPOINTS) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    Map<String, EndpointStats> run(Workload workload) throws Exception {
+        Files.createDirectories(options.outputDir);
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.openLog(options.outputDir);
+        }
+        ExecutorService executor = newExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+
+        long warmupNanos = options.warmup.toNanos();
+        long endNanos = warmupNanos + options.duration.toNanos();
+        long start = System.nanoTime();
+        ticker.scheduleAtFixedRate(() -> flushIntervals(start, warmupNanos), 1, 1, TimeUnit.SECONDS);
+        logger.info("Offering {} arrivals/s for {}s (+{}s warm-up)", options.ratePerSecond,
+                options.duration.getSeconds(), options.warmup.getSeconds());
+
+        PriorityQueue<Workload.Request> due = new PriorityQueue<>(
+                (a, b) -> Long.compare(a.intendedNanos, b.intendedNanos));
+        long generatedUntil = 0;
+        while (generatedUntil < endNanos || !due.isEmpty()) {
+            if (due.isEmpty() || due.peek().intendedNanos >= generatedUntil) {
+                if (generatedUntil < endNanos) {
+                    generatedUntil = Math.min(endNanos, generatedUntil + WINDOW_NANOS);
+                    workload.generate(generatedUntil, due::add);
+                    continue;
+                }
+            }
+            Workload.Request request = due.poll();
+            long wait = start + request.intendedNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(client, request, start, request.intendedNanos >= warmupNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        ticker.shutdown();
+        ticker.awaitTermination(5, TimeUnit.SECONDS);
+        flushIntervals(start, warmupNanos);
+        executor.shutdownNow();
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.closeLog();
+        }
+        return stats;
+    }
+
+    private void send(HttpClient client, Workload.Request request, long start, boolean measured) {
+        EndpointStats endpoint = stats.get(request.endpoint);
+        if (inFlight.get() >= options.maxInFlight) {
+            if (measured) {
+                endpoint.dropped.increment();
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        long intended = start + request.intendedNanos;
+        client.sendAsync(request.httpRequest, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intended;
+                    inFlight.decrementAndGet();
+                    if (!measured) {
+                        return;
+                    }
+                    endpoint.recorder.recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+                    if (error != null) {
+                        endpoint.failures.increment();
+                    } else if (response.statusCode() >= 400) {
+                        endpoint.httpErrors.increment();
+                    }
+                });
+    }
+
+    private synchronized void flushIntervals(long start, long warmupNanos) {
+        boolean measuring = System.nanoTime() - start >= warmupNanos;
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.flushInterval(measuring);
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() when running on JDK 21+
+    private static ExecutorService newExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            logger.info("Using virtual threads for the HTTP client");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    static final class EndpointStats {
+        final String endpoint;
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        final Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        final LongAdder httpErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        private Histogram interval;
+        private HistogramLogWriter log;
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        String fileName() {
+            return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "").toLowerCase();
+        }
+
+        void openLog(Path dir) throws FileNotFoundException {
+            log = new HistogramLogWriter(dir.resolve(fileName() + ".hlog").toFile());
+            log.outputLogFormatVersion();
+            log.outputStartTime(System.currentTimeMillis());
+            log.outputLegend();
+        }
+
+        void flushInterval(boolean measuring) {
+            interval = recorder.getIntervalHistogram(interval);
+            if (measuring && interval.getTotalCount() > 0) {
+                total.add(interval);
+                log.outputIntervalHistogram(interval);
+            }
+        }
+
+        void closeLog() {
+            log.close();
+        }
+    }
+}
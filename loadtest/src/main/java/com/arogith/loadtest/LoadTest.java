@@ -0,0 +1,66 @@
+package com.arogith.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point: database, seed data, application, workload, report - in that order, torn
+ * down in reverse. With --base-url the first three steps are skipped and the workload is
+ * run against an existing deployment (its lab orders then need --today-visit-ids).
+ * With --execution-modes=platform,virtual the whole sequence runs once per mode on
+ * identical seed data, followed by a side-by-side comparison.
+ */
+public final class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.baseUrl != null) {
+            logger.info("Targeting existing deployment at {}", options.baseUrl);
+            run(options.baseUrl, null, new SyntheticDataGenerator.SeedData(options.patients, options.todayVisitIds),
+                    options);
+            return;
+        }
+        if (options.executionModes.size() == 1) {
+            runWithFixture(options);
+            return;
+        }
+        Map<String, Report.Run> runs = new LinkedHashMap<>();
+        for (String mode : options.executionModes) {
+            logger.info("=== Execution mode: {} ===", mode);
+            runs.put(mode, runWithFixture(options.forExecutionMode(mode)));
+        }
+        Report.compare(runs, options);
+    }
+
+    private static Report.Run runWithFixture(LoadTestOptions options) throws Exception {
+        try (DatabaseFixture database = DatabaseFixture.start(options)) {
+            SyntheticDataGenerator.SeedData seedData = SyntheticDataGenerator.generate(database, options);
+            try (ApplicationProcess app = ApplicationProcess.start(options, database)) {
+                return run(app.getBaseUrl(), app.getPid(), seedData, options);
+            }
+        }
+    }
+
+    private static Report.Run run(String baseUrl, Long pid, SyntheticDataGenerator.SeedData seedData,
+                                  LoadTestOptions options) throws Exception {
+        Workload workload = new Workload(baseUrl, seedData, options);
+        Map<String, LoadGenerator.EndpointStats> stats;
+        ResourceSampler sampler = new ResourceSampler(baseUrl, pid).start();
+        try {
+            stats = new LoadGenerator(options).run(workload);
+        } finally {
+            sampler.close();
+        }
+        Report.Run run = new Report.Run(stats, sampler);
+        Report.write(run, options);
+        return run;
+    }
+}
@@ -0,0 +1,134 @@
+package com.arogith.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options, given as --name=value. Every option has a default, so a bare
+ * "java -jar loadtest.jar" starts an embedded PostgreSQL, seeds it, launches the backend
+ * from ../backend/target and runs the default workload. SyntheticDataGenerator reads the
+ * database and seed-data options.
+ */
+final class LoadTestOptions {
+
+    static final String EXECUTION_PLATFORM = "platform";
+    static final String EXECUTION_VIRTUAL = "virtual";
+
+    // Target: an already running instance (skips the database and application setup)
+    final String baseUrl;
+    // Database: external JDBC URL instead of the embedded server
+    final String jdbcUrl;
+    final String dbUser;
+    final String dbPassword;
+    // Application process
+    final Path appJar;
+    final int appPort;
+    final String appJvmArgs;
+    // Extra Spring arguments appended last, e.g. "--execution.admission.max-concurrent=40"
+    final String appArgs;
+    // JVM for the application; virtual-thread mode needs 21+ (default: the JVM running the harness)
+    final Path appJava;
+    // platform and/or virtual; with both, each mode gets a fresh database and its own output directory
+    final List<String> executionModes;
+    // Seed data
+    final long seed;
+    final int doctors;
+    final int patients;
+    final int historyDays;
+    final double visitsPerPatient;
+    // Dates are relative to this day (default today); fix it for byte-identical data sets
+    final LocalDate asOf;
+    final int workers;
+    final int chunkSize;
+    final boolean truncate;
+    final boolean skipFkChecks;
+    // Workload
+    final double ratePerSecond;
+    final Duration warmup;
+    final Duration duration;
+    final int burstEverySeconds;
+    final int burstSeconds;
+    final double burstFactor;
+    final int maxInFlight;
+    final Path outputDir;
+    // Visits to attach lab orders to when targeting --base-url (normally taken from the seed)
+    final List<Long> todayVisitIds;
+
+    private final Map<String, String> values;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.values = values;
+        baseUrl = values.get("base-url");
+        jdbcUrl = values.get("jdbc-url");
+        dbUser = values.getOrDefault("db-user", "postgres");
+        dbPassword = values.getOrDefault("db-password", "postgres");
+        appJar = Path.of(values.getOrDefault("app-jar", "../backend/target/api-0.0.1-SNAPSHOT-exec.jar"));
+        appPort = Integer.parseInt(values.getOrDefault("app-port", "18080"));
+        appJvmArgs = values.getOrDefault("app-jvm-args", "-Xms512m -Xmx512m");
+        appArgs = values.getOrDefault("app-args", "");
+        appJava = Path.of(values.getOrDefault("app-java",
+                Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        executionModes = new ArrayList<>();
+        for (String mode : values.getOrDefault("execution-modes", EXECUTION_PLATFORM).split(",")) {
+            String trimmed = mode.trim();
+            if (!trimmed.equals(EXECUTION_PLATFORM) && !trimmed.equals(EXECUTION_VIRTUAL)) {
+                throw new IllegalArgumentException("Unknown execution mode: " + trimmed);
+            }
+            executionModes.add(trimmed);
+        }
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        doctors = Integer.parseInt(values.getOrDefault("doctors", "25"));
+        patients = Integer.parseInt(values.getOrDefault("patients", "5000"));
+        historyDays = Integer.parseInt(values.getOrDefault("history-days", "90"));
+        visitsPerPatient = Double.parseDouble(values.getOrDefault("visits-per-patient", "1.5"));
+        asOf = values.containsKey("as-of") ? LocalDate.parse(values.get("as-of")) : null;
+        workers = Integer.parseInt(values.getOrDefault("workers",
+                String.valueOf(Math.max(2, Runtime.getRuntime().availableProcessors()))));
+        chunkSize = Integer.parseInt(values.getOrDefault("chunk-size", "20000"));
+        truncate = Boolean.parseBoolean(values.getOrDefault("truncate", "false"));
+        skipFkChecks = Boolean.parseBoolean(values.getOrDefault("skip-fk-checks", "false"));
+        ratePerSecond = Double.parseDouble(values.getOrDefault("rate", "100"));
+        warmup = Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "15")));
+        duration = Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60")));
+        burstEverySeconds = Integer.parseInt(values.getOrDefault("burst-every-seconds", "30"));
+        burstSeconds = Integer.parseInt(values.getOrDefault("burst-seconds", "5"));
+        burstFactor = Double.parseDouble(values.getOrDefault("burst-factor", "8"));
+        maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", "2000"));
+        outputDir = Path.of(values.getOrDefault("out", "target/loadtest-results"));
+        todayVisitIds = new ArrayList<>();
+        for (String id : values.getOrDefault("today-visit-ids", "").split(",")) {
+            if (!id.isBlank()) {
+                todayVisitIds.add(Long.parseLong(id.trim()));
+            }
+        }
+    }
+
+    // The options for a single-mode run, writing to its own subdirectory
+    LoadTestOptions forExecutionMode(String mode) {
+        Map<String, String> copy = new HashMap<>(values);
+        copy.put("execution-modes", mode);
+        copy.put("out", outputDir.resolve(mode).toString());
+        return new LoadTestOptions(copy);
+    }
+
+    String executionMode() {
+        return executionModes.get(0);
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+}
@@ -0,0 +1,113 @@
+package com.arogith.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput and latency percentiles, printed and written to summary.txt,
+ * plus one .hgrm percentile distribution per endpoint (plot with HdrHistogram's
+ * plotter). Interval .hlog files are written during the run by LoadGenerator. A
+ * multi-mode run adds comparison.txt with one line per execution mode.
+ */
+final class Report {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private Report() {
+    }
+
+    static void write(Run run, LoadTestOptions options) throws IOException {
+        Path summary = options.outputDir.resolve("summary.txt");
+        try (PrintStream file = new PrintStream(Files.newOutputStream(summary), true, "UTF-8")) {
+            print(System.out, run, options);
+            print(file, run, options);
+        }
+        for (LoadGenerator.EndpointStats endpoint : run.stats.values()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(options.outputDir.resolve(endpoint.fileName() + ".hgrm")), true, "UTF-8")) {
+                endpoint.total.outputPercentileDistribution(out, NANOS_PER_MS);
+            }
+        }
+        System.out.println("Results written to " + options.outputDir.toAbsolutePath());
+    }
+
+    static void compare(Map<String, Run> runs, LoadTestOptions options) throws IOException {
+        Path comparison = options.outputDir.resolve("comparison.txt");
+        try (PrintStream file = new PrintStream(Files.newOutputStream(comparison), true, "UTF-8")) {
+            printComparison(System.out, runs, options);
+            printComparison(file, runs, options);
+        }
+        System.out.println("Comparison written to " + comparison.toAbsolutePath());
+    }
+
+    private static void print(PrintStream out, Run run, LoadTestOptions options) {
+        Map<String, LoadGenerator.EndpointStats> stats = run.stats;
+        double seconds = options.duration.toMillis() / 1000.0;
+        out.printf("Offered %.1f arrivals/s for %.0fs (seed %d, %d patients, %s threads)%n", options.ratePerSecond,
+                seconds, options.seed, options.patients, options.executionMode());
+        out.printf("%-26s %8s %9s %7s %7s %8s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s",
+                "4xx/5xx", "failed", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LoadGenerator.EndpointStats endpoint : stats.values()) {
+            Histogram h = endpoint.total;
+            out.printf("%-26s %8d %9.1f %7d %7d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint.endpoint,
+                    h.getTotalCount(), h.getTotalCount() / seconds, endpoint.httpErrors.sum(),
+                    endpoint.failures.sum(), endpoint.dropped.sum(),
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        }
+        ResourceSampler sampler = run.resources;
+        if (!sampler.getHeapMb().isEmpty()) {
+            out.printf("Application heap used: mean %.0f MB, peak %.0f MB; live platform threads: mean %.0f, peak %.0f%n",
+                    sampler.getHeapMb().getMean(), sampler.getHeapMb().getMax(),
+                    sampler.getLiveThreads().getMean(), sampler.getLiveThreads().getMax());
+        }
+        if (!sampler.getRssMb().isEmpty()) {
+            out.printf("Application RSS: mean %.0f MB, peak %.0f MB%n",
+                    sampler.getRssMb().getMean(), sampler.getRssMb().getMax());
+        }
+    }
+
+    private static void printComparison(PrintStream out, Map<String, Run> runs, LoadTestOptions options) {
+        double seconds = options.duration.toMillis() / 1000.0;
+        out.printf("Offered %.1f arrivals/s for %.0fs per mode (seed %d, %d patients)%n", options.ratePerSecond,
+                seconds, options.seed, options.patients);
+        out.printf("%-9s %8s %9s %9s %9s %9s %9s %10s %9s %8s%n", "mode", "ok req/s", "errors", "dropped",
+                "p50 ms", "p99 ms", "max ms", "heap MB", "RSS MB", "threads");
+        runs.forEach((mode, run) -> {
+            Histogram all = new Histogram(3);
+            long errors = 0;
+            long dropped = 0;
+            for (LoadGenerator.EndpointStats endpoint : run.stats.values()) {
+                all.add(endpoint.total);
+                errors += endpoint.httpErrors.sum() + endpoint.failures.sum();
+                dropped += endpoint.dropped.sum();
+            }
+            out.printf("%-9s %8.1f %9d %9d %9.2f %9.2f %9.2f %10.0f %9.0f %8.0f%n", mode,
+                    (all.getTotalCount() - errors) / seconds, errors, dropped,
+                    ms(all.getValueAtPercentile(50)), ms(all.getValueAtPercentile(99)), ms(all.getMaxValue()),
+                    run.resources.getHeapMb().getMax(), run.resources.getRssMb().getMax(),
+                    run.resources.getLiveThreads().getMax());
+        });
+        out.println("heap, RSS and threads are peaks; threads counts platform threads only");
+    }
+
+    private static double ms(long nanos) {
+        return nanos / NANOS_PER_MS;
+    }
+
+    /** One workload run: per-endpoint latency plus the application's sampled resource usage. */
+    static final class Run {
+        final Map<String, LoadGenerator.EndpointStats> stats;
+        final ResourceSampler resources;
+
+        Run(Map<String, LoadGenerator.EndpointStats> stats, ResourceSampler resources) {
+            this.stats = stats;
+            this.resources = resources;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.arogith.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Samples the application's memory and thread count once a second while the workload
+ * runs: used heap and live platform threads from /actuator/metrics, and resident set
+ * size from /proc when the harness started the process itself (Linux only). Virtual
+ * threads are not counted by jvm.threads.live, which is the point of the comparison:
+ * their stacks live on the heap instead.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceSampler.class);
+    private static final long SAMPLE_INTERVAL_MS = 1000;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final String baseUrl;
+    private final Path procStatus;
+    private final Thread thread;
+    private final Usage heap = new Usage();
+    private final Usage rss = new Usage();
+    private final Usage threads = new Usage();
+
+    ResourceSampler(String baseUrl, Long pid) {
+        this.baseUrl = baseUrl;
+        Path status = pid != null ? Path.of("/proc", pid.toString(), "status") : null;
+        this.procStatus = status != null && Files.isReadable(status) ? status : null;
+        this.thread = new Thread(this::sampleLoop, "resource-sampler");
+        this.thread.setDaemon(true);
+    }
+
+    ResourceSampler start() {
+        thread.start();
+        return this;
+    }
+
+    Usage getHeapMb() {
+        return heap;
+    }
+
+    Usage getRssMb() {
+        return rss;
+    }
+
+    Usage getLiveThreads() {
+        return threads;
+    }
+
+    private void sampleLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                sample();
+                Thread.sleep(SAMPLE_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.debug("Resource sample failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void sample() throws IOException, InterruptedException {
+        Double heapBytes = metric("jvm.memory.used?tag=area:heap");
+        if (heapBytes != null) {
+            heap.add(heapBytes / BYTES_PER_MB);
+        }
+        Double live = metric("jvm.threads.live");
+        if (live != null) {
+            threads.add(live);
+        }
+        if (procStatus != null) {
+            List<String> lines = Files.readAllLines(procStatus);
+            for (String line : lines) {
+                // "VmRSS:     123456 kB"
+                if (line.startsWith("VmRSS:")) {
+                    String[] parts = line.trim().split("\\s+");
+                    rss.add(Long.parseLong(parts[1]) / 1024.0);
+                }
+            }
+        }
+    }
+
+    // Returns a metric's VALUE measurement via /actuator/metrics/{name}, or null if it is unavailable
+    Double metric(String nameAndQuery) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + nameAndQuery))
+                .timeout(Duration.ofSeconds(2)).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+            if ("VALUE".equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        thread.interrupt();
+        thread.join(5000);
+    }
+
+    /** Peak and mean of one sampled quantity. */
+    static final class Usage {
+        private double max;
+        private double sum;
+        private int samples;
+
+        synchronized void add(double value) {
+            max = Math.max(max, value);
+            sum += value;
+            samples++;
+        }
+
+        synchronized boolean isEmpty() {
+            return samples == 0;
+        }
+
+        synchronized double getMax() {
+            return max;
+        }
+
+        synchronized double getMean() {
+            return samples == 0 ? 0 : sum / samples;
+        }
+    }
+}
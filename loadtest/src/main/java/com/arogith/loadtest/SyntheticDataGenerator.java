@@ -0,0 +1,426 @@
+package com.arogith.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates doctors, patients, visits and lab tests at production scale and streams them
+ * into PostgreSQL with COPY, split into fixed-size chunks loaded by --workers parallel
+ * connections.
+ *
+ * Output is a pure function of --seed, the row counts and --as-of. Every chunk draws from
+ * its own generator seeded by (seed, table, chunk index), so the worker count and
+ * scheduling do not change the data.
+ *
+ * Rows satisfy the schema the triggers and constraints would otherwise enforce:
+ * - Aadhaar numbers are unique: a bijective scramble of the patient number.
+ * - Visits and lab tests reference existing patients and visits.
+ * - OP/REG numbers use the trigger's P/R + zero-padded sequence format.
+ * - Visit IDs increase with visit date, and weekends are quieter.
+ * - Visit counts per patient are skewed, so a few patients visit often.
+ *
+ * The row triggers on visits are disabled during the load. The values they would set are
+ * written directly, and patients.total_visits and the sequences are fixed up afterwards.
+ */
+final class SyntheticDataGenerator {
+
+    static final String[] NAMES = {"Aarav", "Vivaan", "Aditya", "Ananya", "Diya", "Ishaan", "Kavya", "Lakshmi",
+            "Meera", "Nikhil", "Priya", "Rahul", "Sai", "Sneha", "Vikram", "Zara", "Arjun", "Pooja", "Karthik", "Divya"};
+    static final String[] SURNAMES = {"Sharma", "Reddy", "Iyer", "Nair", "Patel", "Gupta", "Rao", "Menon", "Das",
+            "Singh", "Kumar", "Joshi", "Verma", "Chowdary", "Pillai", "Bose"};
+    static final LabTestKind[] LAB_TESTS = {
+            new LabTestKind("Hemoglobin", "g/dL", "12.0", "17.5"),
+            new LabTestKind("Fasting Blood Sugar", "mg/dL", "70", "100"),
+            new LabTestKind("Serum Creatinine", "mg/dL", "0.6", "1.3"),
+            new LabTestKind("Total Cholesterol", "mg/dL", null, "200"),
+            new LabTestKind("TSH", "uIU/mL", "0.4", "4.0"),
+            new LabTestKind("Platelet Count", "lakhs/cumm", "1.5", "4.5"),
+            new LabTestKind("Sodium", "mmol/L", "135", "145"),
+            new LabTestKind("Potassium", "mmol/L", "3.5", "5.1")};
+    private static final String[] DEPARTMENTS = {"General Medicine", "Pediatrics", "Orthopedics", "Cardiology", "ENT"};
+    private static final String[] BLOOD_GROUPS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+    // visits.status only accepts Active, Critical and Recovered
+    private static final String[] TODAY_STATUSES = {"Active", "Active", "Active", "Critical"};
+    private static final String[] PAST_STATUSES = {"Recovered", "Recovered", "Recovered", "Active", "Critical"};
+    private static final String[] SYMPTOMS = {"Fever, headache", "Cough, cold", "Joint pain", "Chest discomfort",
+            "Abdominal pain", "Fatigue", "Ear ache"};
+
+    // Lab test IDs are derived from the visit ID: (visit_id - 1) * MAX_TESTS_PER_VISIT + n
+    private static final int MAX_TESTS_PER_VISIT = 4;
+    // gcd(A, 10^11) = 1, so n -> (n * A + B) mod 10^11 is a bijection: unique, random-looking numbers
+    private static final long AADHAAR_SPACE = 100_000_000_000L;
+    private static final long AADHAAR_A = 7_919_113L;
+    private static final long AADHAAR_B = 104_729L;
+    private static final int TABLE_PATIENTS = 1;
+    private static final int TABLE_VISITS = 2;
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private final DatabaseFixture database;
+    private final LoadTestOptions options;
+    private final long visits;
+    private final LocalDate asOf;
+    private final double[] cumulativeDayWeight;
+
+    private SyntheticDataGenerator(DatabaseFixture database, LoadTestOptions options) {
+        this.database = database;
+        this.options = options;
+        this.visits = Math.round(options.patients * options.visitsPerPatient);
+        this.asOf = options.asOf != null ? options.asOf : LocalDate.now();
+        this.cumulativeDayWeight = dayWeights(asOf, options.historyDays);
+    }
+
+    /** Loads a full data set into an empty schema and returns today's visits for the workload. */
+    static SeedData generate(DatabaseFixture database, LoadTestOptions options) throws Exception {
+        return new SyntheticDataGenerator(database, options).run();
+    }
+
+    private SeedData run() throws Exception {
+        prepare();
+        ExecutorService workers = Executors.newFixedThreadPool(options.workers);
+        try {
+            timed("doctor", options.doctors, () -> loadDoctors());
+            timed("patients", options.patients, () -> inChunks(workers, options.patients, this::loadPatients));
+            timed("visits and lab tests", visits, () -> inChunks(workers, visits, this::loadVisits));
+        } finally {
+            workers.shutdownNow();
+            finish();
+        }
+        return new SeedData(options.patients, todaysVisitIds());
+    }
+
+    private void prepare() throws SQLException {
+        try (Connection connection = database.connect(); Statement statement = connection.createStatement()) {
+            if (options.truncate) {
+                statement.execute("TRUNCATE labtests, visits, patients, doctor, visit_workload_daily CASCADE");
+            } else {
+                try (ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM patients)")) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        throw new IllegalStateException("patients is not empty - pass --truncate=true to replace the data");
+                    }
+                }
+            }
+            statement.execute("ALTER TABLE visits DISABLE TRIGGER USER");
+        }
+    }
+
+    private void finish() throws SQLException {
+        try (Connection connection = database.connect(); Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE visits ENABLE TRIGGER USER");
+            statement.execute("UPDATE patients p SET total_visits = v.n FROM "
+                    + "(SELECT patient_id, COUNT(*) AS n FROM visits GROUP BY patient_id) v WHERE v.patient_id = p.patient_id");
+            long maxVisit = Math.max(1, visits);
+            statement.execute("SELECT setval('patient_id_seq', " + Math.max(1, options.patients) + ")");
+            statement.execute("SELECT setval('op_no_seq', " + maxVisit + ")");
+            statement.execute("SELECT setval('reg_no_seq', " + maxVisit + ")");
+            statement.execute("SELECT setval(pg_get_serial_sequence('visits', 'visit_id'), " + maxVisit + ")");
+            statement.execute("SELECT setval(pg_get_serial_sequence('labtests', 'test_id'), "
+                    + Math.max(1, maxVisit * MAX_TESTS_PER_VISIT) + ")");
+            // Same statement as the V11 backfill
+            statement.execute("INSERT INTO visit_workload_daily "
+                    + "(day, doctor_id, department, status, visit_count, pending_prescriptions) "
+                    + "SELECT CAST(v.visit_date AS DATE), COALESCE(v.doctor_id, ''), COALESCE(d.department, ''), "
+                    + "COALESCE(TRIM(v.status), ''), COUNT(*), "
+                    + "COUNT(*) FILTER (WHERE v.prescription IS NULL OR TRIM(v.prescription) = '') "
+                    + "FROM visits v LEFT JOIN doctor d ON d.doctor_id = v.doctor_id "
+                    + "WHERE v.visit_date IS NOT NULL GROUP BY 1, 2, 3, 4 ON CONFLICT DO NOTHING");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private void loadDoctors() throws SQLException, IOException {
+        CopyBuffer rows = new CopyBuffer("doctor", "doctor_id, name, email, password, role, status, department",
+                options.doctors);
+        for (int i = 1; i <= options.doctors; i++) {
+            rows.add("D" + i)
+                    .add("Dr. " + NAMES[i % NAMES.length] + " " + SURNAMES[i % SURNAMES.length])
+                    .add("doctor" + i + "@synthetic.arogith.in")
+                    .add("synthetic")
+                    .add("DOCTOR")
+                    .add("Active")
+                    .add(DEPARTMENTS[i % DEPARTMENTS.length])
+                    .endRow();
+        }
+        try (Connection connection = database.connect()) {
+            rows.copyTo(connection);
+        }
+    }
+
+    // Patients first..last (1-based, inclusive) from one chunk
+    private void loadPatients(long chunk, long first, long last) throws SQLException, IOException {
+        SplittableRandom random = random(TABLE_PATIENTS, chunk);
+        CopyBuffer rows = new CopyBuffer("patients", "patient_id, name, surname, father_name, gender, age, address, "
+                + "blood_group, phone_number, aadhar_number, total_visits", (int) (last - first + 1));
+        for (long n = first; n <= last; n++) {
+            String surname = pick(random, SURNAMES);
+            rows.add(patientId(n))
+                    .add(pick(random, NAMES))
+                    .add(surname)
+                    .add(pick(random, NAMES) + " " + surname)
+                    .add(random.nextBoolean() ? "Male" : "Female")
+                    .add(1 + random.nextInt(90))
+                    .add((1 + random.nextInt(400)) + ", " + pick(random, SURNAMES) + " Nagar, Hyderabad")
+                    .add(pick(random, BLOOD_GROUPS))
+                    .add("9" + pad(random.nextInt(1_000_000_000), 9))
+                    .add(aadhaar(n))
+                    .add(0)
+                    .endRow();
+        }
+        try (Connection connection = loadConnection()) {
+            rows.copyTo(connection);
+        }
+    }
+
+    // Visits first..last (1-based visit IDs) and their lab tests, in one transaction
+    private void loadVisits(long chunk, long first, long last) throws SQLException, IOException {
+        SplittableRandom random = random(TABLE_VISITS, chunk);
+        int count = (int) (last - first + 1);
+        CopyBuffer visitRows = new CopyBuffer("visits", "visit_id, patient_id, doctor_id, op_no, reg_no, bp, weight, "
+                + "temperature, symptoms, complaint, status, prescription, notes, visit_date", count);
+        CopyBuffer labRows = new CopyBuffer("labtests", "test_id, visit_id, patient_id, test_name, result, "
+                + "reference_range, status, test_given_at, result_updated_at, result_value, result_unit, ref_low, "
+                + "ref_high, abnormal_flag", count / 2);
+        for (long visitId = first; visitId <= last; visitId++) {
+            LocalDate day = dayOf(visitId);
+            boolean today = day.equals(asOf);
+            // Triangular time of day between 08:00 and 18:00, peaking around 13:00
+            LocalDateTime at = day.atTime(8, 0).plusMinutes(random.nextInt(300) + random.nextInt(301));
+            // Skewed towards low patient numbers: a minority of patients accounts for most visits
+            long patient = 1 + (long) (options.patients * Math.pow(random.nextDouble(), 1.5));
+            String patientId = patientId(Math.min(patient, options.patients));
+            String status = pick(random, today ? TODAY_STATUSES : PAST_STATUSES);
+            visitRows.add(visitId)
+                    .add(patientId)
+                    .add("D" + (1 + random.nextInt(Math.max(1, options.doctors))))
+                    .add("P" + pad(visitId, 3))
+                    .add("R" + pad(visitId, 3))
+                    .add((100 + random.nextInt(50)) + "/" + (60 + random.nextInt(30)))
+                    .add((5 + random.nextInt(95)) + " kg")
+                    .add("9" + (7 + random.nextInt(3)) + "." + random.nextInt(10) + "F")
+                    .add(pick(random, SYMPTOMS))
+                    .add("Since " + (1 + random.nextInt(7)) + " days")
+                    .add(status)
+                    .add(today && random.nextBoolean() ? null : "Paracetamol 500mg BD x 5 days")
+                    .add((String) null)
+                    .add(at)
+                    .endRow();
+            if (random.nextInt(100) < 35) {
+                int tests = 2 + random.nextInt(MAX_TESTS_PER_VISIT - 1);
+                for (int t = 0; t < tests; t++) {
+                    addLabTest(labRows, random, (visitId - 1) * MAX_TESTS_PER_VISIT + t + 1, visitId, patientId, at,
+                            today);
+                }
+            }
+        }
+        try (Connection connection = loadConnection()) {
+            connection.setAutoCommit(false);
+            visitRows.copyTo(connection);
+            labRows.copyTo(connection);
+            connection.commit();
+        }
+    }
+
+    private static void addLabTest(CopyBuffer rows, SplittableRandom random, long testId, long visitId,
+                                   String patientId, LocalDateTime givenAt, boolean today) {
+        LabTestKind kind = LAB_TESTS[random.nextInt(LAB_TESTS.length)];
+        boolean done = !today || random.nextInt(10) < 4;
+        BigDecimal value = null;
+        String flag = null;
+        if (done) {
+            // Within the reference range 80% of the time, otherwise 40% of the range below or above it
+            BigDecimal low = kind.low != null ? kind.low : kind.high.multiply(BigDecimal.valueOf(0.5));
+            double span = kind.high.subtract(low).doubleValue();
+            double offset = random.nextInt(10) < 8 ? random.nextDouble() * span
+                    : (random.nextBoolean() ? -0.4 : 1.4) * span;
+            value = low.add(BigDecimal.valueOf(offset)).max(BigDecimal.ZERO).setScale(1, RoundingMode.HALF_UP);
+            flag = kind.low != null && value.compareTo(kind.low) < 0 ? "L"
+                    : value.compareTo(kind.high) > 0 ? "H" : "N";
+        }
+        rows.add(testId)
+                .add(visitId)
+                .add(patientId)
+                .add(kind.name)
+                .add(done ? value.toPlainString() + " " + kind.unit : null)
+                .add(kind.range)
+                .add(done ? "Completed" : "Pending")
+                .add(givenAt)
+                .add(done ? givenAt.plusMinutes(30 + random.nextInt(48 * 60)) : null)
+                .add(value)
+                .add(done ? kind.unit : null)
+                .add(kind.low)
+                .add(kind.high)
+                .add(flag)
+                .endRow();
+    }
+
+    // With --skip-fk-checks (superuser only) foreign keys are not re-checked row by row; the rows are valid by construction
+    private Connection loadConnection() throws SQLException {
+        Connection connection = database.connect();
+        if (options.skipFkChecks) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET session_replication_role = replica");
+            }
+        }
+        return connection;
+    }
+
+    private interface ChunkLoader {
+        void load(long chunk, long first, long last) throws Exception;
+    }
+
+    private void inChunks(ExecutorService workers, long total, ChunkLoader loader) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        long chunks = (total + options.chunkSize - 1) / options.chunkSize;
+        for (long chunk = 0; chunk < chunks; chunk++) {
+            long first = chunk * options.chunkSize + 1;
+            long last = Math.min(total, first + options.chunkSize - 1);
+            long index = chunk;
+            futures.add(workers.submit(() -> {
+                loader.load(index, first, last);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private interface Phase {
+        void run() throws Exception;
+    }
+
+    private void timed(String name, long rows, Phase phase) throws Exception {
+        long start = System.nanoTime();
+        phase.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info("Loaded {} {} in {}s ({} rows/s)", rows, name, String.format("%.1f", seconds),
+                Math.round(rows / Math.max(seconds, 1e-3)));
+    }
+
+    private List<Long> todaysVisitIds() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = database.connect();
+             PreparedStatement ps = connection.prepareStatement(
+                     "SELECT visit_id FROM visits WHERE visit_date >= ? ORDER BY visit_id LIMIT 100000")) {
+            ps.setTimestamp(1, Timestamp.valueOf(asOf.atStartOfDay()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Visit IDs map onto days in order; each day's share follows its weekday weight
+    private LocalDate dayOf(long visitId) {
+        double position = (visitId - 0.5) / visits;
+        int index = Arrays.binarySearch(cumulativeDayWeight, position);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return asOf.minusDays(options.historyDays - Math.min(index, options.historyDays));
+    }
+
+    private static double[] dayWeights(LocalDate asOf, int historyDays) {
+        double[] cumulative = new double[historyDays + 1];
+        double total = 0;
+        for (int i = 0; i <= historyDays; i++) {
+            DayOfWeek day = asOf.minusDays(historyDays - i).getDayOfWeek();
+            total += day == DayOfWeek.SUNDAY ? 0.3 : day == DayOfWeek.SATURDAY ? 0.7 : 1.0;
+            cumulative[i] = total;
+        }
+        for (int i = 0; i <= historyDays; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private SplittableRandom random(int table, long chunk) {
+        return new SplittableRandom(options.seed * 1_000_003L + table * 7_919L + chunk * 104_729L);
+    }
+
+    static String patientId(long n) {
+        return pad(n, 3);
+    }
+
+    // Generated patients use 1 + 11 digits; registrations during a load test use 9 + 11 digits
+    static String aadhaar(long n) {
+        return "1" + pad(Math.floorMod(n * AADHAAR_A + AADHAAR_B, AADHAAR_SPACE), 11);
+    }
+
+    // Same as String.format("%0<width>d"), which is far too slow for tens of millions of rows
+    private static String pad(long value, int width) {
+        String digits = Long.toString(value);
+        if (digits.length() >= width) {
+            return digits;
+        }
+        return "0".repeat(width - digits.length()) + digits;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    static final class LabTestKind {
+        final String name;
+        final String unit;
+        final BigDecimal low;
+        final BigDecimal high;
+        final String range;
+
+        LabTestKind(String name, String unit, String low, String high) {
+            this.name = name;
+            this.unit = unit;
+            this.low = low != null ? new BigDecimal(low) : null;
+            this.high = new BigDecimal(high);
+            this.range = (low != null ? low + "-" + high : "<" + high) + " " + unit;
+        }
+    }
+
+    static final class SeedData {
+        final int patients;
+        final List<Long> todaysVisitIds;
+
+        SeedData(int patients, List<Long> todaysVisitIds) {
+            this.patients = patients;
+            this.todaysVisitIds = todaysVisitIds;
+        }
+    }
+
+    /**
+     * Standalone entry point for building large data sets (benchmarks, query-plan checks):
+     * java -cp loadtest.jar com.arogith.loadtest.SyntheticDataGenerator --jdbc-url=... --patients=2000000
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (DatabaseFixture database = DatabaseFixture.start(options)) {
+            long start = System.nanoTime();
+            SeedData data = generate(database, options);
+            logger.info("Generated {} patients and {} visits in {}s ({} visits today)", options.patients,
+                    Math.round(options.patients * options.visitsPerPatient),
+                    String.format("%.1f", (System.nanoTime() - start) / 1e9), data.todaysVisitIds.size());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.arogith.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The workload model: four kinds of arrivals, each an independent Poisson process whose
+ * rate is a share of --rate (arrivals per second).
+ *
+ * - 50% polling of GET /api/visits/today (the reception and doctor dashboards)
+ * - 25% search typeahead sessions: 2-4 keystrokes, one GET /api/patients/search each,
+ *   150 ms apart, for a growing name prefix
+ * - 15% registrations (POST /api/patients), multiplied by --burst-factor for
+ *   --burst-seconds out of every --burst-every-seconds to model the morning queue
+ * - 10% lab orders: POST /api/labtests/batch with 2-5 tests for one of today's visits
+ */
+final class Workload {
+
+    static final String VISITS_TODAY = "GET /api/visits/today";
+    static final String SEARCH = "GET /api/patients/search";
+    static final String REGISTER = "POST /api/patients";
+    static final String LAB_BATCH = "POST /api/labtests/batch";
+    static final List<String> ENDPOINTS = List.of(VISITS_TODAY, SEARCH, REGISTER, LAB_BATCH);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final long KEYSTROKE_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(150);
+
+    private final String baseUrl;
+    private final SyntheticDataGenerator.SeedData seedData;
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final Kind[] kinds;
+    private long registrations;
+
+    Workload(String baseUrl, SyntheticDataGenerator.SeedData seedData, LoadTestOptions options) {
+        this.baseUrl = baseUrl;
+        this.seedData = seedData;
+        this.options = options;
+        this.random = new Random(options.seed + 1);
+        this.kinds = new Kind[] {
+                new Kind(0.50, false, this::pollToday),
+                new Kind(0.25, false, this::typeahead),
+                new Kind(0.15, true, this::register),
+                new Kind(0.10, false, this::orderLabs)};
+    }
+
+    /** One request due at a given time (nanoseconds from the start of the run). */
+    static final class Request {
+        final long intendedNanos;
+        final String endpoint;
+        final HttpRequest httpRequest;
+
+        Request(long intendedNanos, String endpoint, HttpRequest httpRequest) {
+            this.intendedNanos = intendedNanos;
+            this.endpoint = endpoint;
+            this.httpRequest = httpRequest;
+        }
+    }
+
+    /**
+     * Emits every request whose arrival falls before endNanos, in arrival order per kind.
+     * Called from the dispatcher thread only.
+     */
+    void generate(long endNanos, Consumer<Request> sink) {
+        for (Kind kind : kinds) {
+            while (kind.nextNanos < endNanos) {
+                long at = kind.nextNanos;
+                kind.emitter.emit(at, sink);
+                kind.nextNanos = at + nextGap(kind, at);
+            }
+        }
+    }
+
+    private long nextGap(Kind kind, long atNanos) {
+        double rate = options.ratePerSecond * kind.share;
+        if (kind.bursty && inBurst(atNanos)) {
+            rate *= options.burstFactor;
+        }
+        // Exponential inter-arrival times give a Poisson process
+        double seconds = -Math.log(1 - random.nextDouble()) / rate;
+        return Math.max(1, (long) (seconds * 1e9));
+    }
+
+    private boolean inBurst(long atNanos) {
+        if (options.burstEverySeconds <= 0) {
+            return false;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(atNanos);
+        return second % options.burstEverySeconds < options.burstSeconds;
+    }
+
+    private void pollToday(long at, Consumer<Request> sink) {
+        sink.accept(new Request(at, VISITS_TODAY, get("/api/visits/today")));
+    }
+
+    private void typeahead(long at, Consumer<Request> sink) {
+        String name = SyntheticDataGenerator.NAMES[random.nextInt(SyntheticDataGenerator.NAMES.length)];
+        int keystrokes = 2 + random.nextInt(3);
+        for (int i = 0; i < keystrokes && i < name.length(); i++) {
+            String prefix = name.substring(0, i + 1).toLowerCase();
+            sink.accept(new Request(at + i * KEYSTROKE_GAP_NANOS, SEARCH,
+                    get("/api/patients/search?query=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8))));
+        }
+    }
+
+    private void register(long at, Consumer<Request> sink) {
+        long n = ++registrations;
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("name", SyntheticDataGenerator.NAMES[random.nextInt(SyntheticDataGenerator.NAMES.length)]);
+        body.put("surname", SyntheticDataGenerator.SURNAMES[random.nextInt(SyntheticDataGenerator.SURNAMES.length)]);
+        body.put("fatherName", SyntheticDataGenerator.NAMES[random.nextInt(SyntheticDataGenerator.NAMES.length)]);
+        body.put("age", 1 + random.nextInt(90));
+        body.put("gender", random.nextBoolean() ? "Male" : "Female");
+        body.put("bloodGroup", "O+");
+        // 9xxxxxxxxxxx never collides with seeded patients; the seed keeps runs distinct per --seed
+        body.put("aadharNumber", String.format("9%011d", (options.seed % 1000) * 100_000_000L + n));
+        body.put("phoneNumber", "9" + String.format("%09d", random.nextInt(1_000_000_000)));
+        body.put("address", (1 + random.nextInt(400)) + ", MG Road, Hyderabad");
+        body.put("bp", "120/80");
+        body.put("weight", (40 + random.nextInt(60)) + " kg");
+        body.put("temperature", "98.6F");
+        body.put("symptoms", "Fever");
+        body.put("complaint", "Fever since two days");
+        body.put("status", "Active");
+        sink.accept(new Request(at, REGISTER, post("/api/patients", body.toString())));
+    }
+
+    private void orderLabs(long at, Consumer<Request> sink) {
+        if (seedData.todaysVisitIds.isEmpty()) {
+            return;
+        }
+        long visitId = seedData.todaysVisitIds.get(random.nextInt(seedData.todaysVisitIds.size()));
+        ArrayNode tests = objectMapper.createArrayNode();
+        int count = 2 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            ObjectNode test = tests.addObject();
+            test.put("visitId", visitId);
+            test.put("name", SyntheticDataGenerator.LAB_TESTS[random.nextInt(SyntheticDataGenerator.LAB_TESTS.length)].name);
+            test.put("status", "Pending");
+        }
+        sink.accept(new Request(at, LAB_BATCH, post("/api/labtests/batch", tests.toString())));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private interface Emitter {
+        void emit(long atNanos, Consumer<Request> sink);
+    }
+
+    private static final class Kind {
+        final double share;
+        final boolean bursty;
+        final Emitter emitter;
+        long nextNanos;
+
+        Kind(double share, boolean bursty, Emitter emitter) {
+            this.share = share;
+            this.bursty = bursty;
+            this.emitter = emitter;
+        }
+    }
+}